@@ -9,7 +9,8 @@ import type {
   QueryQuestionDTO,
   PdfParseResult,
   BatchImportRequest,
-  BatchImportResult
+  BatchImportResult,
+  ImportJob
 } from '@/types/bagu'
 import type { ApiResponse } from '@/types/user'
 
@@ -24,6 +25,13 @@ export const questionApi = {
     return request.get(`/bagu/question/get?id=${id}`)
   },
 
+  /**
+   * 获取题目详情预览（列表中展开时使用，不计浏览量）
+   */
+  getPreview: (id: number): Promise<ApiResponse<Question>> => {
+    return request.get(`/bagu/question/preview?id=${id}`)
+  },
+
   /**
    * 分页查询题目列表
    */
@@ -59,6 +67,13 @@ export const questionApi = {
     return request.post('/bagu/question/favour/list', params)
   },
 
+  /**
+   * 获取热门题目列表（按热度排序）
+   */
+  listHot: (params: PageParams): Promise<ApiResponse<PageResponse<Question>>> => {
+    return request.post('/bagu/question/hot', params)
+  },
+
   // ========== 管理员接口 ==========
 
   /**
@@ -102,5 +117,39 @@ export const questionApi = {
    */
   batchImport: (data: BatchImportRequest): Promise<ApiResponse<BatchImportResult>> => {
     return request.post('/bagu/question/import/batch', data)
+  },
+
+  /**
+   * 提交PDF解析任务，返回任务ID
+   */
+  submitParseJob: (file: File): Promise<ApiResponse<number>> => {
+    const formData = new FormData()
+    formData.append('file', file)
+    return request.post('/bagu/question/import/job/parse', formData, {
+      headers: {
+        'Content-Type': 'multipart/form-data'
+      }
+    })
+  },
+
+  /**
+   * 提交批量导入任务，返回任务ID
+   */
+  submitImportJob: (data: BatchImportRequest): Promise<ApiResponse<number>> => {
+    return request.post('/bagu/question/import/job/batch', data)
+  },
+
+  /**
+   * 查询导入任务进度
+   */
+  getImportJob: (id: number): Promise<ApiResponse<ImportJob>> => {
+    return request.get(`/bagu/question/import/job/get?id=${id}`)
+  },
+
+  /**
+   * 取消导入任务
+   */
+  cancelImportJob: (id: number): Promise<ApiResponse<boolean>> => {
+    return request.post(`/bagu/question/import/job/cancel?id=${id}`)
   }
 }
@@ -6,14 +6,20 @@
 export interface Question {
   id: number
   title: string
-  content: string
+  /** 列表接口不返回，仅详情接口返回 */
+  content?: string
   answer?: string
+  /** 内容摘要（列表接口 withSnippet=true 时返回） */
+  snippet?: string
   tags: string[]
   userId: number
   userName?: string
   viewNum: number
+  /** 独立访客数（近似值，仅详情接口返回） */
+  uniqueViewNum?: number
   thumbNum: number
   favourNum: number
+  commentNum?: number
   hasThumb?: boolean
   hasFavour?: boolean
   createTime: string
@@ -30,6 +36,9 @@ export interface QuestionBank {
   picture?: string
   userId: number
   userName?: string
+  viewNum?: number
+  /** 独立访客数（近似值，仅详情接口返回） */
+  uniqueViewNum?: number
   questionCount?: number
   createTime: string
   updateTime?: string
@@ -157,4 +166,35 @@ export interface BatchImportResult {
   successCount: number
   failCount: number
   totalCount: number
+  errors?: ImportError[]
+}
+
+/**
+ * 导入错误（单题校验失败，或一块题目整体写入失败）
+ */
+export interface ImportError {
+  index: number
+  count: number
+  title?: string
+  message: string
+}
+
+/**
+ * 导入任务进度
+ */
+export interface ImportJob {
+  id: number
+  jobType: 'parse' | 'import'
+  status: 'pending' | 'running' | 'succeeded' | 'failed' | 'cancelled'
+  fileName?: string
+  questionBankId?: number
+  totalCount: number
+  processedCount: number
+  successCount: number
+  failCount: number
+  errors?: ImportError[]
+  errorMessage?: string
+  parseResult?: PdfParseResult
+  createTime: string
+  updateTime: string
 }
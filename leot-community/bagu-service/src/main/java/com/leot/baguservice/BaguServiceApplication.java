@@ -6,11 +6,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableDiscoveryClient
 @EnableFeignClients(basePackages = "com.leot.api.client")
 @MapperScan("com.leot.baguservice.mapper")
 @SpringBootApplication
+@EnableScheduling
 @ComponentScan(basePackages = {"com.leot.baguservice", "com.leot.leotcommon"})
 public class BaguServiceApplication {
 
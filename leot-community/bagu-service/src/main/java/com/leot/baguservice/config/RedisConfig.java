@@ -0,0 +1,27 @@
+package com.leot.baguservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis 配置
+ * 提供消息监听容器，用于多实例间广播本地缓存失效消息
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Redis 消息监听容器
+     *
+     * @param connectionFactory Redis 连接工厂
+     * @return 监听容器
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -1,19 +1,24 @@
 package com.leot.baguservice.controller;
 
 import cn.dev33.satoken.annotation.SaCheckRole;
+import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.util.ObjUtil;
 import com.leot.baguservice.domain.dto.BatchImportDTO;
 import com.leot.baguservice.domain.vo.BatchImportResultVO;
+import com.leot.baguservice.domain.vo.ImportJobVO;
 import com.leot.baguservice.domain.vo.PdfParseResultVO;
 import com.leot.baguservice.service.PdfParseService;
+import com.leot.baguservice.service.QuestionImportJobService;
 import com.leot.baguservice.service.QuestionImportService;
 import com.leot.leotcommon.GlobalReture.BaseResponse;
 import com.leot.leotcommon.GlobalReture.ErrorCode;
 import com.leot.leotcommon.GlobalReture.ResultUtil;
 import com.leot.leotcommon.exception.BusinessException;
 import jakarta.annotation.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * PDF导入控制器
@@ -28,6 +33,9 @@ public class PdfImportController {
     @Resource
     private QuestionImportService questionImportService;
 
+    @Resource
+    private QuestionImportJobService questionImportJobService;
+
     /**
      * 解析PDF文件，提取题目列表
      *
@@ -59,4 +67,72 @@ public class PdfImportController {
         BatchImportResultVO result = questionImportService.batchImport(dto);
         return ResultUtil.success(result);
     }
+
+    /**
+     * 提交 PDF 解析任务（异步执行，返回任务ID）
+     *
+     * @param file PDF文件
+     * @return 任务ID
+     */
+    @PostMapping("/job/parse")
+    @SaCheckRole("admin")
+    public BaseResponse<Long> submitParseJob(@RequestParam("file") MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请选择要上传的PDF文件");
+        }
+        Long jobId = questionImportJobService.submitParseJob(file, StpUtil.getLoginIdAsLong());
+        return ResultUtil.success(jobId);
+    }
+
+    /**
+     * 提交批量导入任务（异步按块导入，返回任务ID）
+     *
+     * @param dto 批量导入请求参数
+     * @return 任务ID
+     */
+    @PostMapping("/job/batch")
+    @SaCheckRole("admin")
+    public BaseResponse<Long> submitImportJob(@RequestBody BatchImportDTO dto) {
+        if (ObjUtil.isEmpty(dto)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+        Long jobId = questionImportJobService.submitImportJob(dto, StpUtil.getLoginIdAsLong());
+        return ResultUtil.success(jobId);
+    }
+
+    /**
+     * 查询导入任务进度
+     *
+     * @param id 任务ID
+     * @return 任务进度（含逐题错误、解析结果）
+     */
+    @GetMapping("/job/get")
+    @SaCheckRole("admin")
+    public BaseResponse<ImportJobVO> getJob(@RequestParam("id") Long id) {
+        return ResultUtil.success(questionImportJobService.getJob(id));
+    }
+
+    /**
+     * 订阅导入任务进度（SSE，进度变化时推送 progress 事件，任务结束后关闭）
+     *
+     * @param id 任务ID
+     * @return SSE 连接
+     */
+    @GetMapping(value = "/job/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @SaCheckRole("admin")
+    public SseEmitter subscribeJob(@PathVariable("id") Long id) {
+        return questionImportJobService.subscribeJob(id);
+    }
+
+    /**
+     * 取消导入任务（已提交的块保留，正在执行的块回滚）
+     *
+     * @param id 任务ID
+     * @return 是否取消成功
+     */
+    @PostMapping("/job/cancel")
+    @SaCheckRole("admin")
+    public BaseResponse<Boolean> cancelJob(@RequestParam("id") Long id) {
+        return ResultUtil.success(questionImportJobService.cancelJob(id));
+    }
 }
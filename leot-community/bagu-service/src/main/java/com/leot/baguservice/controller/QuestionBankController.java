@@ -9,12 +9,14 @@ import com.leot.baguservice.domain.dto.QueryQuestionBankDTO;
 import com.leot.baguservice.domain.dto.UpdateQuestionBankDTO;
 import com.leot.baguservice.domain.vo.QuestionBankVO;
 import com.leot.baguservice.service.QuestionBankService;
+import com.leot.baguservice.utils.VisitorUtil;
 import com.leot.leotcommon.GlobalReture.BaseResponse;
 import com.leot.leotcommon.GlobalReture.ErrorCode;
 import com.leot.leotcommon.GlobalReture.ResultUtil;
 import com.leot.leotcommon.exception.BusinessException;
 import com.leot.leotcommon.request.DeleteRequest;
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -67,15 +69,24 @@ public class QuestionBankController {
         return ResultUtil.success(result);
     }
 
+    /**
+     * 重新计算题库题目数量（管理员）
+     */
+    @PostMapping("/repair/count")
+    @SaCheckRole("admin")
+    public BaseResponse<Integer> repairQuestionCount() {
+        return ResultUtil.success(questionBankService.repairQuestionCount());
+    }
+
     /**
      * 获取题库详情（公开）
      */
     @GetMapping("/get")
-    public BaseResponse<QuestionBankVO> getQuestionBankById(@RequestParam Long id) {
+    public BaseResponse<QuestionBankVO> getQuestionBankById(@RequestParam Long id, HttpServletRequest request) {
         if (id == null || id <= 0) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "题库ID无效");
         }
-        QuestionBankVO questionBankVO = questionBankService.getQuestionBankById(id);
+        QuestionBankVO questionBankVO = questionBankService.getQuestionBankById(id, VisitorUtil.getVisitorKey(request));
         return ResultUtil.success(questionBankVO);
     }
 
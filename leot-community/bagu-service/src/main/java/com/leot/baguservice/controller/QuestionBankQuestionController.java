@@ -5,7 +5,7 @@ import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.util.ObjUtil;
 import com.leot.baguservice.domain.dto.AddQuestionBankQuestionDTO;
 import com.leot.baguservice.domain.dto.BatchAddQuestionDTO;
-import com.leot.baguservice.domain.vo.QuestionVO;
+import com.leot.baguservice.domain.vo.QuestionSummaryVO;
 import com.leot.baguservice.service.QuestionBankQuestionService;
 import com.leot.leotcommon.GlobalReture.BaseResponse;
 import com.leot.leotcommon.GlobalReture.ErrorCode;
@@ -78,11 +78,11 @@ public class QuestionBankQuestionController {
      * 查询题库下的题目列表（公开）
      */
     @GetMapping("/list")
-    public BaseResponse<List<QuestionVO>> listQuestionByBankId(@RequestParam Long questionBankId) {
+    public BaseResponse<List<QuestionSummaryVO>> listQuestionByBankId(@RequestParam Long questionBankId) {
         if (questionBankId == null || questionBankId <= 0) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "题库ID无效");
         }
-        List<QuestionVO> list = questionBankQuestionService.listQuestionByBankId(questionBankId);
+        List<QuestionSummaryVO> list = questionBankQuestionService.listQuestionByBankId(questionBankId);
         return ResultUtil.success(list);
     }
 }
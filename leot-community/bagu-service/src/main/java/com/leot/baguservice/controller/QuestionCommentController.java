@@ -4,7 +4,10 @@ import cn.dev33.satoken.annotation.SaCheckLogin;
 import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.util.ObjUtil;
 import com.leot.baguservice.domain.dto.AddCommentDTO;
+import com.leot.baguservice.domain.dto.QueryCommentDTO;
+import com.leot.baguservice.domain.dto.QueryCommentReplyDTO;
 import com.leot.baguservice.domain.dto.ReplyCommentDTO;
+import com.leot.baguservice.domain.vo.CursorPageVO;
 import com.leot.baguservice.domain.vo.QuestionCommentVO;
 import com.leot.baguservice.service.QuestionCommentService;
 import com.leot.leotcommon.GlobalReture.BaseResponse;
@@ -71,15 +74,47 @@ public class QuestionCommentController {
     }
 
     /**
-     * 获取题目评论列表（公开，树形结构）
+     * 游标分页获取题目的顶级评论（公开，登录时返回点赞状态，每条附带回复数和最早的若干条回复）
      */
+    @PostMapping("/list/cursor")
+    public BaseResponse<CursorPageVO<QuestionCommentVO>> listRootComments(@RequestBody QueryCommentDTO dto) {
+        if (ObjUtil.isEmpty(dto) || dto.getQuestionId() == null || dto.getQuestionId() <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "题目ID无效");
+        }
+        Long loginUserId = StpUtil.isLogin() ? StpUtil.getLoginIdAsLong() : null;
+        CursorPageVO<QuestionCommentVO> page = questionCommentService.listRootComments(dto, loginUserId);
+        return ResultUtil.success(page);
+    }
+
+    /**
+     * 获取题目评论列表（公开）
+     * 已废弃：不再一次返回整棵评论树，仅返回游标分页接口的第一页顶级评论（每条附带回复数和最早的若干条回复），
+     * 后续顶级评论和其余回复请使用 /list/cursor 与 /reply/list/cursor
+     */
+    @Deprecated
     @GetMapping("/list")
     public BaseResponse<List<QuestionCommentVO>> listCommentByQuestionId(@RequestParam Long questionId) {
         if (questionId == null || questionId <= 0) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "题目ID无效");
         }
-        List<QuestionCommentVO> list = questionCommentService.listCommentByQuestionId(questionId);
-        return ResultUtil.success(list);
+        QueryCommentDTO dto = new QueryCommentDTO();
+        dto.setQuestionId(questionId);
+        Long loginUserId = StpUtil.isLogin() ? StpUtil.getLoginIdAsLong() : null;
+        CursorPageVO<QuestionCommentVO> page = questionCommentService.listRootComments(dto, loginUserId);
+        return ResultUtil.success(page.getRecords());
+    }
+
+    /**
+     * 游标分页获取根评论下的回复（公开，登录时返回点赞状态，按时间升序）
+     */
+    @PostMapping("/reply/list/cursor")
+    public BaseResponse<CursorPageVO<QuestionCommentVO>> listReplies(@RequestBody QueryCommentReplyDTO dto) {
+        if (ObjUtil.isEmpty(dto) || dto.getRootId() == null || dto.getRootId() <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "根评论ID无效");
+        }
+        Long loginUserId = StpUtil.isLogin() ? StpUtil.getLoginIdAsLong() : null;
+        CursorPageVO<QuestionCommentVO> page = questionCommentService.listReplies(dto, loginUserId);
+        return ResultUtil.success(page);
     }
 
     /**
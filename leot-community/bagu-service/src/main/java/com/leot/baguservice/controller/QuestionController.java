@@ -4,12 +4,18 @@ import cn.dev33.satoken.annotation.SaCheckRole;
 import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.util.ObjUtil;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.leot.api.dto.UserCacheStatsDTO;
 import com.leot.baguservice.domain.dto.AddQuestionDTO;
 import com.leot.baguservice.domain.dto.QueryQuestionDTO;
 import com.leot.baguservice.domain.dto.SearchQuestionDTO;
 import com.leot.baguservice.domain.dto.UpdateQuestionDTO;
+import com.leot.baguservice.domain.vo.CacheStatsVO;
+import com.leot.baguservice.domain.vo.CursorPageVO;
+import com.leot.baguservice.domain.vo.QuestionSummaryVO;
 import com.leot.baguservice.domain.vo.QuestionVO;
+import com.leot.baguservice.domain.vo.TagFacetVO;
 import com.leot.baguservice.service.QuestionService;
+import com.leot.baguservice.utils.VisitorUtil;
 import com.leot.leotcommon.GlobalReture.BaseResponse;
 import com.leot.leotcommon.GlobalReture.ErrorCode;
 import com.leot.leotcommon.GlobalReture.ResultUtil;
@@ -17,8 +23,11 @@ import com.leot.leotcommon.exception.BusinessException;
 import com.leot.leotcommon.request.DeleteRequest;
 import com.leot.leotcommon.request.PageRequest;
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 题目管理控制器
  */
@@ -74,23 +83,52 @@ public class QuestionController {
      * 获取题目详情（公开）
      */
     @GetMapping("/get")
-    public BaseResponse<QuestionVO> getQuestionById(@RequestParam Long id) {
+    public BaseResponse<QuestionVO> getQuestionById(@RequestParam Long id, HttpServletRequest request) {
         if (id == null || id <= 0) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "题目ID无效");
         }
-        QuestionVO questionVO = questionService.getQuestionById(id);
+        QuestionVO questionVO = questionService.getQuestionById(id, VisitorUtil.getVisitorKey(request));
         return ResultUtil.success(questionVO);
     }
 
+    /**
+     * 获取题目详情预览（公开，列表中展开题目时使用，不计浏览量）
+     */
+    @GetMapping("/preview")
+    public BaseResponse<QuestionVO> getQuestionPreview(@RequestParam Long id) {
+        if (id == null || id <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "题目ID无效");
+        }
+        return ResultUtil.success(questionService.getQuestionPreview(id));
+    }
+
+    /**
+     * 获取题目详情缓存统计（管理员）
+     */
+    @GetMapping("/cache/stats")
+    @SaCheckRole("admin")
+    public BaseResponse<CacheStatsVO> getQuestionCacheStats() {
+        return ResultUtil.success(questionService.getQuestionCacheStats());
+    }
+
+    /**
+     * 获取用户信息缓存统计（管理员）
+     */
+    @GetMapping("/cache/user/stats")
+    @SaCheckRole("admin")
+    public BaseResponse<UserCacheStatsDTO> getUserCacheStats() {
+        return ResultUtil.success(questionService.getUserCacheStats());
+    }
+
     /**
      * 分页查询题目列表（公开）
      */
     @PostMapping("/list/page")
-    public BaseResponse<Page<QuestionVO>> listQuestionByPage(@RequestBody QueryQuestionDTO dto) {
+    public BaseResponse<Page<QuestionSummaryVO>> listQuestionByPage(@RequestBody QueryQuestionDTO dto) {
         if (ObjUtil.isEmpty(dto)) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
         }
-        Page<QuestionVO> page = questionService.listQuestionByPage(dto);
+        Page<QuestionSummaryVO> page = questionService.listQuestionByPage(dto);
         return ResultUtil.success(page);
     }
 
@@ -98,11 +136,59 @@ public class QuestionController {
      * 搜索题目（公开）
      */
     @PostMapping("/search")
-    public BaseResponse<Page<QuestionVO>> searchQuestion(@RequestBody SearchQuestionDTO dto) {
+    public BaseResponse<Page<QuestionSummaryVO>> searchQuestion(@RequestBody SearchQuestionDTO dto) {
+        if (ObjUtil.isEmpty(dto)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+        Page<QuestionSummaryVO> page = questionService.searchQuestion(dto);
+        return ResultUtil.success(page);
+    }
+
+    /**
+     * 按相关度全文搜索题目（公开）
+     */
+    @PostMapping("/search/relevance")
+    public BaseResponse<Page<QuestionSummaryVO>> searchQuestionByRelevance(@RequestBody SearchQuestionDTO dto) {
         if (ObjUtil.isEmpty(dto)) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
         }
-        Page<QuestionVO> page = questionService.searchQuestion(dto);
+        Page<QuestionSummaryVO> page = questionService.searchQuestionByRelevance(dto);
+        return ResultUtil.success(page);
+    }
+
+    /**
+     * 搜索结果的标签分面统计（公开）
+     */
+    @PostMapping("/search/facets")
+    public BaseResponse<List<TagFacetVO>> searchTagFacets(@RequestBody SearchQuestionDTO dto) {
+        if (ObjUtil.isEmpty(dto)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+        List<TagFacetVO> facets = questionService.searchTagFacets(dto);
+        return ResultUtil.success(facets);
+    }
+
+    /**
+     * 游标分页查询题目列表（公开，不返回总数）
+     */
+    @PostMapping("/list/cursor")
+    public BaseResponse<CursorPageVO<QuestionSummaryVO>> listQuestionByCursor(@RequestBody QueryQuestionDTO dto) {
+        if (ObjUtil.isEmpty(dto)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+        CursorPageVO<QuestionSummaryVO> page = questionService.listQuestionByCursor(dto);
+        return ResultUtil.success(page);
+    }
+
+    /**
+     * 游标分页搜索题目（公开，不返回总数）
+     */
+    @PostMapping("/search/cursor")
+    public BaseResponse<CursorPageVO<QuestionSummaryVO>> searchQuestionByCursor(@RequestBody SearchQuestionDTO dto) {
+        if (ObjUtil.isEmpty(dto)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+        CursorPageVO<QuestionSummaryVO> page = questionService.searchQuestionByCursor(dto);
         return ResultUtil.success(page);
     }
 
@@ -134,17 +220,29 @@ public class QuestionController {
         return ResultUtil.success(result);
     }
 
+    /**
+     * 获取热门题目列表（公开）
+     */
+    @PostMapping("/hot")
+    public BaseResponse<Page<QuestionSummaryVO>> listHotQuestion(@RequestBody PageRequest pageRequest) {
+        if (ObjUtil.isEmpty(pageRequest)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+        Page<QuestionSummaryVO> page = questionService.listHotQuestion(pageRequest);
+        return ResultUtil.success(page);
+    }
+
     /**
      * 获取用户收藏的题目列表（需登录）
      */
     @PostMapping("/favour/list")
-    public BaseResponse<Page<QuestionVO>> listFavourQuestion(@RequestBody PageRequest pageRequest) {
+    public BaseResponse<Page<QuestionSummaryVO>> listFavourQuestion(@RequestBody PageRequest pageRequest) {
         if (ObjUtil.isEmpty(pageRequest)) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
         }
         // 从 Sa-Token 获取当前登录用户ID（Redis 共享 Token）
         Long userId = StpUtil.getLoginIdAsLong();
-        Page<QuestionVO> page = questionService.listFavourQuestion(userId, pageRequest);
+        Page<QuestionSummaryVO> page = questionService.listFavourQuestion(userId, pageRequest);
         return ResultUtil.success(page);
     }
 }
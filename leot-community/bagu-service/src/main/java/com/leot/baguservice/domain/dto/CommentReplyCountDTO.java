@@ -0,0 +1,24 @@
+package com.leot.baguservice.domain.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 根评论回复数统计结果
+ */
+@Data
+public class CommentReplyCountDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 根评论ID
+     */
+    private Long rootId;
+
+    /**
+     * 回复数
+     */
+    private Long replyCount;
+}
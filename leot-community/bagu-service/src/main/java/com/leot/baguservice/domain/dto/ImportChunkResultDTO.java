@@ -0,0 +1,27 @@
+package com.leot.baguservice.domain.dto;
+
+import com.leot.baguservice.domain.vo.ImportErrorVO;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一块题目的导入结果
+ */
+@Data
+public class ImportChunkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 成功导入的题目ID
+     */
+    private List<Long> importedIds = new ArrayList<>();
+
+    /**
+     * 导入失败的题目
+     */
+    private List<ImportErrorVO> errors = new ArrayList<>();
+}
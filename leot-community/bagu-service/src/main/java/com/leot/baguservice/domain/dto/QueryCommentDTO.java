@@ -0,0 +1,33 @@
+package com.leot.baguservice.domain.dto;
+
+import com.leot.leotcommon.request.PageRequest;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+
+/**
+ * 分页查询顶级评论请求参数
+ * sortField 支持 createTime（最新）和 thumbNum（最多点赞），均为降序
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class QueryCommentDTO extends PageRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 题目ID
+     */
+    private Long questionId;
+
+    /**
+     * 每条顶级评论附带的回复数量（默认 3）
+     */
+    private Integer replySize;
+
+    /**
+     * 游标（首页不传）
+     */
+    private String cursor;
+}
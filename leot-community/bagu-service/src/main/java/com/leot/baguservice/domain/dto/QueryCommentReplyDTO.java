@@ -0,0 +1,32 @@
+package com.leot.baguservice.domain.dto;
+
+import com.leot.leotcommon.request.PageRequest;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+
+/**
+ * 分页查询根评论下的回复请求参数（按时间升序）
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class QueryCommentReplyDTO extends PageRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 根评论ID
+     */
+    private Long rootId;
+
+    /**
+     * 根评论所属题目ID（可选，传入时优先从评论树缓存读取）
+     */
+    private Long questionId;
+
+    /**
+     * 游标（首页不传）
+     */
+    private String cursor;
+}
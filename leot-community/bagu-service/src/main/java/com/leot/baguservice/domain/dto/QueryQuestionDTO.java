@@ -36,6 +36,11 @@ public class QueryQuestionDTO extends PageRequest implements Serializable {
      */
     private List<String> tags;
 
+    /**
+     * 标签组合方式：and（同时包含所有标签，默认）/ or（包含任一标签）
+     */
+    private String tagMode;
+
     /**
      * 创建用户ID
      */
@@ -45,4 +50,14 @@ public class QueryQuestionDTO extends PageRequest implements Serializable {
      * 题库ID
      */
     private Long questionBankId;
+
+    /**
+     * 游标（仅游标分页使用，首页不传）
+     */
+    private String cursor;
+
+    /**
+     * 是否返回内容摘要（默认不返回，列表只查询摘要所需的列）
+     */
+    private Boolean withSnippet;
 }
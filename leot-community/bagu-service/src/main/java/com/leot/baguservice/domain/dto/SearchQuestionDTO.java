@@ -26,8 +26,23 @@ public class SearchQuestionDTO extends PageRequest implements Serializable {
      */
     private List<String> tags;
 
+    /**
+     * 标签组合方式：and（同时包含所有标签，默认）/ or（包含任一标签）
+     */
+    private String tagMode;
+
     /**
      * 题库ID
      */
     private Long questionBankId;
+
+    /**
+     * 游标（仅游标分页使用，首页不传）
+     */
+    private String cursor;
+
+    /**
+     * 是否返回内容摘要（默认不返回，列表只查询摘要所需的列）
+     */
+    private Boolean withSnippet;
 }
@@ -0,0 +1,47 @@
+package com.leot.baguservice.domain.enums;
+
+import cn.hutool.core.util.ObjUtil;
+import lombok.Getter;
+
+/**
+ * 导入任务状态
+ */
+@Getter
+public enum ImportJobStatusEnum {
+
+    PENDING("排队中", "pending"),
+    RUNNING("执行中", "running"),
+    SUCCEEDED("已完成", "succeeded"),
+    FAILED("失败", "failed"),
+    CANCELLED("已取消", "cancelled");
+
+    private final String text;
+    private final String value;
+
+    ImportJobStatusEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    /**
+     * 是否为终止状态
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+
+    /**
+     * 根据value 获取枚举
+     */
+    public static ImportJobStatusEnum getEnumByValue(String value) {
+        if (ObjUtil.isEmpty(value)) {
+            return null;
+        }
+        for (ImportJobStatusEnum status : ImportJobStatusEnum.values()) {
+            if (status.value.equals(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.leot.baguservice.domain.enums;
+
+import cn.hutool.core.util.ObjUtil;
+import lombok.Getter;
+
+/**
+ * 导入任务类型
+ */
+@Getter
+public enum ImportJobTypeEnum {
+
+    PARSE("PDF解析", "parse"),
+    IMPORT("批量导入", "import");
+
+    private final String text;
+    private final String value;
+
+    ImportJobTypeEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    /**
+     * 根据value 获取枚举
+     */
+    public static ImportJobTypeEnum getEnumByValue(String value) {
+        if (ObjUtil.isEmpty(value)) {
+            return null;
+        }
+        for (ImportJobTypeEnum type : ImportJobTypeEnum.values()) {
+            if (type.value.equals(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -50,6 +50,11 @@ public class Question implements Serializable {
      */
     private Integer viewNum;
 
+    /**
+     * 独立访客数（HyperLogLog 估算）
+     */
+    private Integer uniqueViewNum;
+
     /**
      * 点赞数
      */
@@ -60,6 +65,11 @@ public class Question implements Serializable {
      */
     private Integer favourNum;
 
+    /**
+     * 评论数
+     */
+    private Integer commentNum;
+
     /**
      * 编辑时间
      */
@@ -140,6 +150,14 @@ public class Question implements Serializable {
         this.viewNum = viewNum;
     }
 
+    public Integer getUniqueViewNum() {
+        return uniqueViewNum;
+    }
+
+    public void setUniqueViewNum(Integer uniqueViewNum) {
+        this.uniqueViewNum = uniqueViewNum;
+    }
+
     public Integer getThumbNum() {
         return thumbNum;
     }
@@ -156,6 +174,14 @@ public class Question implements Serializable {
         this.favourNum = favourNum;
     }
 
+    public Integer getCommentNum() {
+        return commentNum;
+    }
+
+    public void setCommentNum(Integer commentNum) {
+        this.commentNum = commentNum;
+    }
+
     public Date getEditTime() {
         return editTime;
     }
@@ -207,8 +233,10 @@ public class Question implements Serializable {
             && (this.getAnswer() == null ? other.getAnswer() == null : this.getAnswer().equals(other.getAnswer()))
             && (this.getUserId() == null ? other.getUserId() == null : this.getUserId().equals(other.getUserId()))
             && (this.getViewNum() == null ? other.getViewNum() == null : this.getViewNum().equals(other.getViewNum()))
+            && (this.getUniqueViewNum() == null ? other.getUniqueViewNum() == null : this.getUniqueViewNum().equals(other.getUniqueViewNum()))
             && (this.getThumbNum() == null ? other.getThumbNum() == null : this.getThumbNum().equals(other.getThumbNum()))
             && (this.getFavourNum() == null ? other.getFavourNum() == null : this.getFavourNum().equals(other.getFavourNum()))
+            && (this.getCommentNum() == null ? other.getCommentNum() == null : this.getCommentNum().equals(other.getCommentNum()))
             && (this.getEditTime() == null ? other.getEditTime() == null : this.getEditTime().equals(other.getEditTime()))
             && (this.getCreateTime() == null ? other.getCreateTime() == null : this.getCreateTime().equals(other.getCreateTime()))
             && (this.getUpdateTime() == null ? other.getUpdateTime() == null : this.getUpdateTime().equals(other.getUpdateTime()))
@@ -226,8 +254,10 @@ public class Question implements Serializable {
         result = prime * result + ((getAnswer() == null) ? 0 : getAnswer().hashCode());
         result = prime * result + ((getUserId() == null) ? 0 : getUserId().hashCode());
         result = prime * result + ((getViewNum() == null) ? 0 : getViewNum().hashCode());
+        result = prime * result + ((getUniqueViewNum() == null) ? 0 : getUniqueViewNum().hashCode());
         result = prime * result + ((getThumbNum() == null) ? 0 : getThumbNum().hashCode());
         result = prime * result + ((getFavourNum() == null) ? 0 : getFavourNum().hashCode());
+        result = prime * result + ((getCommentNum() == null) ? 0 : getCommentNum().hashCode());
         result = prime * result + ((getEditTime() == null) ? 0 : getEditTime().hashCode());
         result = prime * result + ((getCreateTime() == null) ? 0 : getCreateTime().hashCode());
         result = prime * result + ((getUpdateTime() == null) ? 0 : getUpdateTime().hashCode());
@@ -248,8 +278,10 @@ public class Question implements Serializable {
         sb.append(", answer=").append(answer);
         sb.append(", userId=").append(userId);
         sb.append(", viewNum=").append(viewNum);
+        sb.append(", uniqueViewNum=").append(uniqueViewNum);
         sb.append(", thumbNum=").append(thumbNum);
         sb.append(", favourNum=").append(favourNum);
+        sb.append(", commentNum=").append(commentNum);
         sb.append(", editTime=").append(editTime);
         sb.append(", createTime=").append(createTime);
         sb.append(", updateTime=").append(updateTime);
@@ -45,6 +45,16 @@ public class QuestionBank implements Serializable {
      */
     private Integer viewNum;
 
+    /**
+     * 独立访客数（HyperLogLog 估算）
+     */
+    private Integer uniqueViewNum;
+
+    /**
+     * 题目数量（冗余计数，随题库题目关联变更维护）
+     */
+    private Integer questionCount;
+
     /**
      * 编辑时间
      */
@@ -117,6 +127,22 @@ public class QuestionBank implements Serializable {
         this.viewNum = viewNum;
     }
 
+    public Integer getUniqueViewNum() {
+        return uniqueViewNum;
+    }
+
+    public void setUniqueViewNum(Integer uniqueViewNum) {
+        this.uniqueViewNum = uniqueViewNum;
+    }
+
+    public Integer getQuestionCount() {
+        return questionCount;
+    }
+
+    public void setQuestionCount(Integer questionCount) {
+        this.questionCount = questionCount;
+    }
+
     public Date getEditTime() {
         return editTime;
     }
@@ -167,6 +193,8 @@ public class QuestionBank implements Serializable {
             && (this.getPicture() == null ? other.getPicture() == null : this.getPicture().equals(other.getPicture()))
             && (this.getUserId() == null ? other.getUserId() == null : this.getUserId().equals(other.getUserId()))
             && (this.getViewNum() == null ? other.getViewNum() == null : this.getViewNum().equals(other.getViewNum()))
+            && (this.getUniqueViewNum() == null ? other.getUniqueViewNum() == null : this.getUniqueViewNum().equals(other.getUniqueViewNum()))
+            && (this.getQuestionCount() == null ? other.getQuestionCount() == null : this.getQuestionCount().equals(other.getQuestionCount()))
             && (this.getEditTime() == null ? other.getEditTime() == null : this.getEditTime().equals(other.getEditTime()))
             && (this.getCreateTime() == null ? other.getCreateTime() == null : this.getCreateTime().equals(other.getCreateTime()))
             && (this.getUpdateTime() == null ? other.getUpdateTime() == null : this.getUpdateTime().equals(other.getUpdateTime()))
@@ -183,6 +211,8 @@ public class QuestionBank implements Serializable {
         result = prime * result + ((getPicture() == null) ? 0 : getPicture().hashCode());
         result = prime * result + ((getUserId() == null) ? 0 : getUserId().hashCode());
         result = prime * result + ((getViewNum() == null) ? 0 : getViewNum().hashCode());
+        result = prime * result + ((getUniqueViewNum() == null) ? 0 : getUniqueViewNum().hashCode());
+        result = prime * result + ((getQuestionCount() == null) ? 0 : getQuestionCount().hashCode());
         result = prime * result + ((getEditTime() == null) ? 0 : getEditTime().hashCode());
         result = prime * result + ((getCreateTime() == null) ? 0 : getCreateTime().hashCode());
         result = prime * result + ((getUpdateTime() == null) ? 0 : getUpdateTime().hashCode());
@@ -202,6 +232,8 @@ public class QuestionBank implements Serializable {
         sb.append(", picture=").append(picture);
         sb.append(", userId=").append(userId);
         sb.append(", viewNum=").append(viewNum);
+        sb.append(", uniqueViewNum=").append(uniqueViewNum);
+        sb.append(", questionCount=").append(questionCount);
         sb.append(", editTime=").append(editTime);
         sb.append(", createTime=").append(createTime);
         sb.append(", updateTime=").append(updateTime);
@@ -35,6 +35,11 @@ public class QuestionComment implements Serializable {
      */
     private Long parentId;
 
+    /**
+     * 根评论ID（0表示顶级评论）
+     */
+    private Long rootId;
+
     /**
      * 被回复用户ID
      */
@@ -101,6 +106,14 @@ public class QuestionComment implements Serializable {
         this.parentId = parentId;
     }
 
+    public Long getRootId() {
+        return rootId;
+    }
+
+    public void setRootId(Long rootId) {
+        this.rootId = rootId;
+    }
+
     public Long getReplyUserId() {
         return replyUserId;
     }
@@ -165,6 +178,7 @@ public class QuestionComment implements Serializable {
             && (this.getQuestionId() == null ? other.getQuestionId() == null : this.getQuestionId().equals(other.getQuestionId()))
             && (this.getUserId() == null ? other.getUserId() == null : this.getUserId().equals(other.getUserId()))
             && (this.getParentId() == null ? other.getParentId() == null : this.getParentId().equals(other.getParentId()))
+            && (this.getRootId() == null ? other.getRootId() == null : this.getRootId().equals(other.getRootId()))
             && (this.getReplyUserId() == null ? other.getReplyUserId() == null : this.getReplyUserId().equals(other.getReplyUserId()))
             && (this.getContent() == null ? other.getContent() == null : this.getContent().equals(other.getContent()))
             && (this.getThumbNum() == null ? other.getThumbNum() == null : this.getThumbNum().equals(other.getThumbNum()))
@@ -181,6 +195,7 @@ public class QuestionComment implements Serializable {
         result = prime * result + ((getQuestionId() == null) ? 0 : getQuestionId().hashCode());
         result = prime * result + ((getUserId() == null) ? 0 : getUserId().hashCode());
         result = prime * result + ((getParentId() == null) ? 0 : getParentId().hashCode());
+        result = prime * result + ((getRootId() == null) ? 0 : getRootId().hashCode());
         result = prime * result + ((getReplyUserId() == null) ? 0 : getReplyUserId().hashCode());
         result = prime * result + ((getContent() == null) ? 0 : getContent().hashCode());
         result = prime * result + ((getThumbNum() == null) ? 0 : getThumbNum().hashCode());
@@ -200,6 +215,7 @@ public class QuestionComment implements Serializable {
         sb.append(", questionId=").append(questionId);
         sb.append(", userId=").append(userId);
         sb.append(", parentId=").append(parentId);
+        sb.append(", rootId=").append(rootId);
         sb.append(", replyUserId=").append(replyUserId);
         sb.append(", content=").append(content);
         sb.append(", thumbNum=").append(thumbNum);
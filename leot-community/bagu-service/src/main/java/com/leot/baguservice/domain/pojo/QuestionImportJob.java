@@ -0,0 +1,387 @@
+package com.leot.baguservice.domain.pojo;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 题目导入任务
+ * @TableName question_import_job
+ */
+@TableName(value = "question_import_job")
+public class QuestionImportJob implements Serializable {
+    /**
+     * id
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 任务类型：parse/import
+     */
+    private String jobType;
+
+    /**
+     * 状态：pending/running/succeeded/failed/cancelled
+     */
+    private String status;
+
+    /**
+     * 提交用户ID
+     */
+    private Long userId;
+
+    /**
+     * 目标题库ID（导入任务）
+     */
+    private Long questionBankId;
+
+    /**
+     * 原始文件名（解析任务）
+     */
+    private String fileName;
+
+    /**
+     * PDF 暂存路径（解析任务）
+     */
+    private String filePath;
+
+    /**
+     * 待导入题目 JSON（导入任务）
+     */
+    private String payload;
+
+    /**
+     * 解析结果 JSON（解析任务）
+     */
+    private String result;
+
+    /**
+     * 每块题目数
+     */
+    private Integer chunkSize;
+
+    /**
+     * 已提交块数（断点）
+     */
+    private Integer committedChunks;
+
+    /**
+     * 总数
+     */
+    private Integer totalCount;
+
+    /**
+     * 已处理数
+     */
+    private Integer processedCount;
+
+    /**
+     * 成功数
+     */
+    private Integer successCount;
+
+    /**
+     * 失败数
+     */
+    private Integer failCount;
+
+    /**
+     * 逐题错误 JSON 数组
+     */
+    private String errors;
+
+    /**
+     * 任务失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 执行实例
+     */
+    private String owner;
+
+    /**
+     * 执行实例最近心跳时间
+     */
+    private Date heartbeatTime;
+
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+
+    /**
+     * 更新时间
+     */
+    private Date updateTime;
+
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJobType() {
+        return jobType;
+    }
+
+    public void setJobType(String jobType) {
+        this.jobType = jobType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getQuestionBankId() {
+        return questionBankId;
+    }
+
+    public void setQuestionBankId(Long questionBankId) {
+        this.questionBankId = questionBankId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Integer getCommittedChunks() {
+        return committedChunks;
+    }
+
+    public void setCommittedChunks(Integer committedChunks) {
+        this.committedChunks = committedChunks;
+    }
+
+    public Integer getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(Integer totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public Integer getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(Integer processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public Integer getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(Integer successCount) {
+        this.successCount = successCount;
+    }
+
+    public Integer getFailCount() {
+        return failCount;
+    }
+
+    public void setFailCount(Integer failCount) {
+        this.failCount = failCount;
+    }
+
+    public String getErrors() {
+        return errors;
+    }
+
+    public void setErrors(String errors) {
+        this.errors = errors;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Date getHeartbeatTime() {
+        return heartbeatTime;
+    }
+
+    public void setHeartbeatTime(Date heartbeatTime) {
+        this.heartbeatTime = heartbeatTime;
+    }
+
+    public Date getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(Date createTime) {
+        this.createTime = createTime;
+    }
+
+    public Date getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(Date updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    @Override
+    public boolean equals(Object that) {
+        if (this == that) {
+            return true;
+        }
+        if (that == null) {
+            return false;
+        }
+        if (getClass() != that.getClass()) {
+            return false;
+        }
+        QuestionImportJob other = (QuestionImportJob) that;
+        return (this.getId() == null ? other.getId() == null : this.getId().equals(other.getId()))
+            && (this.getJobType() == null ? other.getJobType() == null : this.getJobType().equals(other.getJobType()))
+            && (this.getStatus() == null ? other.getStatus() == null : this.getStatus().equals(other.getStatus()))
+            && (this.getUserId() == null ? other.getUserId() == null : this.getUserId().equals(other.getUserId()))
+            && (this.getQuestionBankId() == null ? other.getQuestionBankId() == null : this.getQuestionBankId().equals(other.getQuestionBankId()))
+            && (this.getFileName() == null ? other.getFileName() == null : this.getFileName().equals(other.getFileName()))
+            && (this.getFilePath() == null ? other.getFilePath() == null : this.getFilePath().equals(other.getFilePath()))
+            && (this.getPayload() == null ? other.getPayload() == null : this.getPayload().equals(other.getPayload()))
+            && (this.getResult() == null ? other.getResult() == null : this.getResult().equals(other.getResult()))
+            && (this.getChunkSize() == null ? other.getChunkSize() == null : this.getChunkSize().equals(other.getChunkSize()))
+            && (this.getCommittedChunks() == null ? other.getCommittedChunks() == null : this.getCommittedChunks().equals(other.getCommittedChunks()))
+            && (this.getTotalCount() == null ? other.getTotalCount() == null : this.getTotalCount().equals(other.getTotalCount()))
+            && (this.getProcessedCount() == null ? other.getProcessedCount() == null : this.getProcessedCount().equals(other.getProcessedCount()))
+            && (this.getSuccessCount() == null ? other.getSuccessCount() == null : this.getSuccessCount().equals(other.getSuccessCount()))
+            && (this.getFailCount() == null ? other.getFailCount() == null : this.getFailCount().equals(other.getFailCount()))
+            && (this.getErrors() == null ? other.getErrors() == null : this.getErrors().equals(other.getErrors()))
+            && (this.getErrorMessage() == null ? other.getErrorMessage() == null : this.getErrorMessage().equals(other.getErrorMessage()))
+            && (this.getOwner() == null ? other.getOwner() == null : this.getOwner().equals(other.getOwner()))
+            && (this.getHeartbeatTime() == null ? other.getHeartbeatTime() == null : this.getHeartbeatTime().equals(other.getHeartbeatTime()))
+            && (this.getCreateTime() == null ? other.getCreateTime() == null : this.getCreateTime().equals(other.getCreateTime()))
+            && (this.getUpdateTime() == null ? other.getUpdateTime() == null : this.getUpdateTime().equals(other.getUpdateTime()));
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((getId() == null) ? 0 : getId().hashCode());
+        result = prime * result + ((getJobType() == null) ? 0 : getJobType().hashCode());
+        result = prime * result + ((getStatus() == null) ? 0 : getStatus().hashCode());
+        result = prime * result + ((getUserId() == null) ? 0 : getUserId().hashCode());
+        result = prime * result + ((getQuestionBankId() == null) ? 0 : getQuestionBankId().hashCode());
+        result = prime * result + ((getFileName() == null) ? 0 : getFileName().hashCode());
+        result = prime * result + ((getFilePath() == null) ? 0 : getFilePath().hashCode());
+        result = prime * result + ((getPayload() == null) ? 0 : getPayload().hashCode());
+        result = prime * result + ((getResult() == null) ? 0 : getResult().hashCode());
+        result = prime * result + ((getChunkSize() == null) ? 0 : getChunkSize().hashCode());
+        result = prime * result + ((getCommittedChunks() == null) ? 0 : getCommittedChunks().hashCode());
+        result = prime * result + ((getTotalCount() == null) ? 0 : getTotalCount().hashCode());
+        result = prime * result + ((getProcessedCount() == null) ? 0 : getProcessedCount().hashCode());
+        result = prime * result + ((getSuccessCount() == null) ? 0 : getSuccessCount().hashCode());
+        result = prime * result + ((getFailCount() == null) ? 0 : getFailCount().hashCode());
+        result = prime * result + ((getErrors() == null) ? 0 : getErrors().hashCode());
+        result = prime * result + ((getErrorMessage() == null) ? 0 : getErrorMessage().hashCode());
+        result = prime * result + ((getOwner() == null) ? 0 : getOwner().hashCode());
+        result = prime * result + ((getHeartbeatTime() == null) ? 0 : getHeartbeatTime().hashCode());
+        result = prime * result + ((getCreateTime() == null) ? 0 : getCreateTime().hashCode());
+        result = prime * result + ((getUpdateTime() == null) ? 0 : getUpdateTime().hashCode());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [");
+        sb.append("Hash = ").append(hashCode());
+        sb.append(", id=").append(id);
+        sb.append(", jobType=").append(jobType);
+        sb.append(", status=").append(status);
+        sb.append(", userId=").append(userId);
+        sb.append(", questionBankId=").append(questionBankId);
+        sb.append(", fileName=").append(fileName);
+        sb.append(", filePath=").append(filePath);
+        sb.append(", payload=").append(payload);
+        sb.append(", result=").append(result);
+        sb.append(", chunkSize=").append(chunkSize);
+        sb.append(", committedChunks=").append(committedChunks);
+        sb.append(", totalCount=").append(totalCount);
+        sb.append(", processedCount=").append(processedCount);
+        sb.append(", successCount=").append(successCount);
+        sb.append(", failCount=").append(failCount);
+        sb.append(", errors=").append(errors);
+        sb.append(", errorMessage=").append(errorMessage);
+        sb.append(", owner=").append(owner);
+        sb.append(", heartbeatTime=").append(heartbeatTime);
+        sb.append(", createTime=").append(createTime);
+        sb.append(", updateTime=").append(updateTime);
+        sb.append(", serialVersionUID=").append(serialVersionUID);
+        sb.append("]");
+        return sb.toString();
+    }
+}
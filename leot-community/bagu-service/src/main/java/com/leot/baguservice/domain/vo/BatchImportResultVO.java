@@ -3,6 +3,7 @@ package com.leot.baguservice.domain.vo;
 import lombok.Data;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * 批量导入结果
@@ -26,4 +27,9 @@ public class BatchImportResultVO implements Serializable {
      * 总数量
      */
     private Integer totalCount;
+
+    /**
+     * 导入错误（逐题校验失败与整块写入失败）
+     */
+    private List<ImportErrorVO> errors;
 }
@@ -0,0 +1,44 @@
+package com.leot.baguservice.domain.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 缓存统计视图对象
+ */
+@Data
+public class CacheStatsVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 缓存名称
+     */
+    private String name;
+
+    /**
+     * 本地缓存（L1）命中次数
+     */
+    private Long localHitCount;
+
+    /**
+     * Redis 缓存（L2）命中次数
+     */
+    private Long redisHitCount;
+
+    /**
+     * 未命中（回源数据库）次数
+     */
+    private Long missCount;
+
+    /**
+     * 综合命中率
+     */
+    private Double hitRate;
+
+    /**
+     * 本地缓存当前条目数
+     */
+    private Long localSize;
+}
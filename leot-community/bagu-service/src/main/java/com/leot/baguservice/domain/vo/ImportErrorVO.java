@@ -0,0 +1,34 @@
+package com.leot.baguservice.domain.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 导入错误（单道题目校验失败，或一块题目整体写入失败）
+ */
+@Data
+public class ImportErrorVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 题目在提交列表中的序号（从 0 开始）
+     */
+    private Integer index;
+
+    /**
+     * 涉及的题目数（单题错误为 1，整块写入失败时为该块写入的题目数）
+     */
+    private Integer count;
+
+    /**
+     * 题目标题（整块写入失败时为空）
+     */
+    private String title;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+}
@@ -0,0 +1,86 @@
+package com.leot.baguservice.domain.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 导入任务进度
+ */
+@Data
+public class ImportJobVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 任务ID
+     */
+    private Long id;
+
+    /**
+     * 任务类型：parse/import
+     */
+    private String jobType;
+
+    /**
+     * 状态：pending/running/succeeded/failed/cancelled
+     */
+    private String status;
+
+    /**
+     * 原始文件名（解析任务）
+     */
+    private String fileName;
+
+    /**
+     * 目标题库ID（导入任务）
+     */
+    private Long questionBankId;
+
+    /**
+     * 总数
+     */
+    private Integer totalCount;
+
+    /**
+     * 已处理数
+     */
+    private Integer processedCount;
+
+    /**
+     * 成功数
+     */
+    private Integer successCount;
+
+    /**
+     * 失败数
+     */
+    private Integer failCount;
+
+    /**
+     * 逐题错误（最多保留前若干条）
+     */
+    private List<ImportErrorVO> errors;
+
+    /**
+     * 任务失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 解析结果（解析任务完成后返回）
+     */
+    private PdfParseResultVO parseResult;
+
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+
+    /**
+     * 更新时间
+     */
+    private Date updateTime;
+}
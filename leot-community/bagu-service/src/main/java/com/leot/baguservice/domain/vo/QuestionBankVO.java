@@ -48,6 +48,11 @@ public class QuestionBankVO implements Serializable {
      */
     private Integer viewNum;
 
+    /**
+     * 独立访客数（HyperLogLog 估算，误差约 0.81%）
+     */
+    private Integer uniqueViewNum;
+
     /**
      * 题目数量
      */
@@ -44,6 +44,11 @@ public class QuestionCommentVO implements Serializable {
      */
     private Long parentId;
 
+    /**
+     * 根评论ID（0表示顶级评论）
+     */
+    private Long rootId;
+
     /**
      * 被回复用户ID
      */
@@ -75,7 +80,12 @@ public class QuestionCommentVO implements Serializable {
     private Date createTime;
 
     /**
-     * 子评论列表（树形结构）
+     * 回复总数（仅顶级评论返回）
+     */
+    private Long replyCount;
+
+    /**
+     * 最早的若干条回复（仅顶级评论返回，其余回复通过回复分页接口加载）
      */
     private List<QuestionCommentVO> children;
 }
@@ -0,0 +1,86 @@
+package com.leot.baguservice.domain.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 题目摘要视图对象（列表使用，不含内容和答案全文）
+ */
+@Data
+public class QuestionSummaryVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * ID
+     */
+    private Long id;
+
+    /**
+     * 标题
+     */
+    private String title;
+
+    /**
+     * 标签列表（解析后）
+     */
+    private List<String> tags;
+
+    /**
+     * 内容摘要（去除 HTML 标签后截断，仅在请求 withSnippet=true 时返回）
+     */
+    private String snippet;
+
+    /**
+     * 创建用户ID
+     */
+    private Long userId;
+
+    /**
+     * 创建者名称
+     */
+    private String userName;
+
+    /**
+     * 浏览量
+     */
+    private Integer viewNum;
+
+    /**
+     * 点赞数
+     */
+    private Integer thumbNum;
+
+    /**
+     * 收藏数
+     */
+    private Integer favourNum;
+
+    /**
+     * 评论数
+     */
+    private Integer commentNum;
+
+    /**
+     * 当前用户是否点赞
+     */
+    private Boolean hasThumb;
+
+    /**
+     * 当前用户是否收藏
+     */
+    private Boolean hasFavour;
+
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+
+    /**
+     * 更新时间
+     */
+    private Date updateTime;
+}
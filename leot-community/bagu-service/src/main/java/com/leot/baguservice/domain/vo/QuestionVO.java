@@ -54,6 +54,11 @@ public class QuestionVO implements Serializable {
      */
     private Integer viewNum;
 
+    /**
+     * 独立访客数（HyperLogLog 估算，误差约 0.81%）
+     */
+    private Integer uniqueViewNum;
+
     /**
      * 点赞数
      */
@@ -0,0 +1,24 @@
+package com.leot.baguservice.domain.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 标签分面统计视图对象
+ */
+@Data
+public class TagFacetVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 标签名
+     */
+    private String tagName;
+
+    /**
+     * 包含该标签的题目数
+     */
+    private Long count;
+}
@@ -0,0 +1,133 @@
+package com.leot.baguservice.manager;
+
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.leot.baguservice.domain.pojo.Question;
+import com.leot.baguservice.mapper.QuestionMapper;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 题目评论数修复
+ * question.commentNum 由发表、回复、删除评论提交后经 CounterManager 写回维护，
+ * 进程异常退出会丢失未刷新的增量，该任务定期按评论表重新计算并修正不一致的题目。
+ * 修复需要扫描全部题目，多实例部署时通过 Redis 锁保证同一时间只有一个实例执行；启动时的修复默认关闭，
+ * 历史数据由 migrate_data.sql 回填。
+ */
+@Slf4j
+@Component
+public class CommentCountRepairManager {
+
+    /**
+     * 每批处理的题目数
+     */
+    private static final int REPAIR_BATCH_SIZE = 500;
+
+    /**
+     * 释放锁脚本：只删除自己持有的锁
+     */
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private static final String REPAIR_LOCK_KEY = "bagu:comment-count:repair-lock";
+
+    /**
+     * 修复锁的持有时间（秒），需大于一次全量修复的耗时
+     */
+    private static final long REPAIR_LOCK_SECONDS = 1800;
+
+    @Value("${bagu.comment-count.repair-on-startup:false}")
+    private boolean repairOnStartup;
+
+    @Resource
+    private QuestionMapper questionMapper;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private CounterManager counterManager;
+
+    /**
+     * 应用启动后异步修复一次（需开启 bagu.comment-count.repair-on-startup）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!repairOnStartup) {
+            return;
+        }
+        Thread.ofVirtual().name("comment-count-repair").start(this::repair);
+    }
+
+    /**
+     * 定时修复
+     */
+    @Scheduled(cron = "${bagu.comment-count.repair-cron:0 45 3 * * ?}")
+    public void scheduledRepair() {
+        repair();
+    }
+
+    /**
+     * 按 id 分批重新计算所有题目的评论数（其他实例正在修复时跳过）
+     *
+     * @return 被修正的题目数
+     */
+    public synchronized int repair() {
+        String lockValue = IdUtil.fastSimpleUUID();
+        try {
+            Boolean locked = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(REPAIR_LOCK_KEY, lockValue, REPAIR_LOCK_SECONDS, TimeUnit.SECONDS);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.info("其他实例正在修复题目评论数，跳过本次修复");
+                return 0;
+            }
+        } catch (Exception e) {
+            log.error("获取题目评论数修复锁失败, error={}", e.getMessage());
+            return 0;
+        }
+        long startTime = System.currentTimeMillis();
+        int repaired = 0;
+        try {
+            // 先落库缓冲中的增量，避免修复后再叠加一次
+            counterManager.flush();
+            long lastId = 0L;
+            while (true) {
+                QueryWrapper<Question> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id");
+                queryWrapper.gt("id", lastId);
+                queryWrapper.orderByAsc("id");
+                queryWrapper.last("LIMIT " + REPAIR_BATCH_SIZE);
+                List<Long> ids = questionMapper.selectList(queryWrapper).stream()
+                        .map(Question::getId)
+                        .collect(Collectors.toList());
+                if (ids.isEmpty()) {
+                    break;
+                }
+                repaired += questionMapper.repairCommentNum(ids);
+                lastId = ids.get(ids.size() - 1);
+            }
+            log.info("题目评论数修复完成, repaired={}, cost={}ms", repaired, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("题目评论数修复失败, error={}", e.getMessage());
+        } finally {
+            try {
+                stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(REPAIR_LOCK_KEY), lockValue);
+            } catch (Exception e) {
+                log.warn("释放题目评论数修复锁失败, error={}", e.getMessage());
+            }
+        }
+        return repaired;
+    }
+}
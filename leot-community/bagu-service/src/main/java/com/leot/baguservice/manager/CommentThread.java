@@ -0,0 +1,167 @@
+package com.leot.baguservice.manager;
+
+import com.leot.baguservice.domain.pojo.QuestionComment;
+import com.leot.baguservice.utils.CursorUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单个题目的评论树快照
+ * 根评论按 (createTime, id) 降序、每个根评论下的回复按 (createTime, id) 升序保存，
+ * 与数据库游标分页的排序一致，可以直接按游标切片；新增/删除评论时增量修改，无需整体重建。
+ * 所有方法对同一实例加锁，读取返回的是列表副本。
+ */
+public class CommentThread {
+
+    private static final Comparator<QuestionComment> CREATE_TIME_ASC =
+            Comparator.comparing((QuestionComment c) -> c.getCreateTime().getTime()).thenComparing(QuestionComment::getId);
+
+    private static final Comparator<QuestionComment> CREATE_TIME_DESC = CREATE_TIME_ASC.reversed();
+
+    /**
+     * 根评论（降序）
+     */
+    private final List<QuestionComment> roots = new ArrayList<>();
+
+    /**
+     * 根评论ID -> 回复（升序）；已删除的根评论保留其回复，与数据库查询结果一致
+     */
+    private final Map<Long, List<QuestionComment>> replies = new HashMap<>();
+
+    /**
+     * 评论ID -> 评论节点（用于按ID更新点赞数）
+     */
+    private final Map<Long, QuestionComment> nodes = new HashMap<>();
+
+    /**
+     * 从数据库加载的未删除评论构建评论树
+     *
+     * @param comments 题目下的全部未删除评论
+     */
+    public CommentThread(List<QuestionComment> comments) {
+        for (QuestionComment comment : comments) {
+            nodes.put(comment.getId(), comment);
+            if (isRoot(comment)) {
+                roots.add(comment);
+                replies.computeIfAbsent(comment.getId(), k -> new ArrayList<>());
+            } else {
+                replies.computeIfAbsent(comment.getRootId(), k -> new ArrayList<>()).add(comment);
+            }
+        }
+        roots.sort(CREATE_TIME_DESC);
+        replies.values().forEach(list -> list.sort(CREATE_TIME_ASC));
+    }
+
+    /**
+     * 按游标读取根评论（降序）
+     *
+     * @param after 上一页最后一条的游标（首页为 null）
+     * @param limit 最多返回条数
+     * @return 根评论列表
+     */
+    public synchronized List<QuestionComment> pageRoots(CursorUtil.Cursor after, int limit) {
+        return slice(roots, after, limit, CREATE_TIME_DESC);
+    }
+
+    /**
+     * 按游标读取根评论下的回复（升序）
+     *
+     * @param rootId 根评论ID
+     * @param after  上一页最后一条的游标（首页为 null）
+     * @param limit  最多返回条数
+     * @return 回复列表；根评论不属于该题目时返回 null
+     */
+    public synchronized List<QuestionComment> pageReplies(Long rootId, CursorUtil.Cursor after, int limit) {
+        List<QuestionComment> list = replies.get(rootId);
+        return list == null ? null : slice(list, after, limit, CREATE_TIME_ASC);
+    }
+
+    /**
+     * 根评论下的回复数
+     */
+    public synchronized long countReplies(Long rootId) {
+        List<QuestionComment> list = replies.get(rootId);
+        return list == null ? 0L : list.size();
+    }
+
+    /**
+     * 追加新评论
+     *
+     * @param comment 新评论
+     */
+    public synchronized void add(QuestionComment comment) {
+        nodes.put(comment.getId(), comment);
+        if (isRoot(comment)) {
+            insertSorted(roots, comment, CREATE_TIME_DESC);
+            replies.computeIfAbsent(comment.getId(), k -> new ArrayList<>());
+        } else {
+            insertSorted(replies.computeIfAbsent(comment.getRootId(), k -> new ArrayList<>()), comment, CREATE_TIME_ASC);
+        }
+    }
+
+    /**
+     * 移除已删除的评论
+     *
+     * @param comment 被删除的评论
+     */
+    public synchronized void remove(QuestionComment comment) {
+        nodes.remove(comment.getId());
+        if (isRoot(comment)) {
+            roots.removeIf(c -> c.getId().equals(comment.getId()));
+        } else {
+            List<QuestionComment> list = replies.get(comment.getRootId());
+            if (list != null) {
+                list.removeIf(c -> c.getId().equals(comment.getId()));
+            }
+        }
+    }
+
+    /**
+     * 更新评论的点赞数（排序只依赖创建时间，节点位置不变）
+     *
+     * @param commentId 评论ID
+     * @param delta     点赞数变化量
+     */
+    public synchronized void updateThumbNum(Long commentId, int delta) {
+        QuestionComment comment = nodes.get(commentId);
+        if (comment != null) {
+            comment.setThumbNum(Math.max((comment.getThumbNum() == null ? 0 : comment.getThumbNum()) + delta, 0));
+        }
+    }
+
+    private static boolean isRoot(QuestionComment comment) {
+        return comment.getRootId() == null || comment.getRootId() == 0L;
+    }
+
+    private static void insertSorted(List<QuestionComment> list, QuestionComment comment,
+                                     Comparator<QuestionComment> comparator) {
+        int index = Collections.binarySearch(list, comment, comparator);
+        if (index >= 0) {
+            // 同一条评论重复追加时覆盖
+            list.set(index, comment);
+        } else {
+            list.add(-index - 1, comment);
+        }
+    }
+
+    private static List<QuestionComment> slice(List<QuestionComment> list, CursorUtil.Cursor after, int limit,
+                                               Comparator<QuestionComment> comparator) {
+        int from = 0;
+        if (after != null) {
+            // 定位到游标之后的第一条（游标对应的评论可能已被删除）
+            QuestionComment probe = new QuestionComment();
+            probe.setId(after.id());
+            probe.setCreateTime(new Date(after.sortValue()));
+            int index = Collections.binarySearch(list, probe, comparator);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        int to = Math.min(from + limit, list.size());
+        return from >= to ? new ArrayList<>() : new ArrayList<>(list.subList(from, to));
+    }
+}
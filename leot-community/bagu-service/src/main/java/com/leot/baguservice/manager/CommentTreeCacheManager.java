@@ -0,0 +1,201 @@
+package com.leot.baguservice.manager;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.leot.baguservice.domain.pojo.QuestionComment;
+import com.leot.baguservice.mapper.QuestionCommentMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * 题目评论树本地缓存
+ * 每个题目的未删除评论整体缓存为 CommentThread，评论列表和回复列表的按时间游标分页直接在内存中切片。
+ * Redis 中为每个题目维护一个版本号，评论新增/删除在事务提交后递增版本号：
+ * 本实例缓存的版本恰好落后一个版本时就地追加/移除节点，否则丢弃；其他实例读取时发现版本不一致即重新加载。
+ * 评论点赞数变化同样在提交后递增版本号并就地更新节点；按点赞数排序的列表不走缓存。
+ */
+@Slf4j
+@Component
+public class CommentTreeCacheManager {
+
+    private static final String VERSION_KEY_PREFIX = "bagu:comment:thread:version:";
+
+    /**
+     * 版本号过期时间（天），远大于本地缓存有效期，过期重置不会与仍在本地的旧快照撞号
+     */
+    private static final long VERSION_TTL_DAYS = 7;
+
+    /**
+     * 超过评论数上限的题目只缓存占位，直接查库
+     */
+    private static final CommentThread OVERSIZED = new CommentThread(List.of());
+
+    @Value("${bagu.cache.comment-thread.local-max-size:500}")
+    private long localMaxSize;
+
+    @Value("${bagu.cache.comment-thread.local-ttl-seconds:300}")
+    private long localTtlSeconds;
+
+    @Value("${bagu.cache.comment-thread.max-thread-size:2000}")
+    private int maxThreadSize;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private QuestionCommentMapper questionCommentMapper;
+
+    private Cache<Long, CachedThread> localCache;
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        log.info("评论树缓存初始化完成, localMaxSize={}, localTtl={}s, maxThreadSize={}",
+                localMaxSize, localTtlSeconds, maxThreadSize);
+    }
+
+    /**
+     * 获取题目的评论树，本地快照版本与 Redis 不一致时重新加载
+     *
+     * @param questionId 题目ID
+     * @return 评论树；Redis 不可用或评论数超过上限时返回 null，调用方应直接查库
+     */
+    public CommentThread getThread(Long questionId) {
+        if (questionId == null) {
+            return null;
+        }
+        long version;
+        try {
+            version = readVersion(questionId);
+        } catch (Exception e) {
+            log.warn("读取评论树版本失败, questionId={}, error={}", questionId, e.getMessage());
+            return null;
+        }
+        CachedThread cached = localCache.getIfPresent(questionId);
+        if (cached == null || cached.version() != version) {
+            // 查库在缓存的 compute 之外进行，避免持有同一分段的锁访问数据库；
+            // 并发加载时只在版本更新时覆盖，已被其他线程加载或就地修改到更新版本的快照保留
+            CachedThread loaded = load(questionId, version);
+            cached = localCache.asMap().merge(questionId, loaded,
+                    (old, fresh) -> old.version() >= fresh.version() ? old : fresh);
+        }
+        return cached.thread() == OVERSIZED ? null : cached.thread();
+    }
+
+    /**
+     * 评论新增后追加到评论树（处于事务中时延迟到提交后执行）
+     *
+     * @param comment 新评论
+     */
+    public void onCommentAdded(QuestionComment comment) {
+        // 与 MySQL DATETIME 的秒级取整保持一致，保证缓存与数据库的排序和游标相同
+        QuestionComment snapshot = BeanUtil.copyProperties(comment, QuestionComment.class);
+        long millis = snapshot.getCreateTime().getTime();
+        snapshot.setCreateTime(new Date((millis + 500) / 1000 * 1000));
+        afterCommit(snapshot, CommentThread::add);
+    }
+
+    /**
+     * 评论删除后从评论树移除（处于事务中时延迟到提交后执行）
+     *
+     * @param comment 被删除的评论
+     */
+    public void onCommentRemoved(QuestionComment comment) {
+        afterCommit(comment, CommentThread::remove);
+    }
+
+    /**
+     * 评论点赞数变化后更新评论树中的节点（处于事务中时延迟到提交后执行）
+     *
+     * @param comment 评论（至少包含 id、questionId）
+     * @param delta   点赞数变化量
+     */
+    public void onCommentThumbChanged(QuestionComment comment, int delta) {
+        afterCommit(comment, (thread, c) -> thread.updateThumbNum(c.getId(), delta));
+    }
+
+    private void afterCommit(QuestionComment comment, BiConsumer<CommentThread, QuestionComment> mutation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(comment, mutation);
+                }
+            });
+        } else {
+            apply(comment, mutation);
+        }
+    }
+
+    private void apply(QuestionComment comment, BiConsumer<CommentThread, QuestionComment> mutation) {
+        Long questionId = comment.getQuestionId();
+        long newVersion;
+        try {
+            String key = VERSION_KEY_PREFIX + questionId;
+            newVersion = stringRedisTemplate.opsForValue().increment(key);
+            stringRedisTemplate.expire(key, VERSION_TTL_DAYS, TimeUnit.DAYS);
+        } catch (Exception e) {
+            // 版本号未递增时其他实例无法感知变更，本地快照直接丢弃，其他实例依赖本地有效期兜底
+            log.warn("递增评论树版本失败, questionId={}, error={}", questionId, e.getMessage());
+            localCache.invalidate(questionId);
+            return;
+        }
+        // 只有恰好落后一个版本的快照才能增量修改，否则说明错过了其他变更，直接丢弃
+        localCache.asMap().computeIfPresent(questionId, (id, cached) -> {
+            if (cached.version() != newVersion - 1) {
+                return null;
+            }
+            // 超过上限的题目保留占位，避免每次写入后都重新加载
+            if (cached.thread() != OVERSIZED) {
+                mutation.accept(cached.thread(), comment);
+            }
+            return new CachedThread(newVersion, cached.thread());
+        });
+    }
+
+    private long readVersion(Long questionId) {
+        String value = stringRedisTemplate.opsForValue().get(VERSION_KEY_PREFIX + questionId);
+        return StrUtil.isNumeric(value) ? Long.parseLong(value) : 0L;
+    }
+
+    /**
+     * 从数据库加载评论树（版本号须在加载前读取，加载期间的变更会使版本号前进，下次读取时重新加载）
+     */
+    private CachedThread load(Long questionId, long version) {
+        QueryWrapper<QuestionComment> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("questionId", questionId);
+        queryWrapper.last("LIMIT " + (maxThreadSize + 1));
+        List<QuestionComment> comments = questionCommentMapper.selectList(queryWrapper);
+        if (comments.size() > maxThreadSize) {
+            log.debug("评论数超过缓存上限, questionId={}, maxThreadSize={}", questionId, maxThreadSize);
+            return new CachedThread(version, OVERSIZED);
+        }
+        return new CachedThread(version, new CommentThread(comments));
+    }
+
+    /**
+     * 本地缓存项
+     *
+     * @param version 快照对应的版本号
+     * @param thread  评论树
+     */
+    private record CachedThread(long version, CommentThread thread) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.leot.baguservice.manager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存计数缓冲区
+ * 每个 ID 对应一个 LongAdder，高并发下累加几乎无竞争；由定时任务整体取出后批量落库
+ * 累加持有读锁、取出持有写锁：换下的缓冲区不会再有写入，避免取出求和之后的累加丢失
+ */
+public class CounterBuffer {
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    private ConcurrentHashMap<Long, LongAdder> current = new ConcurrentHashMap<>();
+
+    /**
+     * 累加计数
+     *
+     * @param id    业务ID
+     * @param delta 变化量
+     */
+    public void add(Long id, long delta) {
+        if (id == null || delta == 0) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            current.computeIfAbsent(id, k -> new LongAdder()).add(delta);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 取出当前所有累计值并换上新的缓冲区
+     *
+     * @return ID -> 累计变化量（不含为 0 的项）
+     */
+    public Map<Long, Long> drain() {
+        ConcurrentHashMap<Long, LongAdder> snapshot;
+        swapLock.writeLock().lock();
+        try {
+            snapshot = current;
+            current = new ConcurrentHashMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        Map<Long, Long> result = new HashMap<>(snapshot.size() * 2);
+        snapshot.forEach((id, adder) -> {
+            long sum = adder.sum();
+            if (sum != 0) {
+                result.put(id, sum);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 将落库失败的变化量放回缓冲区，等待下一次刷新
+     *
+     * @param deltas ID -> 变化量
+     */
+    public void restore(Map<Long, Long> deltas) {
+        if (deltas == null) {
+            return;
+        }
+        deltas.forEach(this::add);
+    }
+
+    /**
+     * 当前缓冲的 ID 数量
+     */
+    public int size() {
+        swapLock.readLock().lock();
+        try {
+            return current.size();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.leot.baguservice.manager;
+
+import cn.hutool.core.collection.CollUtil;
+import com.leot.baguservice.mapper.QuestionBankMapper;
+import com.leot.baguservice.mapper.QuestionMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 计数写回管理
+ * 浏览量等高频计数先在内存中聚合，按固定间隔合并为批量 UPDATE 落库，
+ * 避免热门数据每次访问都更新同一行。进程异常退出时最多丢失一个刷新周期内的计数，
+ * 正常关闭时会先刷新一次。
+ */
+@Slf4j
+@Component
+public class CounterManager {
+
+    private final CounterBuffer questionViewBuffer = new CounterBuffer();
+
+    private final CounterBuffer questionBankViewBuffer = new CounterBuffer();
+
+    private final CounterBuffer questionCommentBuffer = new CounterBuffer();
+
+    @Value("${bagu.counter.batch-size:500}")
+    private int batchSize;
+
+    @Resource
+    private QuestionMapper questionMapper;
+
+    @Resource
+    private QuestionBankMapper questionBankMapper;
+
+    /**
+     * 题目浏览量 +1
+     *
+     * @param questionId 题目ID
+     */
+    public void incrQuestionView(Long questionId) {
+        questionViewBuffer.add(questionId, 1);
+    }
+
+    /**
+     * 题库浏览量 +1
+     *
+     * @param questionBankId 题库ID
+     */
+    public void incrQuestionBankView(Long questionBankId) {
+        questionBankViewBuffer.add(questionBankId, 1);
+    }
+
+    /**
+     * 题目评论数增减
+     * 处于事务中时延迟到事务提交后记录，事务回滚不会留下增量
+     *
+     * @param questionId 题目ID
+     * @param delta 变化量（发表/回复为 1，删除为 -1）
+     */
+    public void incrQuestionComment(Long questionId, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    questionCommentBuffer.add(questionId, delta);
+                }
+            });
+        } else {
+            questionCommentBuffer.add(questionId, delta);
+        }
+    }
+
+    /**
+     * 定时刷新缓冲计数到数据库
+     */
+    @Scheduled(fixedDelayString = "${bagu.counter.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 应用关闭前刷新剩余计数
+     */
+    @PreDestroy
+    public void destroy() {
+        log.info("应用关闭，刷新剩余计数");
+        flush();
+    }
+
+    /**
+     * 刷新所有缓冲计数
+     */
+    public synchronized void flush() {
+        flushBuffer("questionView", questionViewBuffer, questionMapper::batchIncrementViewNum);
+        flushBuffer("questionBankView", questionBankViewBuffer, questionBankMapper::batchIncrementViewNum);
+        flushBuffer("questionComment", questionCommentBuffer, questionMapper::batchIncrementCommentNum);
+    }
+
+    private void flushBuffer(String name, CounterBuffer buffer, Consumer<Map<Long, Long>> writer) {
+        Map<Long, Long> deltas = buffer.drain();
+        if (CollUtil.isEmpty(deltas)) {
+            return;
+        }
+        // 分批写入，失败的批次放回缓冲区等待下次刷新
+        Iterator<Map.Entry<Long, Long>> iterator = deltas.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map<Long, Long> batch = new HashMap<>();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                Map.Entry<Long, Long> entry = iterator.next();
+                batch.put(entry.getKey(), entry.getValue());
+            }
+            try {
+                writer.accept(batch);
+            } catch (Exception e) {
+                log.error("计数落库失败, counter={}, size={}, error={}", name, batch.size(), e.getMessage());
+                buffer.restore(batch);
+            }
+        }
+        log.debug("计数落库完成, counter={}, size={}", name, deltas.size());
+    }
+}
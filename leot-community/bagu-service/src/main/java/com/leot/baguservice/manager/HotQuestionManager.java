@@ -0,0 +1,440 @@
+package com.leot.baguservice.manager;
+
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.leot.baguservice.domain.pojo.Question;
+import com.leot.baguservice.mapper.QuestionMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 热门题目排行
+ * 浏览、点赞、收藏、评论事件按权重计入题目热度，热度随时间指数衰减（半衰期可配置）。
+ * 热度保存在 Redis 有序集合中，分页读取为 ZREVRANGE，复杂度 O(log n + 页大小)，不再对题目表全表排序。
+ *
+ * 衰减采用“前向衰减”：事件在时刻 t 的贡献记为 weight * 2^((t - epoch) / halfLife)，
+ * 越新的事件贡献越大，已有分数无需随时间改写，排序结果等价于所有分数同时衰减。
+ * 贡献值随时间指数增长，定时任务会把整个集合按比例缩小并把 epoch 移到当前时刻，同时裁剪集合大小。
+ *
+ * 高频的浏览事件先在内存中按题目聚合，按固定间隔批量写入 Redis。
+ * 点赞、收藏直接写入 Redis，并按题目记录每个用户的事件时间：取消时按该时间在当前 epoch 下的贡献扣减，
+ * 扣掉的正是当初加上的那部分，不会因为取消时间更晚而多扣。
+ */
+@Slf4j
+@Component
+public class HotQuestionManager {
+
+    /**
+     * 累加脚本：ARGV[1]=当前时间，ARGV[2]=半衰期，之后每三个参数为 题目ID、权重、事件时间
+     */
+    private static final DefaultRedisScript<Long> INCR_SCRIPT = new DefaultRedisScript<>(
+            "local epoch = tonumber(redis.call('GET', KEYS[2])) "
+                    + "if not epoch then epoch = tonumber(ARGV[1]) redis.call('SET', KEYS[2], ARGV[1]) end "
+                    + "local halfLife = tonumber(ARGV[2]) "
+                    + "for i = 3, #ARGV, 3 do "
+                    + "local score = tonumber(ARGV[i + 1]) * math.pow(2, (tonumber(ARGV[i + 2]) - epoch) / halfLife) "
+                    + "redis.call('ZINCRBY', KEYS[1], score, ARGV[i]) "
+                    + "end "
+                    + "return (#ARGV - 2) / 3",
+            Long.class);
+
+    /**
+     * 重置基准脚本：整体按比例缩小分数并把 epoch 移到当前时刻，移除非正分数并裁剪到最大容量
+     * ARGV[1]=当前时间，ARGV[2]=半衰期，ARGV[3]=最大容量
+     */
+    private static final DefaultRedisScript<Long> REBASE_SCRIPT = new DefaultRedisScript<>(
+            "local epoch = tonumber(redis.call('GET', KEYS[2])) "
+                    + "if not epoch then return 0 end "
+                    + "if redis.call('EXISTS', KEYS[1]) == 1 then "
+                    + "local factor = math.pow(2, (epoch - tonumber(ARGV[1])) / tonumber(ARGV[2])) "
+                    + "redis.call('ZUNIONSTORE', KEYS[1], 1, KEYS[1], 'WEIGHTS', factor) "
+                    + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', 0) "
+                    + "end "
+                    + "redis.call('SET', KEYS[2], ARGV[1]) "
+                    + "local size = redis.call('ZCARD', KEYS[1]) "
+                    + "local maxSize = tonumber(ARGV[3]) "
+                    + "if size > maxSize then redis.call('ZREMRANGEBYRANK', KEYS[1], 0, size - maxSize - 1) size = maxSize end "
+                    + "return size",
+            Long.class);
+
+    /**
+     * 记录点赞/收藏脚本：KEYS[3]=题目的事件时间哈希
+     * ARGV[1]=当前时间，ARGV[2]=半衰期，ARGV[3]=题目ID，ARGV[4]=事件字段，ARGV[5]=权重，ARGV[6]=哈希过期秒数
+     */
+    private static final DefaultRedisScript<Long> ADD_EVENT_SCRIPT = new DefaultRedisScript<>(
+            "local epoch = tonumber(redis.call('GET', KEYS[2])) "
+                    + "if not epoch then epoch = tonumber(ARGV[1]) redis.call('SET', KEYS[2], ARGV[1]) end "
+                    + "if redis.call('HSETNX', KEYS[3], ARGV[4], ARGV[1]) == 0 then return 0 end "
+                    + "redis.call('EXPIRE', KEYS[3], ARGV[6]) "
+                    + "local score = tonumber(ARGV[5]) * math.pow(2, (tonumber(ARGV[1]) - epoch) / tonumber(ARGV[2])) "
+                    + "redis.call('ZINCRBY', KEYS[1], score, ARGV[3]) "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * 撤销点赞/收藏脚本：按记录的事件时间扣减当初的贡献，分数不低于 0
+     * ARGV[1]=半衰期，ARGV[2]=题目ID，ARGV[3]=事件字段，ARGV[4]=权重
+     */
+    private static final DefaultRedisScript<Long> REMOVE_EVENT_SCRIPT = new DefaultRedisScript<>(
+            "local eventTime = tonumber(redis.call('HGET', KEYS[3], ARGV[3])) "
+                    + "if not eventTime then return 0 end "
+                    + "redis.call('HDEL', KEYS[3], ARGV[3]) "
+                    + "local epoch = tonumber(redis.call('GET', KEYS[2])) "
+                    + "local current = tonumber(redis.call('ZSCORE', KEYS[1], ARGV[2])) "
+                    + "if not epoch or not current then return 0 end "
+                    + "local score = tonumber(ARGV[4]) * math.pow(2, (eventTime - epoch) / tonumber(ARGV[1])) "
+                    + "if current - score <= 0 then redis.call('ZREM', KEYS[1], ARGV[2]) "
+                    + "else redis.call('ZINCRBY', KEYS[1], -score, ARGV[2]) end "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * 合并初始化结果脚本：KEYS[3]=初始化临时集合
+     * 临时集合按 ARGV[1]（初始化开始时的 epoch）计分，期间若已重置基准则按比例换算到当前 epoch，
+     * 与初始化期间正常写入的分数相加后删除临时集合。ARGV[2]=半衰期
+     */
+    private static final DefaultRedisScript<Long> MERGE_SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[3]) == 0 then return 0 end "
+                    + "local epoch = tonumber(redis.call('GET', KEYS[2])) or tonumber(ARGV[1]) "
+                    + "local factor = math.pow(2, (tonumber(ARGV[1]) - epoch) / tonumber(ARGV[2])) "
+                    + "redis.call('ZUNIONSTORE', KEYS[1], 2, KEYS[1], KEYS[3], 'WEIGHTS', 1, factor) "
+                    + "redis.call('DEL', KEYS[3]) "
+                    + "return redis.call('ZCARD', KEYS[1])",
+            Long.class);
+
+    private static final String HOT_KEY = "bagu:question:hot";
+
+    private static final String EPOCH_KEY = "bagu:question:hot:epoch";
+
+    private static final String SEEDED_KEY = "bagu:question:hot:seeded";
+
+    private static final String SEEDING_KEY = "bagu:question:hot:seeding";
+
+    private static final String EVENT_KEY_PREFIX = "bagu:question:hot:event:";
+
+    /**
+     * 每次脚本调用写入的题目数
+     */
+    private static final int FLUSH_BATCH_SIZE = 200;
+
+    /**
+     * 初始化时每批读取的题目数
+     */
+    private static final int SEED_BATCH_SIZE = 500;
+
+    /**
+     * 事件时间哈希的过期半衰期数：超过该时长无新事件时，其中记录的贡献已衰减到不足原值的千分之一
+     */
+    private static final int EVENT_TTL_HALF_LIVES = 10;
+
+    /**
+     * 初始化临时集合的过期时间（秒），进程中途退出时自动清理
+     */
+    private static final long SEEDING_TTL_SECONDS = 86400;
+
+    private final CounterBuffer scoreBuffer = new CounterBuffer();
+
+    @Value("${bagu.hot.half-life-hours:24}")
+    private long halfLifeHours;
+
+    @Value("${bagu.hot.max-size:10000}")
+    private long maxSize;
+
+    @Value("${bagu.hot.weight.view:1}")
+    private int viewWeight;
+
+    @Value("${bagu.hot.weight.thumb:5}")
+    private int thumbWeight;
+
+    @Value("${bagu.hot.weight.favour:8}")
+    private int favourWeight;
+
+    @Value("${bagu.hot.weight.comment:10}")
+    private int commentWeight;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private QuestionMapper questionMapper;
+
+    /**
+     * 记录浏览
+     */
+    public void recordView(Long questionId) {
+        scoreBuffer.add(questionId, viewWeight);
+    }
+
+    /**
+     * 记录点赞/取消点赞
+     */
+    public void recordThumb(Long questionId, Long userId, boolean thumbed) {
+        recordEvent(questionId, "t:" + userId, thumbWeight, thumbed);
+    }
+
+    /**
+     * 记录收藏/取消收藏
+     */
+    public void recordFavour(Long questionId, Long userId, boolean favoured) {
+        recordEvent(questionId, "f:" + userId, favourWeight, favoured);
+    }
+
+    /**
+     * 记录评论
+     * 处于事务中时延迟到事务提交后记录，事务回滚不会留下热度
+     */
+    public void recordComment(Long questionId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scoreBuffer.add(questionId, commentWeight);
+                }
+            });
+        } else {
+            scoreBuffer.add(questionId, commentWeight);
+        }
+    }
+
+    /**
+     * 按热度从高到低分页获取题目ID
+     *
+     * @param offset 偏移量
+     * @param limit 数量
+     * @return 题目ID列表，Redis 不可用时返回空列表
+     */
+    public List<Long> listHotIds(long offset, int limit) {
+        if (limit <= 0 || offset >= maxSize) {
+            return Collections.emptyList();
+        }
+        try {
+            Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(HOT_KEY, offset, offset + limit - 1);
+            if (CollUtil.isEmpty(members)) {
+                return Collections.emptyList();
+            }
+            return members.stream().map(Long::valueOf).collect(Collectors.toList());
+        } catch (Exception e) {
+            log.warn("读取热门题目失败, error={}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 排行中的题目数（不超过最大容量）
+     */
+    public long size() {
+        try {
+            Long size = stringRedisTemplate.opsForZSet().zCard(HOT_KEY);
+            return size == null ? 0 : Math.min(size, maxSize);
+        } catch (Exception e) {
+            log.warn("读取热门题目数量失败, error={}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 从排行中移除题目（题目删除后调用）
+     */
+    public void remove(Long questionId) {
+        try {
+            stringRedisTemplate.opsForZSet().remove(HOT_KEY, String.valueOf(questionId));
+            stringRedisTemplate.delete(EVENT_KEY_PREFIX + questionId);
+        } catch (Exception e) {
+            log.warn("移除热门题目失败, questionId={}, error={}", questionId, e.getMessage());
+        }
+    }
+
+    /**
+     * 定时将缓冲的热度增量写入 Redis
+     */
+    @Scheduled(fixedDelayString = "${bagu.hot.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 定时缩小分数基准并裁剪排行容量
+     */
+    @Scheduled(fixedDelayString = "${bagu.hot.rebase-interval-ms:3600000}",
+            initialDelayString = "${bagu.hot.rebase-interval-ms:3600000}")
+    public void rebase() {
+        try {
+            Long size = stringRedisTemplate.execute(REBASE_SCRIPT, List.of(HOT_KEY, EPOCH_KEY),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(halfLifeMillis()), String.valueOf(maxSize));
+            log.info("热门题目重置基准完成, size={}", size);
+        } catch (Exception e) {
+            log.warn("热门题目重置基准失败, error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 应用关闭前刷新剩余增量
+     */
+    @PreDestroy
+    public void destroy() {
+        flush();
+    }
+
+    /**
+     * 刷新缓冲的热度增量
+     */
+    public synchronized void flush() {
+        Map<Long, Long> deltas = scoreBuffer.drain();
+        if (CollUtil.isEmpty(deltas)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<Long, Long>> iterator = deltas.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map<Long, Long> batch = new HashMap<>();
+            while (iterator.hasNext() && batch.size() < FLUSH_BATCH_SIZE) {
+                Map.Entry<Long, Long> entry = iterator.next();
+                batch.put(entry.getKey(), entry.getValue());
+            }
+            List<String> args = new ArrayList<>(batch.size() * 3);
+            batch.forEach((questionId, weight) -> {
+                args.add(String.valueOf(questionId));
+                args.add(String.valueOf(weight));
+                args.add(String.valueOf(now));
+            });
+            try {
+                incrScores(HOT_KEY, now, args);
+            } catch (Exception e) {
+                // 失败的批次放回缓冲区等待下次刷新
+                log.warn("热门题目写入失败, size={}, error={}", batch.size(), e.getMessage());
+                scoreBuffer.restore(batch);
+            }
+        }
+    }
+
+    /**
+     * 应用启动后异步初始化排行（仅在 Redis 中尚无排行数据时执行一次）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("hot-question-seed").start(this::seed);
+    }
+
+    /**
+     * 按题目已有的浏览/点赞/收藏数初始化热度，事件时间取题目创建时间
+     * 先写入临时集合，全部完成后再合并到排行；中途失败则删除临时集合并清除标记，下次启动重新初始化，不会重复累加
+     */
+    private void seed() {
+        try {
+            Boolean first = stringRedisTemplate.opsForValue().setIfAbsent(SEEDED_KEY, "1");
+            if (!Boolean.TRUE.equals(first)) {
+                return;
+            }
+        } catch (Exception e) {
+            log.error("热门题目初始化失败, error={}", e.getMessage());
+            return;
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            stringRedisTemplate.opsForValue().setIfAbsent(EPOCH_KEY, String.valueOf(startTime));
+            String seedEpoch = stringRedisTemplate.opsForValue().get(EPOCH_KEY);
+            stringRedisTemplate.delete(SEEDING_KEY);
+            long lastId = 0L;
+            int total = 0;
+            while (true) {
+                QueryWrapper<Question> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id", "viewNum", "thumbNum", "favourNum", "createTime");
+                queryWrapper.gt("id", lastId);
+                queryWrapper.orderByAsc("id");
+                queryWrapper.last("LIMIT " + SEED_BATCH_SIZE);
+                List<Question> questions = questionMapper.selectList(queryWrapper);
+                if (questions.isEmpty()) {
+                    break;
+                }
+                List<String> args = new ArrayList<>(questions.size() * 3);
+                for (Question question : questions) {
+                    long weight = (long) nullToZero(question.getViewNum()) * viewWeight
+                            + (long) nullToZero(question.getThumbNum()) * thumbWeight
+                            + (long) nullToZero(question.getFavourNum()) * favourWeight;
+                    if (weight > 0 && question.getCreateTime() != null) {
+                        args.add(String.valueOf(question.getId()));
+                        args.add(String.valueOf(weight));
+                        args.add(String.valueOf(question.getCreateTime().getTime()));
+                    }
+                }
+                if (!args.isEmpty()) {
+                    incrScores(SEEDING_KEY, startTime, args);
+                    stringRedisTemplate.expire(SEEDING_KEY, SEEDING_TTL_SECONDS, TimeUnit.SECONDS);
+                }
+                total += questions.size();
+                lastId = questions.get(questions.size() - 1).getId();
+            }
+            stringRedisTemplate.execute(MERGE_SEED_SCRIPT, List.of(HOT_KEY, EPOCH_KEY, SEEDING_KEY),
+                    seedEpoch, String.valueOf(halfLifeMillis()));
+            rebase();
+            log.info("热门题目初始化完成, total={}, cost={}ms", total, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("热门题目初始化失败, error={}", e.getMessage());
+            try {
+                stringRedisTemplate.delete(SEEDING_KEY);
+                stringRedisTemplate.delete(SEEDED_KEY);
+            } catch (Exception cleanupError) {
+                log.warn("清理热门题目初始化数据失败, error={}", cleanupError.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 点赞/收藏直接写入 Redis：新增时记录事件时间并累加贡献，撤销时按记录的事件时间扣减
+     */
+    private void recordEvent(Long questionId, String field, int weight, boolean added) {
+        if (questionId == null) {
+            return;
+        }
+        String eventKey = EVENT_KEY_PREFIX + questionId;
+        try {
+            if (added) {
+                stringRedisTemplate.execute(ADD_EVENT_SCRIPT, List.of(HOT_KEY, EPOCH_KEY, eventKey),
+                        String.valueOf(System.currentTimeMillis()), String.valueOf(halfLifeMillis()),
+                        String.valueOf(questionId), field, String.valueOf(weight),
+                        String.valueOf(halfLifeMillis() / 1000 * EVENT_TTL_HALF_LIVES));
+            } else {
+                stringRedisTemplate.execute(REMOVE_EVENT_SCRIPT, List.of(HOT_KEY, EPOCH_KEY, eventKey),
+                        String.valueOf(halfLifeMillis()), String.valueOf(questionId), field, String.valueOf(weight));
+            }
+        } catch (Exception e) {
+            log.warn("热门题目事件写入失败, questionId={}, field={}, error={}", questionId, field, e.getMessage());
+        }
+    }
+
+    private void incrScores(String key, long now, List<String> args) {
+        List<String> scriptArgs = new ArrayList<>(args.size() + 2);
+        scriptArgs.add(String.valueOf(now));
+        scriptArgs.add(String.valueOf(halfLifeMillis()));
+        scriptArgs.addAll(args);
+        stringRedisTemplate.execute(INCR_SCRIPT, List.of(key, EPOCH_KEY), scriptArgs.toArray());
+    }
+
+    private long halfLifeMillis() {
+        return halfLifeHours * 3600_000L;
+    }
+
+    private static int nullToZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,320 @@
+package com.leot.baguservice.manager;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.leot.baguservice.domain.dto.ImportChunkResultDTO;
+import com.leot.baguservice.domain.dto.ParsedQuestionDTO;
+import com.leot.baguservice.domain.enums.ImportJobStatusEnum;
+import com.leot.baguservice.domain.enums.ImportJobTypeEnum;
+import com.leot.baguservice.domain.pojo.QuestionImportJob;
+import com.leot.baguservice.domain.vo.ImportErrorVO;
+import com.leot.baguservice.domain.vo.PdfParseResultVO;
+import com.leot.baguservice.mapper.QuestionImportJobMapper;
+import com.leot.baguservice.service.PdfParseService;
+import com.leot.baguservice.service.QuestionImportService;
+import com.leot.leotcommon.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 题目导入任务执行器
+ * 任务由有界线程池执行，队列满时拒绝提交；导入任务按块执行，每块的题目写入与断点（committedChunks）在同一事务中提交，
+ * 断点更新带 committedChunks 与状态条件，任务被取消或被其他实例接管时该块整体回滚，中断后从最后提交的块继续，不会重复导入。
+ * 执行中的任务定期刷新心跳，心跳超时（实例退出）的任务由任意实例的恢复扫描重新认领。
+ */
+@Slf4j
+@Component
+public class ImportJobManager {
+
+    /**
+     * 逐题错误最多保留条数
+     */
+    private static final int MAX_ERRORS = 100;
+
+    /**
+     * 任务失败原因的最大长度
+     */
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    /**
+     * 每次恢复扫描认领的最大任务数
+     */
+    private static final int RESUME_BATCH_SIZE = 50;
+
+    /**
+     * 执行线程数
+     */
+    @Value("${bagu.import.worker-threads:2}")
+    private int workerThreads;
+
+    /**
+     * 排队任务上限
+     */
+    @Value("${bagu.import.queue-capacity:20}")
+    private int queueCapacity;
+
+    /**
+     * 心跳超过该时长的执行中任务视为实例已退出
+     */
+    @Value("${bagu.import.stale-seconds:300}")
+    private long staleSeconds;
+
+    @Resource
+    private QuestionImportJobMapper questionImportJobMapper;
+
+    @Resource
+    private QuestionImportService questionImportService;
+
+    @Resource
+    private PdfParseService pdfParseService;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 当前实例标识（进程名 + 随机后缀，重启后不同）
+     */
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "-" + IdUtil.fastSimpleUUID().substring(0, 8);
+
+    /**
+     * 本实例已提交（排队或执行中）的任务
+     */
+    private final Map<Long, Future<?>> localJobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(workerThreads, 1);
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                Thread.ofPlatform().name("import-job-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("导入任务执行器初始化完成, owner={}, workerThreads={}, queueCapacity={}", owner, threads, queueCapacity);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        // 中断执行中的任务：未提交的块随事务回滚，任务保持 running，心跳超时后由其他实例或重启后的恢复扫描继续
+        executor.shutdownNow();
+    }
+
+    /**
+     * 执行队列是否还有空位
+     */
+    public boolean hasCapacity() {
+        return executor.getQueue().remainingCapacity() > 0;
+    }
+
+    /**
+     * 提交任务到本实例执行
+     *
+     * @param jobId 任务ID
+     * @throws RejectedExecutionException 队列已满
+     */
+    public void submit(Long jobId) {
+        FutureTask<Void> task = new FutureTask<>(() -> run(jobId), null);
+        if (localJobs.putIfAbsent(jobId, task) != null) {
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            localJobs.remove(jobId);
+            throw e;
+        }
+    }
+
+    /**
+     * 中断本实例上的任务（任务状态已由调用方置为 cancelled）
+     *
+     * @param jobId 任务ID
+     */
+    public void interrupt(Long jobId) {
+        Future<?> future = localJobs.remove(jobId);
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * 定时刷新本实例执行中任务的心跳
+     */
+    @Scheduled(fixedDelayString = "${bagu.import.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (localJobs.isEmpty()) {
+            return;
+        }
+        try {
+            questionImportJobMapper.heartbeat(new ArrayList<>(localJobs.keySet()), owner);
+        } catch (Exception e) {
+            log.error("导入任务心跳刷新失败", e);
+        }
+    }
+
+    /**
+     * 恢复扫描：认领长时间未开始的排队任务和心跳超时的执行中任务（启动后立即执行一次）
+     */
+    @Scheduled(fixedDelayString = "${bagu.import.resume-interval-ms:60000}")
+    public void resumeStaleJobs() {
+        try {
+            Date staleBefore = staleBefore();
+            QueryWrapper<QuestionImportJob> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("id");
+            queryWrapper.and(wrapper -> wrapper
+                    .nested(w -> w.eq("status", ImportJobStatusEnum.PENDING.getValue()).lt("createTime", staleBefore))
+                    .or()
+                    .nested(w -> w.eq("status", ImportJobStatusEnum.RUNNING.getValue())
+                            .and(h -> h.isNull("heartbeatTime").or().lt("heartbeatTime", staleBefore))));
+            queryWrapper.orderByAsc("id");
+            queryWrapper.last("LIMIT " + RESUME_BATCH_SIZE);
+            List<QuestionImportJob> jobs = questionImportJobMapper.selectList(queryWrapper);
+            for (QuestionImportJob job : jobs) {
+                if (!hasCapacity()) {
+                    break;
+                }
+                log.info("恢复导入任务, jobId={}", job.getId());
+                submit(job.getId());
+            }
+        } catch (RejectedExecutionException e) {
+            log.debug("导入任务队列已满，剩余任务下次扫描时恢复");
+        } catch (Exception e) {
+            log.error("导入任务恢复扫描失败", e);
+        }
+    }
+
+    private void run(Long jobId) {
+        try {
+            // 认领失败说明任务已结束、已取消或正由其他实例执行
+            if (questionImportJobMapper.claim(jobId, owner, staleBefore()) == 0) {
+                log.debug("导入任务认领失败, jobId={}", jobId);
+                return;
+            }
+            QuestionImportJob job = questionImportJobMapper.selectById(jobId);
+            if (ImportJobTypeEnum.PARSE.getValue().equals(job.getJobType())) {
+                runParse(job);
+            } else {
+                runImport(job);
+            }
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // 取消或停机：取消的任务状态已是 cancelled，停机的任务等待恢复
+                log.info("导入任务被中断, jobId={}", jobId);
+                return;
+            }
+            log.error("导入任务执行失败, jobId={}", jobId, e);
+            // 业务异常的描述面向用户，其他异常的信息只记录到日志
+            String errorMessage = e instanceof BusinessException businessException
+                    ? businessException.getDescription() : "导入任务执行失败，请稍后重试";
+            finish(jobId, ImportJobStatusEnum.FAILED, null, errorMessage);
+        } finally {
+            localJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * 解析任务：解析暂存的 PDF，结果写回任务
+     */
+    private void runParse(QuestionImportJob job) {
+        File file = new File(job.getFilePath());
+        if (!file.isFile()) {
+            // 暂存文件在提交实例本地，其他实例接管时无法继续
+            finish(job.getId(), ImportJobStatusEnum.FAILED, null, "PDF暂存文件不存在，请重新上传");
+            return;
+        }
+        try {
+            PdfParseResultVO result = pdfParseService.parsePdf(file);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            finish(job.getId(), ImportJobStatusEnum.SUCCEEDED, JSONUtil.toJsonStr(result), null);
+        } finally {
+            // 停机中断时保留暂存文件，重启后继续解析
+            if (!Thread.currentThread().isInterrupted()) {
+                deleteFile(file);
+            }
+        }
+    }
+
+    /**
+     * 导入任务：从断点所在块开始，逐块导入并提交断点
+     */
+    private void runImport(QuestionImportJob job) {
+        List<ParsedQuestionDTO> questions = JSONUtil.toList(job.getPayload(), ParsedQuestionDTO.class);
+        List<ImportErrorVO> errors = StrUtil.isBlank(job.getErrors())
+                ? new ArrayList<>() : JSONUtil.toList(job.getErrors(), ImportErrorVO.class);
+        int chunkSize = Math.max(job.getChunkSize(), 1);
+        int chunkCount = (questions.size() + chunkSize - 1) / chunkSize;
+
+        for (int chunkIndex = job.getCommittedChunks(); chunkIndex < chunkCount; chunkIndex++) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            int from = chunkIndex * chunkSize;
+            int to = Math.min(from + chunkSize, questions.size());
+            int index = chunkIndex;
+            List<ImportErrorVO> committedErrors = transactionTemplate.execute(status -> {
+                ImportChunkResultDTO chunkResult = questionImportService.importChunk(
+                        job.getQuestionBankId(), questions.subList(from, to), from, job.getUserId());
+                List<ImportErrorVO> mergedErrors = new ArrayList<>(errors);
+                chunkResult.getErrors().stream()
+                        .limit(Math.max(MAX_ERRORS - mergedErrors.size(), 0))
+                        .forEach(mergedErrors::add);
+                int success = chunkResult.getImportedIds().size();
+                int rows = questionImportJobMapper.commitChunk(job.getId(), owner, index,
+                        to - from, success, to - from - success, JSONUtil.toJsonStr(mergedErrors));
+                if (rows == 0) {
+                    // 任务已取消或已被其他实例接管，放弃本块
+                    status.setRollbackOnly();
+                    return null;
+                }
+                return mergedErrors;
+            });
+            if (committedErrors == null) {
+                log.info("导入任务已取消或被接管，停止执行, jobId={}, chunkIndex={}", job.getId(), index);
+                return;
+            }
+            errors.clear();
+            errors.addAll(committedErrors);
+        }
+        finish(job.getId(), ImportJobStatusEnum.SUCCEEDED, null, null);
+        log.info("导入任务完成, jobId={}, totalCount={}", job.getId(), questions.size());
+    }
+
+    private void finish(Long jobId, ImportJobStatusEnum status, String result, String errorMessage) {
+        questionImportJobMapper.finish(jobId, owner, status.getValue(), result,
+                StrUtil.maxLength(errorMessage, MAX_ERROR_MESSAGE_LENGTH));
+    }
+
+    private Date staleBefore() {
+        return new Date(System.currentTimeMillis() - staleSeconds * 1000);
+    }
+
+    private void deleteFile(File file) {
+        if (file.exists() && !file.delete()) {
+            log.warn("删除PDF暂存文件失败, path={}", file.getAbsolutePath());
+        }
+    }
+}
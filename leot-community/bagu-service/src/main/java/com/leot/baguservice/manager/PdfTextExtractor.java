@@ -0,0 +1,132 @@
+package com.leot.baguservice.manager;
+
+import com.leot.leotcommon.GlobalReture.ErrorCode;
+import com.leot.leotcommon.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * PDF 文本按页段提取
+ * PDDocument 和 PDFTextStripper 都不是线程安全的，并行提取时每个页段任务各自打开文档句柄、各自创建 stripper，
+ * 结果按页段顺序拼接，与单线程逐页提取的文本完全一致，跨页段的题目由后续解析在完整文本上处理。
+ * 每个文档句柄的解析缓冲超出上限后写入临时文件，同时打开的句柄数受线程池大小限制。
+ */
+@Slf4j
+public class PdfTextExtractor {
+
+    /**
+     * 页段提取线程池（为 null 时单线程提取）
+     */
+    private final ExecutorService executor;
+
+    /**
+     * 每个页段的页数
+     */
+    private final int pagesPerRange;
+
+    /**
+     * 每个文档句柄的解析缓冲可使用的最大堆内存
+     */
+    private final long scratchMainMemoryBytes;
+
+    public PdfTextExtractor(ExecutorService executor, int pagesPerRange, long scratchMainMemoryBytes) {
+        this.executor = executor;
+        this.pagesPerRange = Math.max(pagesPerRange, 1);
+        this.scratchMainMemoryBytes = scratchMainMemoryBytes;
+    }
+
+    /**
+     * 提取 PDF 文件的全部文本
+     *
+     * @param file          PDF 文件
+     * @param maxTextLength 最大字符数，超过时抛出异常
+     * @return 按页序拼接的文本
+     */
+    public String extract(File file, int maxTextLength) throws IOException {
+        int pageCount;
+        try (PDDocument document = open(file)) {
+            pageCount = document.getNumberOfPages();
+            // 页数不超过一个页段时无需并行
+            if (executor == null || pageCount <= pagesPerRange) {
+                StringBuilder text = new StringBuilder();
+                for (int startPage = 1; startPage <= pageCount; startPage += pagesPerRange) {
+                    text.append(stripRange(document, startPage, endPageOf(startPage, pageCount)));
+                    checkLength(text, maxTextLength);
+                }
+                return text.toString();
+            }
+        }
+        return extractParallel(file, pageCount, maxTextLength);
+    }
+
+    private String extractParallel(File file, int pageCount, int maxTextLength) throws IOException {
+        List<Future<String>> futures = new ArrayList<>();
+        for (int startPage = 1; startPage <= pageCount; startPage += pagesPerRange) {
+            int start = startPage;
+            int end = endPageOf(startPage, pageCount);
+            futures.add(executor.submit(() -> {
+                try (PDDocument document = open(file)) {
+                    return stripRange(document, start, end);
+                }
+            }));
+        }
+
+        StringBuilder text = new StringBuilder();
+        try {
+            // 按提交顺序拼接
+            for (Future<String> future : futures) {
+                text.append(future.get());
+                checkLength(text, maxTextLength);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF文本提取被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("PDF页段提取失败", cause);
+        } finally {
+            // 失败或超长时取消尚未完成的页段
+            futures.forEach(future -> future.cancel(true));
+        }
+        log.debug("PDF并行提取完成, pageCount={}, ranges={}", pageCount, futures.size());
+        return text.toString();
+    }
+
+    private PDDocument open(File file) throws IOException {
+        return Loader.loadPDF(new RandomAccessReadBufferedFile(file), null, null, null,
+                MemoryUsageSetting.setupMixed(scratchMainMemoryBytes).streamCache);
+    }
+
+    private String stripRange(PDDocument document, int startPage, int endPage) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setSortByPosition(true);
+        stripper.setStartPage(startPage);
+        stripper.setEndPage(endPage);
+        return stripper.getText(document);
+    }
+
+    private int endPageOf(int startPage, int pageCount) {
+        return Math.min(startPage + pagesPerRange - 1, pageCount);
+    }
+
+    private void checkLength(StringBuilder text, int maxTextLength) {
+        if (text.length() > maxTextLength) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "PDF文本内容过多，请拆分后再上传");
+        }
+    }
+}
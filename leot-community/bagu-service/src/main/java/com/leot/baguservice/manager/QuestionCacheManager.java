@@ -0,0 +1,206 @@
+package com.leot.baguservice.manager;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.RandomUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.leot.baguservice.domain.vo.CacheStatsVO;
+import com.leot.baguservice.domain.vo.QuestionVO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 题目详情二级缓存
+ * L1 为进程内 Caffeine 缓存，L2 为 Redis 缓存，缓存内容为不含当前用户状态的 QuestionVO
+ * 题目更新/删除时在事务提交后失效，并通过 Redis 频道通知其他实例清理本地缓存
+ */
+@Slf4j
+@Component
+public class QuestionCacheManager implements MessageListener {
+
+    /**
+     * Redis 缓存 key 前缀
+     */
+    private static final String CACHE_KEY_PREFIX = "bagu:question:detail:";
+
+    /**
+     * 本地缓存失效广播频道
+     */
+    private static final String EVICT_CHANNEL = "bagu:question:detail:evict";
+
+    /**
+     * Redis 过期时间随机抖动上限（秒），避免大量 key 同时过期
+     */
+    private static final int REDIS_TTL_JITTER_SECONDS = 60;
+
+    @Value("${bagu.cache.question.local-max-size:2000}")
+    private long localMaxSize;
+
+    @Value("${bagu.cache.question.local-ttl-seconds:60}")
+    private long localTtlSeconds;
+
+    @Value("${bagu.cache.question.redis-ttl-seconds:600}")
+    private long redisTtlSeconds;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private Cache<Long, QuestionVO> localCache;
+
+    private final LongAdder localHitCount = new LongAdder();
+
+    private final LongAdder redisHitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(EVICT_CHANNEL));
+        log.info("题目详情缓存初始化完成, localMaxSize={}, localTtl={}s, redisTtl={}s",
+                localMaxSize, localTtlSeconds, redisTtlSeconds);
+    }
+
+    /**
+     * 读取题目详情，依次查询本地缓存、Redis，均未命中时回源
+     * 同一实例内同一题目的并发回源会被合并为一次
+     *
+     * @param id     题目ID
+     * @param loader 回源加载函数（返回 null 表示不存在，不缓存）
+     * @return 题目视图对象副本，调用方可以自由修改
+     */
+    public QuestionVO get(Long id, Function<Long, QuestionVO> loader) {
+        boolean[] loaded = {false};
+        QuestionVO cached = localCache.get(id, key -> {
+            loaded[0] = true;
+            return loadFromRedisOrSource(key, loader);
+        });
+        if (!loaded[0]) {
+            localHitCount.increment();
+        }
+        return copy(cached);
+    }
+
+    /**
+     * 失效指定题目的缓存
+     * 处于事务中时延迟到事务提交后执行，避免并发读取把旧数据重新写回缓存
+     *
+     * @param id 题目ID
+     */
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(id);
+                }
+            });
+        } else {
+            doEvict(id);
+        }
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public CacheStatsVO getStats() {
+        long localHit = localHitCount.sum();
+        long redisHit = redisHitCount.sum();
+        long miss = missCount.sum();
+        long total = localHit + redisHit + miss;
+
+        CacheStatsVO stats = new CacheStatsVO();
+        stats.setName("questionDetail");
+        stats.setLocalHitCount(localHit);
+        stats.setRedisHitCount(redisHit);
+        stats.setMissCount(miss);
+        stats.setHitRate(total == 0 ? 0D : (double) (localHit + redisHit) / total);
+        stats.setLocalSize(localCache.estimatedSize());
+        return stats;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // 消息体可能带有序列化引号，统一去除
+        String idStr = StrUtil.strip(body, "\"");
+        if (StrUtil.isNumeric(idStr)) {
+            localCache.invalidate(Long.valueOf(idStr));
+        }
+    }
+
+    private QuestionVO loadFromRedisOrSource(Long id, Function<Long, QuestionVO> loader) {
+        String key = CACHE_KEY_PREFIX + id;
+        try {
+            String json = stringRedisTemplate.opsForValue().get(key);
+            if (StrUtil.isNotBlank(json)) {
+                redisHitCount.increment();
+                return JSONUtil.toBean(json, QuestionVO.class);
+            }
+        } catch (Exception e) {
+            log.warn("读取题目缓存失败, questionId={}, error={}", id, e.getMessage());
+        }
+
+        missCount.increment();
+        QuestionVO vo = loader.apply(id);
+        if (vo == null) {
+            return null;
+        }
+        try {
+            long ttl = redisTtlSeconds + RandomUtil.randomInt(REDIS_TTL_JITTER_SECONDS);
+            stringRedisTemplate.opsForValue().set(key, JSONUtil.toJsonStr(vo), ttl, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("写入题目缓存失败, questionId={}, error={}", id, e.getMessage());
+        }
+        return vo;
+    }
+
+    private void doEvict(Long id) {
+        localCache.invalidate(id);
+        try {
+            stringRedisTemplate.delete(CACHE_KEY_PREFIX + id);
+            stringRedisTemplate.convertAndSend(EVICT_CHANNEL, String.valueOf(id));
+        } catch (Exception e) {
+            log.warn("失效题目缓存失败, questionId={}, error={}", id, e.getMessage());
+        }
+    }
+
+    private QuestionVO copy(QuestionVO source) {
+        if (source == null) {
+            return null;
+        }
+        QuestionVO target = new QuestionVO();
+        BeanUtil.copyProperties(source, target);
+        if (source.getTags() != null) {
+            target.setTags(new ArrayList<>(source.getTags()));
+        }
+        return target;
+    }
+}
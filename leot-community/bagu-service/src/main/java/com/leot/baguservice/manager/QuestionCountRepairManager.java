@@ -0,0 +1,80 @@
+package com.leot.baguservice.manager;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.leot.baguservice.domain.pojo.QuestionBank;
+import com.leot.baguservice.mapper.QuestionBankMapper;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 题库题目数量修复
+ * question_bank.questionCount 由各关联变更操作在同一事务内增减维护，
+ * 手工改库或历史数据可能导致计数漂移，该任务定期按关联表重新计算并修正不一致的题库。
+ */
+@Slf4j
+@Component
+public class QuestionCountRepairManager {
+
+    /**
+     * 每批处理的题库数
+     */
+    private static final int REPAIR_BATCH_SIZE = 500;
+
+    @Resource
+    private QuestionBankMapper questionBankMapper;
+
+    /**
+     * 应用启动后异步修复一次（兼容新增计数列前的历史数据）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("question-count-repair").start(this::repair);
+    }
+
+    /**
+     * 定时修复
+     */
+    @Scheduled(cron = "${bagu.question-count.repair-cron:0 30 3 * * ?}")
+    public void scheduledRepair() {
+        repair();
+    }
+
+    /**
+     * 按 id 分批重新计算所有题库的题目数量
+     *
+     * @return 被修正的题库数
+     */
+    public synchronized int repair() {
+        long startTime = System.currentTimeMillis();
+        int repaired = 0;
+        try {
+            long lastId = 0L;
+            while (true) {
+                QueryWrapper<QuestionBank> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id");
+                queryWrapper.gt("id", lastId);
+                queryWrapper.orderByAsc("id");
+                queryWrapper.last("LIMIT " + REPAIR_BATCH_SIZE);
+                List<Long> ids = questionBankMapper.selectList(queryWrapper).stream()
+                        .map(QuestionBank::getId)
+                        .collect(Collectors.toList());
+                if (ids.isEmpty()) {
+                    break;
+                }
+                repaired += questionBankMapper.repairQuestionCount(ids);
+                lastId = ids.get(ids.size() - 1);
+            }
+            log.info("题库题目数量修复完成, repaired={}, cost={}ms", repaired, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("题库题目数量修复失败, error={}", e.getMessage());
+        }
+        return repaired;
+    }
+}
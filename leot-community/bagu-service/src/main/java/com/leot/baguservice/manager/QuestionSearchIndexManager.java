@@ -0,0 +1,372 @@
+package com.leot.baguservice.manager;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.leot.baguservice.domain.pojo.Question;
+import com.leot.baguservice.mapper.QuestionMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 题目全文检索索引
+ * 在进程内维护基于 Lucene 的倒排索引（CJK 二元分词），覆盖标题、内容、答案和标签。
+ * 启动后从数据库全量构建，题目增删改后在事务提交后增量更新，无需外部搜索集群。
+ * 每个实例各自维护索引：本实例更新后经 Redis 发布订阅通知其他实例按题目ID从数据库重新读取并更新。
+ * 写入文档后会按题目ID回查数据库，已删除的题目立即移出索引，避免全量构建或增量更新读到旧数据后
+ * 把并发删除的题目重新加回索引。
+ */
+@Slf4j
+@Component
+public class QuestionSearchIndexManager implements MessageListener {
+
+    private static final String SYNC_CHANNEL = "bagu:question:index:sync";
+
+    private static final String OP_UPSERT = "U";
+
+    private static final String OP_DELETE = "D";
+
+    private static final String FIELD_ID = "id";
+
+    private static final String FIELD_TITLE = "title";
+
+    private static final String FIELD_CONTENT = "content";
+
+    private static final String FIELD_ANSWER = "answer";
+
+    private static final String FIELD_TAGS = "tags";
+
+    /**
+     * 字段权重：标题 > 标签 > 内容 > 答案
+     */
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            FIELD_TITLE, 4.0f,
+            FIELD_TAGS, 2.0f,
+            FIELD_CONTENT, 1.0f,
+            FIELD_ANSWER, 0.5f
+    );
+
+    /**
+     * 全量构建时每批读取的题目数
+     */
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    /**
+     * 实例标识，用于忽略本实例发出的同步消息
+     */
+    private final String instanceId = IdUtil.fastSimpleUUID();
+
+    @Resource
+    private QuestionMapper questionMapper;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final Analyzer analyzer = new CJKAnalyzer();
+
+    private final Directory directory = new ByteBuffersDirectory();
+
+    private IndexWriter indexWriter;
+
+    private SearcherManager searcherManager;
+
+    /**
+     * 全量构建是否完成，未完成时调用方应回退到数据库查询
+     */
+    private volatile boolean ready = false;
+
+    @PostConstruct
+    public void init() throws IOException {
+        indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(indexWriter, null);
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(SYNC_CHANNEL));
+    }
+
+    /**
+     * 应用启动完成后异步全量构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("question-index-rebuild").start(this::rebuild);
+    }
+
+    /**
+     * 从数据库全量重建索引（按 id 分批读取）
+     */
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+        try {
+            indexWriter.deleteAll();
+            long lastId = 0L;
+            int total = 0;
+            while (true) {
+                QueryWrapper<Question> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id", "title", "content", "answer", "tags");
+                queryWrapper.gt("id", lastId);
+                queryWrapper.orderByAsc("id");
+                queryWrapper.last("LIMIT " + REBUILD_BATCH_SIZE);
+                List<Question> questions = questionMapper.selectList(queryWrapper);
+                if (CollUtil.isEmpty(questions)) {
+                    break;
+                }
+                // 使用 update 而不是 add，避免与构建期间的增量更新产生重复文档
+                indexQuestions(questions);
+                total += questions.size();
+                lastId = questions.get(questions.size() - 1).getId();
+            }
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+            ready = true;
+            log.info("题目全文索引构建完成, total={}, cost={}ms", total, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("题目全文索引构建失败", e);
+        }
+    }
+
+    /**
+     * 新增或更新题目索引（事务中调用时在提交后执行）
+     *
+     * @param questionId 题目ID
+     */
+    public void upsert(Long questionId) {
+        upsert(List.of(questionId));
+    }
+
+    /**
+     * 批量新增或更新题目索引（事务中调用时在提交后执行），并通知其他实例
+     *
+     * @param questionIds 题目ID列表
+     */
+    public void upsert(Collection<Long> questionIds) {
+        if (CollUtil.isEmpty(questionIds)) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(questionIds);
+        runAfterCommit(() -> {
+            applyUpsert(ids);
+            publish(OP_UPSERT, ids);
+        });
+    }
+
+    /**
+     * 删除题目索引（事务中调用时在提交后执行），并通知其他实例
+     *
+     * @param questionId 题目ID
+     */
+    public void delete(Long questionId) {
+        runAfterCommit(() -> {
+            applyDelete(List.of(questionId));
+            publish(OP_DELETE, List.of(questionId));
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // 消息格式：实例标识|操作|题目ID列表（逗号分隔），消息体可能带有序列化引号
+        String body = StrUtil.strip(new String(message.getBody(), StandardCharsets.UTF_8), "\"");
+        List<String> parts = StrUtil.split(body, '|');
+        if (parts.size() != 3 || instanceId.equals(parts.get(0))) {
+            return;
+        }
+        List<Long> ids = StrUtil.split(parts.get(2), ',').stream()
+                .filter(StrUtil::isNumeric)
+                .map(Long::valueOf)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (OP_UPSERT.equals(parts.get(1))) {
+            applyUpsert(ids);
+        } else if (OP_DELETE.equals(parts.get(1))) {
+            applyDelete(ids);
+        }
+    }
+
+    /**
+     * 按相关度检索题目ID
+     *
+     * @param keyword 关键词
+     * @param limit   最多返回条数
+     * @return 按相关度降序排列的题目ID
+     */
+    public List<Long> search(String keyword, int limit) {
+        List<Long> ids = new ArrayList<>();
+        if (!ready || StrUtil.isBlank(keyword)) {
+            return ids;
+        }
+        IndexSearcher searcher = null;
+        try {
+            MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                    FIELD_BOOSTS.keySet().toArray(new String[0]), analyzer, FIELD_BOOSTS);
+            Query query = parser.parse(QueryParser.escape(keyword.trim()));
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(query, limit);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                ids.add(Long.valueOf(searcher.storedFields().document(scoreDoc.doc).get(FIELD_ID)));
+            }
+        } catch (Exception e) {
+            log.warn("题目全文检索失败, keyword={}, error={}", keyword, e.getMessage());
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("释放索引搜索器失败", e);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 索引是否可用
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @PreDestroy
+    public void destroy() throws IOException {
+        if (searcherManager != null) {
+            searcherManager.close();
+        }
+        if (indexWriter != null) {
+            indexWriter.close();
+        }
+        directory.close();
+    }
+
+    private void applyUpsert(List<Long> ids) {
+        try {
+            indexQuestions(questionMapper.selectBatchIds(ids));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("更新题目索引失败, questionIds={}", ids, e);
+        }
+    }
+
+    private void applyDelete(List<Long> ids) {
+        try {
+            for (Long id : ids) {
+                indexWriter.deleteDocuments(new Term(FIELD_ID, String.valueOf(id)));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("删除题目索引失败, questionIds={}", ids, e);
+        }
+    }
+
+    /**
+     * 写入题目文档，再回查数据库移除其间已被删除的题目
+     * 并发删除若在回查之前提交，会被回查发现；若在回查之后提交，其提交后的删除操作晚于本次写入，同样会生效
+     */
+    private void indexQuestions(List<Question> questions) throws IOException {
+        if (CollUtil.isEmpty(questions)) {
+            return;
+        }
+        for (Question question : questions) {
+            indexWriter.updateDocument(new Term(FIELD_ID, String.valueOf(question.getId())), toDocument(question));
+        }
+        List<Long> ids = questions.stream().map(Question::getId).collect(Collectors.toList());
+        QueryWrapper<Question> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id");
+        queryWrapper.in("id", ids);
+        Set<Long> alive = questionMapper.selectList(queryWrapper).stream()
+                .map(Question::getId)
+                .collect(Collectors.toSet());
+        for (Long id : ids) {
+            if (!alive.contains(id)) {
+                indexWriter.deleteDocuments(new Term(FIELD_ID, String.valueOf(id)));
+            }
+        }
+    }
+
+    private void publish(String op, List<Long> ids) {
+        try {
+            stringRedisTemplate.convertAndSend(SYNC_CHANNEL, instanceId + "|" + op + "|" + CollUtil.join(ids, ","));
+        } catch (Exception e) {
+            log.warn("发布题目索引同步消息失败, op={}, questionIds={}, error={}", op, ids, e.getMessage());
+        }
+    }
+
+    private Document toDocument(Question question) {
+        Document document = new Document();
+        String id = String.valueOf(question.getId());
+        document.add(new StringField(FIELD_ID, id, Field.Store.NO));
+        document.add(new StoredField(FIELD_ID, id));
+        document.add(new TextField(FIELD_TITLE, StrUtil.nullToEmpty(question.getTitle()), Field.Store.NO));
+        document.add(new TextField(FIELD_CONTENT, StrUtil.nullToEmpty(question.getContent()), Field.Store.NO));
+        document.add(new TextField(FIELD_ANSWER, StrUtil.nullToEmpty(question.getAnswer()), Field.Store.NO));
+        document.add(new TextField(FIELD_TAGS, parseTags(question.getTags()), Field.Store.NO));
+        return document;
+    }
+
+    private String parseTags(String tagsJson) {
+        if (StrUtil.isBlank(tagsJson)) {
+            return "";
+        }
+        try {
+            return String.join(" ", JSONUtil.toList(tagsJson, String.class));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.leot.baguservice.manager;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.leot.baguservice.domain.pojo.QuestionFavour;
+import com.leot.baguservice.domain.pojo.QuestionThumb;
+import com.leot.baguservice.mapper.QuestionFavourMapper;
+import com.leot.baguservice.mapper.QuestionMapper;
+import com.leot.baguservice.mapper.QuestionThumbMapper;
+import com.leot.leotcommon.GlobalReture.ErrorCode;
+import com.leot.leotcommon.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 题目点赞/收藏状态管理
+ * 点赞/收藏状态保存在 Redis 中（每个题目一个用户ID集合），切换操作为一次 Lua 脚本调用，
+ * 不再在请求线程中读写数据库。每次切换后的最终状态记录到 Redis 待落库哈希中，
+ * 由后台任务定时批量写入 question_thumb/question_favour，并按实际影响行数汇总计数增量后批量更新题目计数
+ * （插入语句同时校验题目存在，期间被删除的题目不会写入关联记录）。
+ *
+ * 待落库哈希保存在 Redis 中，进程重启后会先重放上次未完成的批次，并按关联表重新计算这些题目的计数。
+ * 用户点赞/收藏状态查询以数据库为基础，叠加尚未落库的变更。
+ *
+ * 用户集合与加载标记同时设置过期时间（每次切换时续期），长期无人操作的题目过期后再次访问时从数据库重新加载；
+ * 题目删除时同时清除。落库锁在每个分块写入前续期，续期失败（锁已过期被其他实例取得）时停止本次落库。
+ */
+@Slf4j
+@Component
+public class ThumbFavourManager {
+
+    /**
+     * 切换脚本：集合中存在则移除，否则加入，并记录最终状态到待落库哈希
+     * 返回 1=已点赞/收藏，0=已取消，-1=该题目的集合尚未从数据库加载
+     */
+    private static final DefaultRedisScript<Long> TOGGLE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[3]) == 0 then return -1 end "
+                    + "redis.call('EXPIRE', KEYS[3], ARGV[3]) "
+                    + "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then "
+                    + "redis.call('SREM', KEYS[1], ARGV[1]) "
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[3]) "
+                    + "redis.call('HSET', KEYS[2], ARGV[2], '0') "
+                    + "return 0 "
+                    + "end "
+                    + "redis.call('SADD', KEYS[1], ARGV[1]) "
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[3]) "
+                    + "redis.call('HSET', KEYS[2], ARGV[2], '1') "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * 加载脚本：仅在集合未加载时写入数据库中的用户ID，避免覆盖加载之后发生的切换
+     * ARGV[1]=过期秒数，之后为用户ID
+     */
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return 0 end "
+                    + "redis.call('DEL', KEYS[1]) "
+                    + "for i = 2, #ARGV do redis.call('SADD', KEYS[1], ARGV[i]) end "
+                    + "if #ARGV > 1 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end "
+                    + "redis.call('SET', KEYS[2], '1', 'EX', ARGV[1]) "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * 释放锁脚本：只删除自己持有的锁
+     */
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    /**
+     * 续期锁脚本：只续期自己持有的锁
+     */
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('EXPIRE', KEYS[1], ARGV[2]) end return 0",
+            Long.class);
+
+    private static final String FLUSH_LOCK_KEY = "bagu:question:toggle:flush-lock";
+
+    private static final long FLUSH_LOCK_SECONDS = 60;
+
+    @Value("${bagu.toggle.batch-size:500}")
+    private int batchSize;
+
+    @Value("${bagu.toggle.members-ttl-seconds:604800}")
+    private long membersTtlSeconds;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @Resource
+    private QuestionMapper questionMapper;
+
+    @Resource
+    private QuestionThumbMapper questionThumbMapper;
+
+    @Resource
+    private QuestionFavourMapper questionFavourMapper;
+
+    /**
+     * 切换类型
+     */
+    @Getter
+    public enum ToggleType {
+        THUMB("thumb"),
+        FAVOUR("favour");
+
+        private final String value;
+
+        ToggleType(String value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * 切换点赞/收藏状态
+     *
+     * @param type 类型
+     * @param questionId 题目ID
+     * @param userId 用户ID
+     * @return 切换后的状态（true=已点赞/收藏，false=已取消）
+     */
+    public boolean toggle(ToggleType type, Long questionId, Long userId) {
+        List<String> keys = List.of(membersKey(type, questionId), pendingKey(type), loadedKey(type, questionId));
+        String field = questionId + ":" + userId;
+        String ttl = String.valueOf(membersTtlSeconds);
+        Long result = stringRedisTemplate.execute(TOGGLE_SCRIPT, keys, String.valueOf(userId), field, ttl);
+        if (result != null && result < 0) {
+            // 首次访问该题目（或集合已过期），从数据库加载后重试
+            loadMembers(type, questionId);
+            result = stringRedisTemplate.execute(TOGGLE_SCRIPT, keys, String.valueOf(userId), field, ttl);
+        }
+        if (result == null || result < 0) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "操作失败，请稍后重试");
+        }
+        return result == 1;
+    }
+
+    /**
+     * 清除题目的点赞/收藏用户集合（题目删除后调用）
+     *
+     * @param questionId 题目ID
+     */
+    public void removeQuestion(Long questionId) {
+        List<String> keys = new ArrayList<>();
+        for (ToggleType type : ToggleType.values()) {
+            keys.add(membersKey(type, questionId));
+            keys.add(loadedKey(type, questionId));
+        }
+        try {
+            stringRedisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.warn("清除题目点赞/收藏集合失败, questionId={}, error={}", questionId, e.getMessage());
+        }
+    }
+
+    /**
+     * 在数据库查询结果上叠加尚未落库的变更，得到用户当前已点赞/收藏的题目ID
+     *
+     * @param type 类型
+     * @param userId 用户ID
+     * @param questionIds 待判断的题目ID
+     * @param persistedIds 数据库中已点赞/收藏的题目ID
+     * @return 用户当前已点赞/收藏的题目ID
+     */
+    public Set<Long> applyPendingChanges(ToggleType type, Long userId, List<Long> questionIds, Set<Long> persistedIds) {
+        Set<Long> result = new HashSet<>(persistedIds);
+        if (userId == null || CollUtil.isEmpty(questionIds)) {
+            return result;
+        }
+        List<Object> fields = questionIds.stream()
+                .map(questionId -> (Object) (questionId + ":" + userId))
+                .collect(Collectors.toList());
+        try {
+            List<Object> pending = stringRedisTemplate.opsForHash().multiGet(pendingKey(type), fields);
+            List<Object> processing = stringRedisTemplate.opsForHash().multiGet(processingKey(type), fields);
+            for (int i = 0; i < questionIds.size(); i++) {
+                // 较新的待落库变更优先
+                Object state = pending.get(i) != null ? pending.get(i) : processing.get(i);
+                if ("1".equals(state)) {
+                    result.add(questionIds.get(i));
+                } else if ("0".equals(state)) {
+                    result.remove(questionIds.get(i));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("读取待落库的点赞/收藏变更失败, type={}, userId={}, error={}", type.getValue(), userId, e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * 定时将待落库变更批量写入数据库
+     */
+    @Scheduled(fixedDelayString = "${bagu.toggle.flush-interval-ms:2000}")
+    public void scheduledFlush() {
+        flush(false);
+    }
+
+    /**
+     * 启动后重放上次未完成的批次，并重新计算相关题目的计数
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        flush(true);
+    }
+
+    /**
+     * 应用关闭前刷新剩余变更
+     */
+    @PreDestroy
+    public void destroy() {
+        log.info("应用关闭，刷新剩余点赞/收藏变更");
+        flush(false);
+    }
+
+    /**
+     * 刷新所有类型的待落库变更（多实例间通过 Redis 锁互斥）
+     *
+     * @param reconcile 是否在重放残留批次后按关联表重新计算计数
+     */
+    public synchronized void flush(boolean reconcile) {
+        String lockValue = IdUtil.fastSimpleUUID();
+        try {
+            Boolean locked = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(FLUSH_LOCK_KEY, lockValue, FLUSH_LOCK_SECONDS, TimeUnit.SECONDS);
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("获取点赞/收藏落库锁失败, error={}", e.getMessage());
+            return;
+        }
+        try {
+            for (ToggleType type : ToggleType.values()) {
+                flushType(type, reconcile, lockValue);
+            }
+        } finally {
+            stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(FLUSH_LOCK_KEY), lockValue);
+        }
+    }
+
+    /**
+     * 续期落库锁，锁已不属于本实例时抛出异常终止本次落库（未完成的批次保留在处理中哈希，下次重放）
+     */
+    private void renewLock(String lockValue) {
+        Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(FLUSH_LOCK_KEY),
+                lockValue, String.valueOf(FLUSH_LOCK_SECONDS));
+        if (renewed == null || renewed == 0) {
+            throw new IllegalStateException("点赞/收藏落库锁已失效");
+        }
+    }
+
+    private void flushType(ToggleType type, boolean reconcile, String lockValue) {
+        String pendingKey = pendingKey(type);
+        String processingKey = processingKey(type);
+        try {
+            // 存在处理中的批次说明上次落库未完成（进程退出或写库失败），先重放该批次
+            boolean leftover = Boolean.TRUE.equals(stringRedisTemplate.hasKey(processingKey));
+            if (leftover) {
+                Set<Long> questionIds = persistBatch(type, processingKey, lockValue);
+                stringRedisTemplate.delete(processingKey);
+                if (reconcile) {
+                    reconcileCounters(type, questionIds);
+                }
+            }
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(pendingKey))) {
+                renewLock(lockValue);
+                stringRedisTemplate.rename(pendingKey, processingKey);
+                persistBatch(type, processingKey, lockValue);
+                stringRedisTemplate.delete(processingKey);
+            }
+        } catch (Exception e) {
+            // 处理中的批次保留在 Redis 中，下次刷新时重试（写库按影响行数计算增量，重放是幂等的）
+            log.error("点赞/收藏落库失败, type={}, error={}", type.getValue(), e.getMessage());
+        }
+    }
+
+    /**
+     * 分批写入一个批次的变更
+     *
+     * @return 涉及的题目ID
+     */
+    private Set<Long> persistBatch(ToggleType type, String processingKey, String lockValue) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(processingKey);
+        Set<Long> questionIds = new LinkedHashSet<>();
+        List<Map.Entry<Object, Object>> chunk = new ArrayList<>();
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            chunk.add(entry);
+            if (chunk.size() >= batchSize) {
+                renewLock(lockValue);
+                questionIds.addAll(persistChunk(type, chunk));
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            renewLock(lockValue);
+            questionIds.addAll(persistChunk(type, chunk));
+        }
+        log.debug("点赞/收藏落库完成, type={}, size={}", type.getValue(), entries.size());
+        return questionIds;
+    }
+
+    /**
+     * 在一个事务内写入关联记录，并按实际影响行数批量更新题目计数
+     */
+    private Set<Long> persistChunk(ToggleType type, List<Map.Entry<Object, Object>> chunk) {
+        Map<Long, Long> deltas = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Map.Entry<Object, Object> entry : chunk) {
+                String[] parts = StrUtil.splitToArray(String.valueOf(entry.getKey()), ':');
+                if (parts.length != 2 || !StrUtil.isNumeric(parts[0]) || !StrUtil.isNumeric(parts[1])) {
+                    continue;
+                }
+                Long questionId = Long.valueOf(parts[0]);
+                Long userId = Long.valueOf(parts[1]);
+                boolean active = "1".equals(entry.getValue());
+                int affected = active ? insertRelation(type, questionId, userId) : deleteRelation(type, questionId, userId);
+                deltas.merge(questionId, active ? (long) affected : -(long) affected, Long::sum);
+            }
+            deltas.values().removeIf(delta -> delta == 0);
+            if (!deltas.isEmpty()) {
+                if (type == ToggleType.THUMB) {
+                    questionMapper.batchIncrementThumbNum(deltas);
+                } else {
+                    questionMapper.batchIncrementFavourNum(deltas);
+                }
+            }
+        });
+        return deltas.keySet();
+    }
+
+    /**
+     * 按关联表重新计算题目计数
+     */
+    private void reconcileCounters(ToggleType type, Collection<Long> questionIds) {
+        if (CollUtil.isEmpty(questionIds)) {
+            return;
+        }
+        for (List<Long> ids : CollUtil.split(questionIds, batchSize)) {
+            if (type == ToggleType.THUMB) {
+                questionMapper.reconcileThumbNum(ids);
+            } else {
+                questionMapper.reconcileFavourNum(ids);
+            }
+        }
+        log.info("重新计算题目计数完成, type={}, size={}", type.getValue(), questionIds.size());
+    }
+
+    private int insertRelation(ToggleType type, Long questionId, Long userId) {
+        return type == ToggleType.THUMB
+                ? questionThumbMapper.insertIgnore(questionId, userId)
+                : questionFavourMapper.insertIgnore(questionId, userId);
+    }
+
+    private int deleteRelation(ToggleType type, Long questionId, Long userId) {
+        return type == ToggleType.THUMB
+                ? questionThumbMapper.deleteByQuestionIdAndUserId(questionId, userId)
+                : questionFavourMapper.deleteByQuestionIdAndUserId(questionId, userId);
+    }
+
+    /**
+     * 从数据库加载题目的点赞/收藏用户集合
+     */
+    private void loadMembers(ToggleType type, Long questionId) {
+        List<Long> userIds;
+        if (type == ToggleType.THUMB) {
+            QueryWrapper<QuestionThumb> wrapper = new QueryWrapper<>();
+            wrapper.select("userId");
+            wrapper.eq("questionId", questionId);
+            userIds = questionThumbMapper.selectList(wrapper).stream()
+                    .map(QuestionThumb::getUserId)
+                    .collect(Collectors.toList());
+        } else {
+            QueryWrapper<QuestionFavour> wrapper = new QueryWrapper<>();
+            wrapper.select("userId");
+            wrapper.eq("questionId", questionId);
+            userIds = questionFavourMapper.selectList(wrapper).stream()
+                    .map(QuestionFavour::getUserId)
+                    .collect(Collectors.toList());
+        }
+        List<String> args = new ArrayList<>(userIds.size() + 1);
+        args.add(String.valueOf(membersTtlSeconds));
+        userIds.forEach(userId -> args.add(String.valueOf(userId)));
+        stringRedisTemplate.execute(LOAD_SCRIPT, List.of(membersKey(type, questionId), loadedKey(type, questionId)), args.toArray());
+    }
+
+    private String membersKey(ToggleType type, Long questionId) {
+        return "bagu:question:" + type.getValue() + ":users:" + questionId;
+    }
+
+    private String loadedKey(ToggleType type, Long questionId) {
+        return "bagu:question:" + type.getValue() + ":loaded:" + questionId;
+    }
+
+    private String pendingKey(ToggleType type) {
+        return "bagu:question:" + type.getValue() + ":pending";
+    }
+
+    private String processingKey(ToggleType type) {
+        return "bagu:question:" + type.getValue() + ":processing";
+    }
+}
@@ -0,0 +1,213 @@
+package com.leot.baguservice.manager;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import com.leot.baguservice.mapper.QuestionBankMapper;
+import com.leot.baguservice.mapper.QuestionMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 独立访客计数
+ * 每个题目/题库在 Redis 中维护一个 HyperLogLog（PFADD/PFCOUNT，每个键最多约 12KB，标准误差约 0.81%），
+ * 同一访客重复浏览不会重复计数。访客标识先在内存中按ID去重聚合，定时以管道批量写入 Redis，
+ * 再读取估算值批量写回 uniqueViewNum 列，与 viewNum 一起随详情返回。
+ */
+@Slf4j
+@Component
+public class UniqueViewManager {
+
+    private static final String QUESTION_KEY_PREFIX = "bagu:question:uv:";
+
+    private static final String QUESTION_BANK_KEY_PREFIX = "bagu:question-bank:uv:";
+
+    private final VisitorBuffer questionVisitors = new VisitorBuffer();
+
+    private final VisitorBuffer questionBankVisitors = new VisitorBuffer();
+
+    @Value("${bagu.unique-view.batch-size:500}")
+    private int batchSize;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private QuestionMapper questionMapper;
+
+    @Resource
+    private QuestionBankMapper questionBankMapper;
+
+    /**
+     * 记录题目访客
+     *
+     * @param questionId 题目ID
+     * @param visitorKey 访客标识（登录用户ID或客户端IP）
+     */
+    public void recordQuestionVisitor(Long questionId, String visitorKey) {
+        questionVisitors.add(questionId, visitorKey);
+    }
+
+    /**
+     * 记录题库访客
+     *
+     * @param questionBankId 题库ID
+     * @param visitorKey 访客标识（登录用户ID或客户端IP）
+     */
+    public void recordQuestionBankVisitor(Long questionBankId, String visitorKey) {
+        questionBankVisitors.add(questionBankId, visitorKey);
+    }
+
+    /**
+     * 读取题目当前的独立访客估算值
+     * 详情 VO 来自缓存，其中的 uniqueViewNum 可能是缓存写入时的旧值，因此直接 PFCOUNT 读取 Redis 中的最新估算值
+     * （尚未合并到 Redis 的访客会在下一次刷新后计入）
+     *
+     * @param questionId 题目ID
+     * @param fallback   Redis 不可用或尚无访客记录时返回的值
+     * @return 独立访客数
+     */
+    public Integer getQuestionUniqueViewNum(Long questionId, Integer fallback) {
+        try {
+            Long count = stringRedisTemplate.opsForHyperLogLog().size(QUESTION_KEY_PREFIX + questionId);
+            if (count != null && count > 0) {
+                return count.intValue();
+            }
+        } catch (Exception e) {
+            log.warn("读取独立访客失败, questionId={}, error={}", questionId, e.getMessage());
+        }
+        return fallback;
+    }
+
+    /**
+     * 定时合并访客到 Redis 并回写估算值
+     */
+    @Scheduled(fixedDelayString = "${bagu.unique-view.flush-interval-ms:10000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 应用关闭前刷新剩余访客
+     */
+    @PreDestroy
+    public void destroy() {
+        flush();
+    }
+
+    /**
+     * 刷新所有缓冲的访客
+     */
+    public synchronized void flush() {
+        flushBuffer("question", questionVisitors, QUESTION_KEY_PREFIX, questionMapper::batchUpdateUniqueViewNum);
+        flushBuffer("questionBank", questionBankVisitors, QUESTION_BANK_KEY_PREFIX,
+                questionBankMapper::batchUpdateUniqueViewNum);
+    }
+
+    private void flushBuffer(String name, VisitorBuffer buffer, String keyPrefix, Consumer<Map<Long, Long>> writer) {
+        Map<Long, Set<String>> visitors = buffer.drain();
+        if (CollUtil.isEmpty(visitors)) {
+            return;
+        }
+        List<Map.Entry<Long, Set<String>>> entries = new ArrayList<>(visitors.entrySet());
+        for (List<Map.Entry<Long, Set<String>>> batch : CollUtil.split(entries, batchSize)) {
+            Map<Long, Long> counts;
+            try {
+                // 管道批量 PFADD，再批量 PFCOUNT 读取估算值
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                    for (Map.Entry<Long, Set<String>> entry : batch) {
+                        stringConnection.pfAdd(keyPrefix + entry.getKey(), entry.getValue().toArray(new String[0]));
+                    }
+                    return null;
+                });
+                List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                    for (Map.Entry<Long, Set<String>> entry : batch) {
+                        stringConnection.pfCount(keyPrefix + entry.getKey());
+                    }
+                    return null;
+                });
+                counts = new HashMap<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    if (results.get(i) instanceof Long count) {
+                        counts.put(batch.get(i).getKey(), count);
+                    }
+                }
+            } catch (Exception e) {
+                // Redis 写入失败时放回缓冲区（PFADD 幂等，重复写入不影响结果）
+                log.warn("独立访客写入失败, counter={}, size={}, error={}", name, batch.size(), e.getMessage());
+                batch.forEach(entry -> buffer.restore(entry.getKey(), entry.getValue()));
+                continue;
+            }
+            try {
+                if (!counts.isEmpty()) {
+                    writer.accept(counts);
+                }
+            } catch (Exception e) {
+                // 访客已合并到 Redis，下次该ID有新访客时会重新回写估算值
+                log.error("独立访客落库失败, counter={}, size={}, error={}", name, counts.size(), e.getMessage());
+            }
+        }
+        log.debug("独立访客刷新完成, counter={}, size={}", name, visitors.size());
+    }
+
+    /**
+     * 访客缓冲区，按ID对访客标识去重
+     * 与 CounterBuffer 相同，写入持有读锁、取出持有写锁，换下的缓冲区不会再有写入
+     */
+    private static class VisitorBuffer {
+
+        private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+        private ConcurrentHashMap<Long, Set<String>> current = new ConcurrentHashMap<>();
+
+        void add(Long id, String visitorKey) {
+            if (id == null || StrUtil.isBlank(visitorKey)) {
+                return;
+            }
+            swapLock.readLock().lock();
+            try {
+                current.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(visitorKey);
+            } finally {
+                swapLock.readLock().unlock();
+            }
+        }
+
+        void restore(Long id, Set<String> visitorKeys) {
+            swapLock.readLock().lock();
+            try {
+                current.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).addAll(visitorKeys);
+            } finally {
+                swapLock.readLock().unlock();
+            }
+        }
+
+        Map<Long, Set<String>> drain() {
+            swapLock.writeLock().lock();
+            try {
+                Map<Long, Set<String>> snapshot = current;
+                current = new ConcurrentHashMap<>();
+                return snapshot;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+}
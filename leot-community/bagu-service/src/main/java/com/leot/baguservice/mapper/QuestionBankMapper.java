@@ -3,6 +3,10 @@ package com.leot.baguservice.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.leot.baguservice.domain.pojo.QuestionBank;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * 针对表【question_bank(题库)】的数据库操作Mapper
@@ -10,4 +14,35 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface QuestionBankMapper extends BaseMapper<QuestionBank> {
 
+    /**
+     * 批量增加浏览量（单条 CASE 语句）
+     * @param deltas 题库ID -> 浏览量增量
+     */
+    void batchIncrementViewNum(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 批量设置独立访客数（单条 CASE 语句）
+     * @param values 题库ID -> 独立访客数
+     */
+    void batchUpdateUniqueViewNum(@Param("values") Map<Long, Long> values);
+
+    /**
+     * 更新题目数量（不会减到负数）
+     * @param id 题库ID
+     * @param delta 变化量（正数增加，负数减少）
+     */
+    void incrementQuestionCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * 批量更新题目数量（单条 CASE 语句，不会减到负数）
+     * @param deltas 题库ID -> 题目数量变化量
+     */
+    void batchIncrementQuestionCount(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 按关联表重新计算题目数量（只更新与实际数量不一致的题库）
+     * @param ids 题库ID列表
+     * @return 被修正的题库数
+     */
+    int repairQuestionCount(@Param("ids") Collection<Long> ids);
 }
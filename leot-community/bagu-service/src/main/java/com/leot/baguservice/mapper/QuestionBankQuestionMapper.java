@@ -3,6 +3,9 @@ package com.leot.baguservice.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.leot.baguservice.domain.pojo.QuestionBankQuestion;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 针对表【question_bank_question(题库题目关联)】的数据库操作Mapper
@@ -10,4 +13,10 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface QuestionBankQuestionMapper extends BaseMapper<QuestionBankQuestion> {
 
+    /**
+     * 批量插入题库题目关联（单条多行 INSERT）
+     * @param relations 关联列表（不能为空）
+     * @return 插入行数
+     */
+    int insertBatch(@Param("relations") List<QuestionBankQuestion> relations);
 }
@@ -1,10 +1,12 @@
 package com.leot.baguservice.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.leot.baguservice.domain.dto.CommentReplyCountDTO;
 import com.leot.baguservice.domain.pojo.QuestionComment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,11 +16,26 @@ import java.util.List;
 public interface QuestionCommentMapper extends BaseMapper<QuestionComment> {
 
     /**
-     * 获取题目下的所有评论（包含回复）
-     * @param questionId 题目ID
-     * @return 评论列表
+     * 批量获取每个根评论下最早的若干条回复
+     * @param rootIds 根评论ID列表
+     * @param limit 每个根评论返回的回复数量
+     * @return 回复列表（按根评论、时间升序）
      */
-    List<QuestionComment> selectCommentsByQuestionId(@Param("questionId") Long questionId);
+    List<QuestionComment> selectFirstReplies(@Param("rootIds") Collection<Long> rootIds, @Param("limit") int limit);
+
+    /**
+     * 批量统计根评论的回复数
+     * @param rootIds 根评论ID列表
+     * @return 根评论ID及回复数（没有回复的根评论不在结果中）
+     */
+    List<CommentReplyCountDTO> countReplies(@Param("rootIds") Collection<Long> rootIds);
+
+    /**
+     * 获取评论在树中的位置（不过滤逻辑删除，用于沿父评论链查找根评论、定位评论所属题目）
+     * @param id 评论ID
+     * @return 仅含 id、questionId、parentId、rootId 的评论，不存在时返回 null
+     */
+    QuestionComment selectTreeNode(@Param("id") Long id);
 
     /**
      * 更新评论点赞数
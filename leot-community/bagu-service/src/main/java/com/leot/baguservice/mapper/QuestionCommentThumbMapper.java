@@ -3,6 +3,10 @@ package com.leot.baguservice.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.leot.baguservice.domain.pojo.QuestionCommentThumb;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 针对表【question_comment_thumb(评论点赞)】的数据库操作Mapper
@@ -10,4 +14,28 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface QuestionCommentThumbMapper extends BaseMapper<QuestionCommentThumb> {
 
+    /**
+     * 添加点赞记录（评论不存在或已删除时不插入，记录已存在时忽略，依赖唯一索引 commentId, userId）
+     * @param commentId 评论ID
+     * @param userId 用户ID
+     * @return 影响行数（1=新增，0=已存在或评论不存在）
+     */
+    int insertIgnore(@Param("commentId") Long commentId, @Param("userId") Long userId);
+
+    /**
+     * 删除点赞记录（评论不存在或已删除时不删除）
+     * @param commentId 评论ID
+     * @param userId 用户ID
+     * @return 影响行数（1=已删除，0=记录不存在或评论不存在）
+     */
+    int deleteByCommentIdAndUserId(@Param("commentId") Long commentId, @Param("userId") Long userId);
+
+    /**
+     * 批量查询用户在指定评论中已点赞的评论ID（一次 IN 查询，走唯一索引 commentId, userId）
+     * @param userId 用户ID
+     * @param commentIds 评论ID列表（不能为空）
+     * @return 已点赞的评论ID列表
+     */
+    List<Long> selectThumbedCommentIds(@Param("userId") Long userId,
+                                       @Param("commentIds") Collection<Long> commentIds);
 }
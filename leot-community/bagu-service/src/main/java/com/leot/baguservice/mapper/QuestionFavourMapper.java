@@ -3,6 +3,7 @@ package com.leot.baguservice.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.leot.baguservice.domain.pojo.QuestionFavour;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * 针对表【question_favour(题目收藏)】的数据库操作Mapper
@@ -10,4 +11,19 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface QuestionFavourMapper extends BaseMapper<QuestionFavour> {
 
+    /**
+     * 添加收藏记录（题目不存在或已删除时不插入，记录已存在时忽略，依赖唯一索引 questionId, userId）
+     * @param questionId 题目ID
+     * @param userId 用户ID
+     * @return 影响行数（1=新增，0=已存在或题目不存在）
+     */
+    int insertIgnore(@Param("questionId") Long questionId, @Param("userId") Long userId);
+
+    /**
+     * 删除收藏记录
+     * @param questionId 题目ID
+     * @param userId 用户ID
+     * @return 影响行数（1=已删除，0=记录不存在）
+     */
+    int deleteByQuestionIdAndUserId(@Param("questionId") Long questionId, @Param("userId") Long userId);
 }
@@ -0,0 +1,67 @@
+package com.leot.baguservice.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.leot.baguservice.domain.pojo.QuestionImportJob;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * 针对表【question_import_job(题目导入任务)】的数据库操作Mapper
+ */
+@Mapper
+public interface QuestionImportJobMapper extends BaseMapper<QuestionImportJob> {
+
+    /**
+     * 认领任务：排队中的任务，或心跳超时的执行中任务（执行实例已退出）
+     * @param id 任务ID
+     * @param owner 当前实例标识
+     * @param staleBefore 心跳早于该时间视为超时
+     * @return 影响行数（1=认领成功，0=已被其他实例认领或已结束）
+     */
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("staleBefore") Date staleBefore);
+
+    /**
+     * 刷新执行中任务的心跳
+     * @param ids 任务ID列表
+     * @param owner 当前实例标识
+     * @return 影响行数
+     */
+    int heartbeat(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    /**
+     * 提交一个导入块的进度（与该块的题目写入处于同一事务，断点与数据一起提交）
+     * @param id 任务ID
+     * @param owner 当前实例标识
+     * @param chunkIndex 当前块序号（须等于已提交块数）
+     * @param processed 本块处理数
+     * @param success 本块成功数
+     * @param fail 本块失败数
+     * @param errors 累计的逐题错误 JSON
+     * @return 影响行数（0=任务已取消或已被其他实例接管）
+     */
+    int commitChunk(@Param("id") Long id, @Param("owner") String owner, @Param("chunkIndex") int chunkIndex,
+                    @Param("processed") int processed, @Param("success") int success, @Param("fail") int fail,
+                    @Param("errors") String errors);
+
+    /**
+     * 结束执行中的任务
+     * @param id 任务ID
+     * @param owner 当前实例标识
+     * @param status 结束状态
+     * @param result 解析结果 JSON（可为null）
+     * @param errorMessage 失败原因（可为null）
+     * @return 影响行数（0=任务已取消或已被其他实例接管）
+     */
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("status") String status,
+               @Param("result") String result, @Param("errorMessage") String errorMessage);
+
+    /**
+     * 取消未结束的任务
+     * @param id 任务ID
+     * @return 影响行数（0=任务已结束）
+     */
+    int cancel(@Param("id") Long id);
+}
@@ -5,6 +5,10 @@ import com.leot.baguservice.domain.pojo.Question;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 针对表【question(题目)】的数据库操作Mapper
  */
@@ -17,6 +21,32 @@ public interface QuestionMapper extends BaseMapper<Question> {
      */
     void incrementViewNum(@Param("id") Long id);
 
+    /**
+     * 批量插入题目（单条多行 INSERT，自增主键回填到每个元素的 id）
+     * @param questions 题目列表（不能为空）
+     * @return 插入行数
+     */
+    int insertBatch(@Param("questions") List<Question> questions);
+
+    /**
+     * 批量增加浏览量（单条 CASE 语句）
+     * @param deltas 题目ID -> 浏览量增量
+     */
+    void batchIncrementViewNum(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 批量设置独立访客数（单条 CASE 语句）
+     * @param values 题目ID -> 独立访客数
+     */
+    void batchUpdateUniqueViewNum(@Param("values") Map<Long, Long> values);
+
+    /**
+     * 查询题库下的题目摘要（关联 question_bank_question，按创建时间降序，不含 content/answer）
+     * @param questionBankId 题库ID
+     * @return 题目列表
+     */
+    List<Question> selectListByBankId(@Param("questionBankId") Long questionBankId);
+
     /**
      * 更新点赞数
      * @param id 题目ID
@@ -30,4 +60,41 @@ public interface QuestionMapper extends BaseMapper<Question> {
      * @param delta 变化量（正数增加，负数减少）
      */
     void updateFavourNum(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * 批量更新点赞数（单条 CASE 语句）
+     * @param deltas 题目ID -> 点赞数增量
+     */
+    void batchIncrementThumbNum(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 批量更新收藏数（单条 CASE 语句）
+     * @param deltas 题目ID -> 收藏数增量
+     */
+    void batchIncrementFavourNum(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 批量更新评论数（单条 CASE 语句，结果不小于 0）
+     * @param deltas 题目ID -> 评论数增量
+     */
+    void batchIncrementCommentNum(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 按评论表重新计算评论数（只更新与实际不一致的题目）
+     * @param ids 题目ID列表
+     * @return 被修正的题目数
+     */
+    int repairCommentNum(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按点赞记录重新计算点赞数
+     * @param ids 题目ID列表
+     */
+    void reconcileThumbNum(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按收藏记录重新计算收藏数
+     * @param ids 题目ID列表
+     */
+    void reconcileFavourNum(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,36 @@
+package com.leot.baguservice.mapper;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.leot.baguservice.domain.pojo.Question;
+import com.leot.baguservice.domain.pojo.QuestionTag;
+import com.leot.baguservice.domain.vo.TagFacetVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 针对表【question_tag(题目标签关联)】的数据库操作Mapper
+ */
+@Mapper
+public interface QuestionTagMapper extends BaseMapper<QuestionTag> {
+
+    /**
+     * 批量插入题目标签（已存在的忽略）
+     * @param questionId 题目ID
+     * @param tagNames 标签列表
+     * @return 插入行数
+     */
+    int insertTags(@Param("questionId") Long questionId, @Param("tagNames") Collection<String> tagNames);
+
+    /**
+     * 统计满足条件的题目的标签分布
+     * @param ew 题目筛选条件（仅 WHERE 部分生效）
+     * @param limit 返回的标签数量上限
+     * @return 标签及对应题目数，按数量降序
+     */
+    List<TagFacetVO> countTagFacets(@Param(Constants.WRAPPER) Wrapper<Question> ew, @Param("limit") int limit);
+}
@@ -3,6 +3,7 @@ package com.leot.baguservice.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.leot.baguservice.domain.pojo.QuestionThumb;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * 针对表【question_thumb(题目点赞)】的数据库操作Mapper
@@ -10,4 +11,19 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface QuestionThumbMapper extends BaseMapper<QuestionThumb> {
 
+    /**
+     * 添加点赞记录（题目不存在或已删除时不插入，记录已存在时忽略，依赖唯一索引 questionId, userId）
+     * @param questionId 题目ID
+     * @param userId 用户ID
+     * @return 影响行数（1=新增，0=已存在或题目不存在）
+     */
+    int insertIgnore(@Param("questionId") Long questionId, @Param("userId") Long userId);
+
+    /**
+     * 删除点赞记录
+     * @param questionId 题目ID
+     * @param userId 用户ID
+     * @return 影响行数（1=已删除，0=记录不存在）
+     */
+    int deleteByQuestionIdAndUserId(@Param("questionId") Long questionId, @Param("userId") Long userId);
 }
@@ -3,6 +3,8 @@ package com.leot.baguservice.service;
 import com.leot.baguservice.domain.vo.PdfParseResultVO;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
+
 /**
  * PDF解析服务接口
  */
@@ -15,4 +17,19 @@ public interface PdfParseService {
      * @return 解析结果
      */
     PdfParseResultVO parsePdf(MultipartFile file);
+
+    /**
+     * 解析已保存到本地的PDF文件（异步解析任务使用）
+     *
+     * @param file PDF文件
+     * @return 解析结果
+     */
+    PdfParseResultVO parsePdf(File file);
+
+    /**
+     * 校验上传的PDF文件（类型、大小、后缀）
+     *
+     * @param file PDF文件
+     */
+    void validateFile(MultipartFile file);
 }
@@ -2,7 +2,7 @@ package com.leot.baguservice.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.leot.baguservice.domain.pojo.QuestionBankQuestion;
-import com.leot.baguservice.domain.vo.QuestionVO;
+import com.leot.baguservice.domain.vo.QuestionSummaryVO;
 
 import java.util.List;
 
@@ -42,7 +42,7 @@ public interface QuestionBankQuestionService extends IService<QuestionBankQuesti
      * @param questionBankId 题库ID
      * @return 题目视图对象列表
      */
-    List<QuestionVO> listQuestionByBankId(Long questionBankId);
+    List<QuestionSummaryVO> listQuestionByBankId(Long questionBankId);
 
     /**
      * 检查关联是否存在
@@ -37,11 +37,12 @@ public interface QuestionBankService extends IService<QuestionBank> {
     Boolean deleteQuestionBank(Long id);
 
     /**
-     * 根据ID获取题库详情（增加浏览量）
+     * 根据ID获取题库详情（增加浏览量和独立访客）
      * @param id 题库ID
+     * @param visitorKey 访客标识（为空时不计独立访客）
      * @return 题库视图对象
      */
-    QuestionBankVO getQuestionBankById(Long id);
+    QuestionBankVO getQuestionBankById(Long id, String visitorKey);
 
     /**
      * 分页查询题库列表
@@ -70,4 +71,10 @@ public interface QuestionBankService extends IService<QuestionBank> {
      * @param isAdd 是否为新增操作
      */
     void validateTitle(String title, boolean isAdd);
+
+    /**
+     * 按关联表重新计算题库题目数量
+     * @return 被修正的题库数
+     */
+    Integer repairQuestionCount();
 }
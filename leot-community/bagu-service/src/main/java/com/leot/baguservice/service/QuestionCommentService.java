@@ -2,12 +2,13 @@ package com.leot.baguservice.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.leot.baguservice.domain.dto.AddCommentDTO;
+import com.leot.baguservice.domain.dto.QueryCommentDTO;
+import com.leot.baguservice.domain.dto.QueryCommentReplyDTO;
 import com.leot.baguservice.domain.dto.ReplyCommentDTO;
 import com.leot.baguservice.domain.pojo.QuestionComment;
+import com.leot.baguservice.domain.vo.CursorPageVO;
 import com.leot.baguservice.domain.vo.QuestionCommentVO;
 
-import java.util.List;
-
 /**
  * 针对表【question_comment(题目评论)】的数据库操作Service
  */
@@ -39,11 +40,20 @@ public interface QuestionCommentService extends IService<QuestionComment> {
     Boolean deleteComment(Long commentId, Long userId, boolean isAdmin);
 
     /**
-     * 获取题目评论列表（树形结构）
-     * @param questionId 题目ID
-     * @return 评论列表（树形结构）
+     * 游标分页获取题目的顶级评论（每条附带回复数和最早的若干条回复）
+     * @param dto 查询参数
+     * @param loginUserId 当前登录用户ID（未登录为null，用于判断点赞状态）
+     * @return 游标分页结果
+     */
+    CursorPageVO<QuestionCommentVO> listRootComments(QueryCommentDTO dto, Long loginUserId);
+
+    /**
+     * 游标分页获取根评论下的回复（按时间升序）
+     * @param dto 查询参数
+     * @param loginUserId 当前登录用户ID（未登录为null，用于判断点赞状态）
+     * @return 游标分页结果
      */
-    List<QuestionCommentVO> listCommentByQuestionId(Long questionId);
+    CursorPageVO<QuestionCommentVO> listReplies(QueryCommentReplyDTO dto, Long loginUserId);
 
     /**
      * 点赞/取消点赞评论
@@ -0,0 +1,54 @@
+package com.leot.baguservice.service;
+
+import com.leot.baguservice.domain.dto.BatchImportDTO;
+import com.leot.baguservice.domain.vo.ImportJobVO;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 题目导入任务服务接口
+ */
+public interface QuestionImportJobService {
+
+    /**
+     * 提交 PDF 解析任务
+     *
+     * @param file   PDF文件
+     * @param userId 提交用户ID
+     * @return 任务ID
+     */
+    Long submitParseJob(MultipartFile file, Long userId);
+
+    /**
+     * 提交批量导入任务
+     *
+     * @param dto    批量导入请求参数
+     * @param userId 提交用户ID
+     * @return 任务ID
+     */
+    Long submitImportJob(BatchImportDTO dto, Long userId);
+
+    /**
+     * 查询任务进度
+     *
+     * @param jobId 任务ID
+     * @return 任务进度
+     */
+    ImportJobVO getJob(Long jobId);
+
+    /**
+     * 订阅任务进度（SSE），任务结束后关闭
+     *
+     * @param jobId 任务ID
+     * @return SSE 连接
+     */
+    SseEmitter subscribeJob(Long jobId);
+
+    /**
+     * 取消任务
+     *
+     * @param jobId 任务ID
+     * @return 是否取消成功（已结束的任务无法取消）
+     */
+    boolean cancelJob(Long jobId);
+}
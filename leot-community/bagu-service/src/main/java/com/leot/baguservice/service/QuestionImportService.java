@@ -1,8 +1,12 @@
 package com.leot.baguservice.service;
 
 import com.leot.baguservice.domain.dto.BatchImportDTO;
+import com.leot.baguservice.domain.dto.ImportChunkResultDTO;
+import com.leot.baguservice.domain.dto.ParsedQuestionDTO;
 import com.leot.baguservice.domain.vo.BatchImportResultVO;
 
+import java.util.List;
+
 /**
  * 题目导入服务接口
  */
@@ -15,4 +19,24 @@ public interface QuestionImportService {
      * @return 导入结果
      */
     BatchImportResultVO batchImport(BatchImportDTO dto);
+
+    /**
+     * 校验批量导入参数与目标题库
+     *
+     * @param dto 批量导入请求参数
+     */
+    void validateImport(BatchImportDTO dto);
+
+    /**
+     * 导入一块题目（加入调用方事务）
+     * 校验不通过的题目逐题记录；其余题目整块批量写入，写入失败时回滚本块写入并记录一条块级错误
+     * 同时累加题库题目数量，并在事务提交后更新全文索引
+     *
+     * @param questionBankId 题库ID
+     * @param questions      本块题目
+     * @param offset         本块第一题在整个导入列表中的序号
+     * @param userId         导入用户ID
+     * @return 本块导入结果
+     */
+    ImportChunkResultDTO importChunk(Long questionBankId, List<ParsedQuestionDTO> questions, int offset, Long userId);
 }
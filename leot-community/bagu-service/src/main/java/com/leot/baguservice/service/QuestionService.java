@@ -3,12 +3,17 @@ package com.leot.baguservice.service;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.leot.api.dto.UserCacheStatsDTO;
 import com.leot.baguservice.domain.dto.AddQuestionDTO;
 import com.leot.baguservice.domain.dto.QueryQuestionDTO;
 import com.leot.baguservice.domain.dto.SearchQuestionDTO;
 import com.leot.baguservice.domain.dto.UpdateQuestionDTO;
 import com.leot.baguservice.domain.pojo.Question;
+import com.leot.baguservice.domain.vo.CacheStatsVO;
+import com.leot.baguservice.domain.vo.CursorPageVO;
+import com.leot.baguservice.domain.vo.QuestionSummaryVO;
 import com.leot.baguservice.domain.vo.QuestionVO;
+import com.leot.baguservice.domain.vo.TagFacetVO;
 import com.leot.leotcommon.request.PageRequest;
 
 import java.util.List;
@@ -41,11 +46,31 @@ public interface QuestionService extends IService<Question> {
     Boolean deleteQuestion(Long id);
 
     /**
-     * 根据ID获取题目详情（增加浏览量）
+     * 根据ID获取题目详情（增加浏览量和独立访客）
      * @param id 题目ID
+     * @param visitorKey 访客标识（为空时不计独立访客）
      * @return 题目视图对象
      */
-    QuestionVO getQuestionById(Long id);
+    QuestionVO getQuestionById(Long id, String visitorKey);
+
+    /**
+     * 根据ID获取题目详情（只读，不计浏览量、独立访客和热度，用于列表中展开题目）
+     * @param id 题目ID
+     * @return 题目视图对象
+     */
+    QuestionVO getQuestionPreview(Long id);
+
+    /**
+     * 获取题目详情缓存统计信息
+     * @return 缓存命中/未命中统计
+     */
+    CacheStatsVO getQuestionCacheStats();
+
+    /**
+     * 获取用户信息本地缓存统计信息
+     * @return 命中/未命中/负缓存/远程加载统计
+     */
+    UserCacheStatsDTO getUserCacheStats();
 
 
     /**
@@ -53,14 +78,42 @@ public interface QuestionService extends IService<Question> {
      * @param dto 查询参数
      * @return 分页结果
      */
-    Page<QuestionVO> listQuestionByPage(QueryQuestionDTO dto);
+    Page<QuestionSummaryVO> listQuestionByPage(QueryQuestionDTO dto);
 
     /**
      * 搜索题目
      * @param dto 搜索参数
      * @return 分页结果
      */
-    Page<QuestionVO> searchQuestion(SearchQuestionDTO dto);
+    Page<QuestionSummaryVO> searchQuestion(SearchQuestionDTO dto);
+
+    /**
+     * 游标分页查询题目列表（不统计总数，适合深度翻页）
+     * @param dto 查询参数（cursor 为上一页返回的 nextCursor，首页为空）
+     * @return 游标分页结果
+     */
+    CursorPageVO<QuestionSummaryVO> listQuestionByCursor(QueryQuestionDTO dto);
+
+    /**
+     * 游标分页搜索题目（不统计总数，适合深度翻页）
+     * @param dto 搜索参数（cursor 为上一页返回的 nextCursor，首页为空）
+     * @return 游标分页结果
+     */
+    CursorPageVO<QuestionSummaryVO> searchQuestionByCursor(SearchQuestionDTO dto);
+
+    /**
+     * 按相关度搜索题目（全文索引，覆盖标题、内容、答案和标签）
+     * @param dto 搜索参数
+     * @return 按相关度排序的分页结果
+     */
+    Page<QuestionSummaryVO> searchQuestionByRelevance(SearchQuestionDTO dto);
+
+    /**
+     * 统计搜索结果的标签分布（分面）
+     * @param dto 搜索参数（分页参数不生效）
+     * @return 标签及对应题目数
+     */
+    List<TagFacetVO> searchTagFacets(SearchQuestionDTO dto);
 
     /**
      * 点赞/取消点赞题目
@@ -84,7 +137,14 @@ public interface QuestionService extends IService<Question> {
      * @param pageRequest 分页参数
      * @return 分页结果
      */
-    Page<QuestionVO> listFavourQuestion(Long userId, PageRequest pageRequest);
+    Page<QuestionSummaryVO> listFavourQuestion(Long userId, PageRequest pageRequest);
+
+    /**
+     * 按热度分页获取热门题目
+     * @param pageRequest 分页参数
+     * @return 分页结果（按热度从高到低）
+     */
+    Page<QuestionSummaryVO> listHotQuestion(PageRequest pageRequest);
 
     /**
      * 构建查询条件
@@ -130,12 +190,12 @@ public interface QuestionService extends IService<Question> {
     void validateTitle(String title, boolean isAdd);
 
     /**
-     * 批量转换 Question 列表为 QuestionVO 列表
+     * 批量转换 Question 列表为 QuestionSummaryVO 列表（列表接口使用）
      * 优化：批量获取用户信息，减少远程调用次数
      *
-     * @param questions 题目列表
+     * @param questions 题目列表（摘要列）
      * @param currentUserId 当前用户ID（用于判断点赞/收藏状态）
-     * @return QuestionVO 列表
+     * @return QuestionSummaryVO 列表
      */
-    List<QuestionVO> convertToVOList(List<Question> questions, Long currentUserId);
+    List<QuestionSummaryVO> convertToSummaryVOList(List<Question> questions, Long currentUserId);
 }
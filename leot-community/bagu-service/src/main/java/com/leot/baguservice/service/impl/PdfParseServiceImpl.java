@@ -2,21 +2,26 @@ package com.leot.baguservice.service.impl;
 
 import com.leot.baguservice.domain.dto.ParsedQuestionDTO;
 import com.leot.baguservice.domain.vo.PdfParseResultVO;
+import com.leot.baguservice.manager.PdfTextExtractor;
 import com.leot.baguservice.service.PdfParseService;
+import com.leot.baguservice.utils.QuestionTokenizer;
 import com.leot.leotcommon.GlobalReture.ErrorCode;
 import com.leot.leotcommon.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * PDF解析服务实现
@@ -36,42 +41,75 @@ public class PdfParseServiceImpl implements PdfParseService {
     private static final String PDF_CONTENT_TYPE = "application/pdf";
 
     /**
-     * 题目编号匹配模式
-     * 支持: "1."、"1、"、"Q1:"、"Q1："、"题目1"、"第1题"、"问题1"
+     * 解析时 PDFBox 缓冲区可使用的最大堆内存，超出部分写入临时文件：4MB
      */
-    private static final Pattern QUESTION_PATTERN = Pattern.compile(
-            "(?:^|\\n)\\s*(?:" +
-                    "(\\d+)[.、．]|" +                    // 1. 或 1、
-                    "[QqＱ](\\d+)[:：]|" +                // Q1: 或 Q1：
-                    "题目\\s*(\\d+)|" +                   // 题目1
-                    "第\\s*(\\d+)\\s*题|" +               // 第1题
-                    "问题\\s*(\\d+)" +                    // 问题1
-                    ")\\s*"
-    );
+    private static final long SCRATCH_MAIN_MEMORY_BYTES = 4 * 1024 * 1024;
 
     /**
-     * 答案标记匹配模式
-     * 支持: "答案:"、"答案："、"Answer:"、"A:"、"参考答案:"
+     * 提取文本的最大字符数，避免超大文件的文本撑满堆内存
      */
-    private static final Pattern ANSWER_PATTERN = Pattern.compile(
-            "(?:^|\\n)\\s*(?:答案|Answer|参考答案|[AaＡ])\\s*[:：]\\s*",
-            Pattern.CASE_INSENSITIVE
-    );
+    private static final int MAX_TEXT_LENGTH = 10 * 1024 * 1024;
+
+    /**
+     * 页段提取并行度（同时打开的文档句柄数）
+     */
+    @Value("${bagu.pdf.parallelism:4}")
+    private int parallelism;
+
+    /**
+     * 每个页段的页数
+     */
+    @Value("${bagu.pdf.pages-per-range:20}")
+    private int pagesPerRange;
+
+    private ExecutorService extractExecutor;
+
+    private PdfTextExtractor textExtractor;
+
+    @PostConstruct
+    public void init() {
+        // 文本提取是 CPU 密集型任务，使用固定大小的平台线程池，所有上传共享
+        extractExecutor = Executors.newFixedThreadPool(Math.max(parallelism, 1),
+                Thread.ofPlatform().name("pdf-extract-", 0).daemon(true).factory());
+        textExtractor = new PdfTextExtractor(extractExecutor, pagesPerRange, SCRATCH_MAIN_MEMORY_BYTES);
+        log.info("PDF解析服务初始化完成, parallelism={}, pagesPerRange={}", parallelism, pagesPerRange);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        extractExecutor.shutdownNow();
+    }
 
     @Override
     public PdfParseResultVO parsePdf(MultipartFile file) {
-        long startTime = System.currentTimeMillis();
-
         // 1. 校验文件
         validateFile(file);
 
-        // 2. 提取PDF文本
+        // 2. 上传内容先落到临时文件，再按文件解析
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("bagu-pdf-", ".pdf");
+            file.transferTo(tempFile);
+            return parsePdf(tempFile.toFile());
+        } catch (IOException e) {
+            log.error("PDF文件保存失败", e);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "PDF文件上传失败，请重试");
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    @Override
+    public PdfParseResultVO parsePdf(File file) {
+        long startTime = System.currentTimeMillis();
+
+        // 1. 提取PDF文本
         String pdfText = extractTextFromPdf(file);
 
-        // 3. 解析题目
+        // 2. 解析题目
         List<ParsedQuestionDTO> questions = parseQuestions(pdfText);
 
-        // 4. 构建返回结果
+        // 3. 构建返回结果
         PdfParseResultVO result = new PdfParseResultVO();
         result.setQuestions(questions);
         result.setTotalCount(questions.size());
@@ -81,10 +119,8 @@ public class PdfParseServiceImpl implements PdfParseService {
         return result;
     }
 
-    /**
-     * 校验上传的文件
-     */
-    private void validateFile(MultipartFile file) {
+    @Override
+    public void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "请选择要上传的PDF文件");
         }
@@ -109,12 +145,15 @@ public class PdfParseServiceImpl implements PdfParseService {
 
     /**
      * 从PDF文件中提取文本内容
+     * PDFBox 通过随机读取按需加载，解析缓冲超过上限时写入临时文件，
+     * 文本按页段并行提取后按页序拼接，堆内存占用不随文件大小增长
      */
-    private String extractTextFromPdf(MultipartFile file) {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setSortByPosition(true);
-            return stripper.getText(document);
+    private String extractTextFromPdf(File file) {
+        try {
+            long startTime = System.currentTimeMillis();
+            String text = textExtractor.extract(file, MAX_TEXT_LENGTH);
+            log.debug("PDF文本提取完成, textLength={}, 耗时{}ms", text.length(), System.currentTimeMillis() - startTime);
+            return text;
         } catch (IOException e) {
             log.error("PDF文件解析失败", e);
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "PDF文件解析失败，请确保文件未损坏");
@@ -122,147 +161,34 @@ public class PdfParseServiceImpl implements PdfParseService {
     }
 
     /**
-     * 从文本中解析题目列表
-     */
-    private List<ParsedQuestionDTO> parseQuestions(String text) {
-        List<ParsedQuestionDTO> questions = new ArrayList<>();
-
-        if (text == null || text.trim().isEmpty()) {
-            return questions;
-        }
-
-        // 查找所有题目的起始位置
-        Matcher matcher = QUESTION_PATTERN.matcher(text);
-        List<Integer> questionStarts = new ArrayList<>();
-
-        while (matcher.find()) {
-            questionStarts.add(matcher.start());
-        }
-
-        if (questionStarts.isEmpty()) {
-            // 如果没有找到题目编号，尝试将整个文本作为一道题目
-            ParsedQuestionDTO question = parseAsWholeQuestion(text);
-            if (question != null) {
-                questions.add(question);
-            }
-            return questions;
-        }
-
-        // 解析每道题目
-        for (int i = 0; i < questionStarts.size(); i++) {
-            int start = questionStarts.get(i);
-            int end = (i + 1 < questionStarts.size()) ? questionStarts.get(i + 1) : text.length();
-
-            String questionText = text.substring(start, end).trim();
-            ParsedQuestionDTO question = parseQuestionText(questionText);
-
-            if (question != null && isValidQuestion(question)) {
-                questions.add(question);
-            }
-        }
-
-        return questions;
-    }
-
-    /**
-     * 解析单道题目文本
-     */
-    private ParsedQuestionDTO parseQuestionText(String questionText) {
-        if (questionText == null || questionText.trim().isEmpty()) {
-            return null;
-        }
-
-        ParsedQuestionDTO question = new ParsedQuestionDTO();
-
-        // 移除题目编号前缀
-        String cleanText = QUESTION_PATTERN.matcher(questionText).replaceFirst("").trim();
-
-        // 查找答案分隔位置
-        Matcher answerMatcher = ANSWER_PATTERN.matcher(cleanText);
-
-        if (answerMatcher.find()) {
-            // 有答案标记，分离题目和答案
-            String titleAndContent = cleanText.substring(0, answerMatcher.start()).trim();
-            String answer = cleanText.substring(answerMatcher.end()).trim();
-
-            // 提取标题（第一行或第一句）
-            extractTitleAndContent(question, titleAndContent);
-            question.setAnswer(answer);
-        } else {
-            // 没有答案标记，整个作为题目内容
-            extractTitleAndContent(question, cleanText);
-            question.setAnswer("");
-        }
-
-        return question;
-    }
-
-    /**
-     * 提取标题和内容
+     * 删除临时文件
      */
-    private void extractTitleAndContent(ParsedQuestionDTO question, String text) {
-        if (text == null || text.trim().isEmpty()) {
-            question.setTitle("");
-            question.setContent("");
+    private void deleteTempFile(Path tempFile) {
+        if (tempFile == null) {
             return;
         }
-
-        // 按换行分割，第一行作为标题
-        String[] lines = text.split("\\n", 2);
-        String title = lines[0].trim();
-
-        // 如果标题太长，截取前100个字符
-        if (title.length() > 100) {
-            // 尝试在标点处截断
-            int cutIndex = findCutIndex(title, 100);
-            title = title.substring(0, cutIndex);
-        }
-
-        question.setTitle(title);
-
-        // 剩余部分作为内容
-        if (lines.length > 1) {
-            question.setContent(lines[1].trim());
-        } else {
-            question.setContent("");
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.warn("删除PDF临时文件失败, path={}, error={}", tempFile, e.getMessage());
         }
     }
 
     /**
-     * 查找合适的截断位置
+     * 从文本中解析题目列表（单遍扫描，按原文区间截取标题、内容、答案）
      */
-    private int findCutIndex(String text, int maxLength) {
-        // 在标点符号处截断
-        String punctuation = "。？！?!；;，,";
-        for (int i = Math.min(maxLength, text.length()) - 1; i >= maxLength / 2; i--) {
-            if (punctuation.indexOf(text.charAt(i)) >= 0) {
-                return i + 1;
-            }
+    private List<ParsedQuestionDTO> parseQuestions(String text) {
+        List<ParsedQuestionDTO> questions = new ArrayList<>();
+        if (text == null) {
+            return questions;
         }
-        return Math.min(maxLength, text.length());
-    }
-
-    /**
-     * 将整个文本作为一道题目解析
-     */
-    private ParsedQuestionDTO parseAsWholeQuestion(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            return null;
+        for (QuestionTokenizer.QuestionSpan span : QuestionTokenizer.tokenize(text)) {
+            ParsedQuestionDTO question = new ParsedQuestionDTO();
+            question.setTitle(span.title(text));
+            question.setContent(span.content(text));
+            question.setAnswer(span.answer(text));
+            questions.add(question);
         }
-
-        ParsedQuestionDTO question = new ParsedQuestionDTO();
-        extractTitleAndContent(question, text.trim());
-        question.setAnswer("");
-        return question;
-    }
-
-    /**
-     * 验证题目是否有效
-     */
-    private boolean isValidQuestion(ParsedQuestionDTO question) {
-        // 标题不能为空
-        return question != null &&
-                question.getTitle() != null &&
-                !question.getTitle().trim().isEmpty();
+        return questions;
     }
 }
@@ -7,7 +7,7 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.leot.baguservice.domain.pojo.Question;
 import com.leot.baguservice.domain.pojo.QuestionBank;
 import com.leot.baguservice.domain.pojo.QuestionBankQuestion;
-import com.leot.baguservice.domain.vo.QuestionVO;
+import com.leot.baguservice.domain.vo.QuestionSummaryVO;
 import com.leot.baguservice.mapper.QuestionBankMapper;
 import com.leot.baguservice.mapper.QuestionBankQuestionMapper;
 import com.leot.baguservice.mapper.QuestionMapper;
@@ -84,6 +84,9 @@ public class QuestionBankQuestionServiceImpl extends ServiceImpl<QuestionBankQue
         relation.setUpdateTime(new Date());
 
         boolean result = this.save(relation);
+        if (result) {
+            questionBankMapper.incrementQuestionCount(questionBankId, 1);
+        }
         log.info("添加题目到题库完成, questionBankId={}, questionId={}, result={}", questionBankId, questionId, result);
         return result;
     }
@@ -151,6 +154,7 @@ public class QuestionBankQuestionServiceImpl extends ServiceImpl<QuestionBankQue
 
         if (CollUtil.isNotEmpty(relations)) {
             this.saveBatch(relations);
+            questionBankMapper.incrementQuestionCount(questionBankId, relations.size());
         }
 
         log.info("批量添加题目到题库完成, questionBankId={}, addedCount={}", questionBankId, relations.size());
@@ -172,12 +176,15 @@ public class QuestionBankQuestionServiceImpl extends ServiceImpl<QuestionBankQue
         deleteWrapper.eq("questionId", questionId);
 
         int deleted = this.baseMapper.delete(deleteWrapper);
+        if (deleted > 0) {
+            questionBankMapper.incrementQuestionCount(questionBankId, -deleted);
+        }
         log.info("从题库移除题目完成, questionBankId={}, questionId={}, deleted={}", questionBankId, questionId, deleted);
         return deleted > 0;
     }
 
     @Override
-    public List<QuestionVO> listQuestionByBankId(Long questionBankId) {
+    public List<QuestionSummaryVO> listQuestionByBankId(Long questionBankId) {
         // 参数校验
         if (ObjUtil.isEmpty(questionBankId)) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "题库ID不能为空");
@@ -189,30 +196,14 @@ public class QuestionBankQuestionServiceImpl extends ServiceImpl<QuestionBankQue
             throw new BusinessException(ErrorCode.NO_FOUND, "题库不存在");
         }
 
-        // 查询关联的题目ID
-        QueryWrapper<QuestionBankQuestion> relationWrapper = new QueryWrapper<>();
-        relationWrapper.eq("questionBankId", questionBankId);
-        relationWrapper.select("questionId");
-        List<QuestionBankQuestion> relations = this.list(relationWrapper);
-
-        if (CollUtil.isEmpty(relations)) {
+        // 关联查询题库下的题目摘要（由数据库完成过滤和排序，不查询内容和答案）
+        List<Question> questions = questionMapper.selectListByBankId(questionBankId);
+        if (CollUtil.isEmpty(questions)) {
             return new ArrayList<>();
         }
 
-        List<Long> questionIds = relations.stream()
-                .map(QuestionBankQuestion::getQuestionId)
-                .collect(Collectors.toList());
-
-        // 查询题目信息
-        QueryWrapper<Question> questionWrapper = new QueryWrapper<>();
-        questionWrapper.in("id", questionIds);
-        questionWrapper.orderByDesc("createTime");
-        List<Question> questions = questionMapper.selectList(questionWrapper);
-
-        // 转换为VO
-        return questions.stream()
-                .map(questionService::convertToVO)
-                .collect(Collectors.toList());
+        // 批量转换为VO（用户信息一次远程调用）
+        return questionService.convertToSummaryVOList(questions, null);
     }
 
     @Override
@@ -4,7 +4,6 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.ObjUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
-import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.leot.baguservice.domain.dto.AddQuestionBankDTO;
@@ -13,6 +12,9 @@ import com.leot.baguservice.domain.dto.UpdateQuestionBankDTO;
 import com.leot.baguservice.domain.pojo.QuestionBank;
 import com.leot.baguservice.domain.pojo.QuestionBankQuestion;
 import com.leot.baguservice.domain.vo.QuestionBankVO;
+import com.leot.baguservice.manager.CounterManager;
+import com.leot.baguservice.manager.QuestionCountRepairManager;
+import com.leot.baguservice.manager.UniqueViewManager;
 import com.leot.baguservice.mapper.QuestionBankMapper;
 import com.leot.baguservice.mapper.QuestionBankQuestionMapper;
 import com.leot.baguservice.service.QuestionBankService;
@@ -38,6 +40,15 @@ public class QuestionBankServiceImpl extends ServiceImpl<QuestionBankMapper, Que
     @Resource
     private QuestionBankQuestionMapper questionBankQuestionMapper;
 
+    @Resource
+    private CounterManager counterManager;
+
+    @Resource
+    private UniqueViewManager uniqueViewManager;
+
+    @Resource
+    private QuestionCountRepairManager questionCountRepairManager;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long addQuestionBank(AddQuestionBankDTO dto, Long userId) {
@@ -121,6 +132,9 @@ public class QuestionBankServiceImpl extends ServiceImpl<QuestionBankMapper, Que
         QueryWrapper<QuestionBankQuestion> deleteWrapper = new QueryWrapper<>();
         deleteWrapper.eq("questionBankId", id);
         int deletedRelations = questionBankQuestionMapper.delete(deleteWrapper);
+        if (deletedRelations > 0) {
+            this.baseMapper.incrementQuestionCount(id, -deletedRelations);
+        }
         log.info("解除题库关联, questionBankId={}, deletedRelations={}", id, deletedRelations);
 
         // 逻辑删除题库
@@ -130,7 +144,7 @@ public class QuestionBankServiceImpl extends ServiceImpl<QuestionBankMapper, Que
     }
 
     @Override
-    public QuestionBankVO getQuestionBankById(Long id) {
+    public QuestionBankVO getQuestionBankById(Long id, String visitorKey) {
         // 参数校验
         if (ObjUtil.isEmpty(id)) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "题库ID不能为空");
@@ -142,8 +156,9 @@ public class QuestionBankServiceImpl extends ServiceImpl<QuestionBankMapper, Que
             throw new BusinessException(ErrorCode.NO_FOUND, "题库不存在");
         }
 
-        // 增加浏览量
+        // 增加浏览量和独立访客
         incrementViewNum(id);
+        uniqueViewManager.recordQuestionBankVisitor(id, visitorKey);
 
         // 转换为VO
         return convertToVO(questionBank);
@@ -212,15 +227,10 @@ public class QuestionBankServiceImpl extends ServiceImpl<QuestionBankMapper, Que
             return null;
         }
 
+        // 题目数量直接取冗余计数列，不再逐个题库查询关联表
         QuestionBankVO vo = new QuestionBankVO();
         BeanUtil.copyProperties(questionBank, vo);
 
-        // 查询题目数量
-        QueryWrapper<QuestionBankQuestion> countWrapper = new QueryWrapper<>();
-        countWrapper.eq("questionBankId", questionBank.getId());
-        Long questionCount = questionBankQuestionMapper.selectCount(countWrapper);
-        vo.setQuestionCount(questionCount.intValue());
-
         // TODO: 可以通过远程调用获取用户名称
         // vo.setUserName(userService.getUserById(questionBank.getUserId()).getUserName());
 
@@ -242,14 +252,16 @@ public class QuestionBankServiceImpl extends ServiceImpl<QuestionBankMapper, Que
         }
     }
 
+    @Override
+    public Integer repairQuestionCount() {
+        return questionCountRepairManager.repair();
+    }
+
     /**
-     * 增加浏览量
+     * 增加浏览量（内存聚合后定时批量落库）
      * @param id 题库ID
      */
     private void incrementViewNum(Long id) {
-        UpdateWrapper<QuestionBank> updateWrapper = new UpdateWrapper<>();
-        updateWrapper.eq("id", id);
-        updateWrapper.setSql("viewNum = viewNum + 1");
-        this.update(updateWrapper);
+        counterManager.incrQuestionBankView(id);
     }
 }
@@ -4,16 +4,26 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjUtil;
 import cn.hutool.core.util.StrUtil;
+import com.leot.api.cache.UserCacheManager;
+import com.leot.api.dto.UserDTO;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.leot.baguservice.domain.dto.AddCommentDTO;
+import com.leot.baguservice.domain.dto.QueryCommentDTO;
+import com.leot.baguservice.domain.dto.QueryCommentReplyDTO;
 import com.leot.baguservice.domain.dto.ReplyCommentDTO;
 import com.leot.baguservice.domain.pojo.QuestionComment;
 import com.leot.baguservice.domain.pojo.QuestionCommentThumb;
+import com.leot.baguservice.domain.vo.CursorPageVO;
 import com.leot.baguservice.domain.vo.QuestionCommentVO;
+import com.leot.baguservice.manager.CommentThread;
+import com.leot.baguservice.manager.CommentTreeCacheManager;
+import com.leot.baguservice.manager.CounterManager;
+import com.leot.baguservice.manager.HotQuestionManager;
 import com.leot.baguservice.mapper.QuestionCommentMapper;
 import com.leot.baguservice.mapper.QuestionCommentThumbMapper;
 import com.leot.baguservice.service.QuestionCommentService;
+import com.leot.baguservice.utils.CursorUtil;
 import com.leot.leotcommon.GlobalReture.ErrorCode;
 import com.leot.leotcommon.exception.BusinessException;
 import jakarta.annotation.Resource;
@@ -32,12 +42,44 @@ import java.util.stream.Collectors;
 public class QuestionCommentServiceImpl extends ServiceImpl<QuestionCommentMapper, QuestionComment>
         implements QuestionCommentService {
 
+    /**
+     * 评论分页单页最大条数
+     */
+    private static final int MAX_COMMENT_PAGE_SIZE = 50;
+
+    /**
+     * 顶级评论默认附带的回复数量
+     */
+    private static final int DEFAULT_REPLY_PREVIEW_SIZE = 3;
+
+    /**
+     * 顶级评论最多附带的回复数量
+     */
+    private static final int MAX_REPLY_PREVIEW_SIZE = 10;
+
+    /**
+     * 沿父评论链查找根评论的最大层数
+     */
+    private static final int MAX_ROOT_LOOKUP_DEPTH = 64;
+
     @Resource
     private QuestionCommentMapper questionCommentMapper;
 
     @Resource
     private QuestionCommentThumbMapper questionCommentThumbMapper;
 
+    @Resource
+    private HotQuestionManager hotQuestionManager;
+
+    @Resource
+    private UserCacheManager userCacheManager;
+
+    @Resource
+    private CounterManager counterManager;
+
+    @Resource
+    private CommentTreeCacheManager commentTreeCacheManager;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long addComment(AddCommentDTO dto, Long userId) {
@@ -61,6 +103,7 @@ public class QuestionCommentServiceImpl extends ServiceImpl<QuestionCommentMappe
         comment.setQuestionId(dto.getQuestionId());
         comment.setUserId(userId);
         comment.setParentId(0L); // 顶级评论
+        comment.setRootId(0L);
         comment.setContent(dto.getContent());
         comment.setThumbNum(0);
         comment.setCreateTime(new Date());
@@ -73,6 +116,9 @@ public class QuestionCommentServiceImpl extends ServiceImpl<QuestionCommentMappe
             log.error("发表评论失败, questionId={}, userId={}", dto.getQuestionId(), userId);
             throw new BusinessException(ErrorCode.DATABASE_OPERATION_ERROR, "创建评论失败");
         }
+        hotQuestionManager.recordComment(dto.getQuestionId());
+        counterManager.incrQuestionComment(dto.getQuestionId(), 1);
+        commentTreeCacheManager.onCommentAdded(comment);
         log.info("发表评论成功, commentId={}", comment.getId());
         return comment.getId();
     }
@@ -105,11 +151,16 @@ public class QuestionCommentServiceImpl extends ServiceImpl<QuestionCommentMappe
             throw new BusinessException(ErrorCode.NO_FOUND, "父评论不存在");
         }
 
-        // 创建回复评论实体
+        if (!parentComment.getQuestionId().equals(dto.getQuestionId())) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "父评论不属于该题目");
+        }
+
+        // 创建回复评论实体（回复挂在父评论所在的根评论下）
         QuestionComment comment = new QuestionComment();
         comment.setQuestionId(dto.getQuestionId());
         comment.setUserId(userId);
         comment.setParentId(dto.getParentId());
+        comment.setRootId(resolveRootId(parentComment));
         comment.setReplyUserId(dto.getReplyUserId());
         comment.setContent(dto.getContent());
         comment.setThumbNum(0);
@@ -123,6 +174,9 @@ public class QuestionCommentServiceImpl extends ServiceImpl<QuestionCommentMappe
             log.error("回复评论失败, parentId={}, userId={}", dto.getParentId(), userId);
             throw new BusinessException(ErrorCode.DATABASE_OPERATION_ERROR, "回复评论失败");
         }
+        hotQuestionManager.recordComment(dto.getQuestionId());
+        counterManager.incrQuestionComment(dto.getQuestionId(), 1);
+        commentTreeCacheManager.onCommentAdded(comment);
         log.info("回复评论成功, commentId={}", comment.getId());
         return comment.getId();
     }
@@ -154,70 +208,235 @@ public class QuestionCommentServiceImpl extends ServiceImpl<QuestionCommentMappe
 
         // 逻辑删除评论
         boolean result = this.removeById(commentId);
+        if (result) {
+            counterManager.incrQuestionComment(comment.getQuestionId(), -1);
+            commentTreeCacheManager.onCommentRemoved(comment);
+        }
         log.info("删除评论完成, commentId={}, result={}", commentId, result);
         return result;
     }
 
 
     @Override
-    public List<QuestionCommentVO> listCommentByQuestionId(Long questionId) {
+    public CursorPageVO<QuestionCommentVO> listRootComments(QueryCommentDTO dto, Long loginUserId) {
         // 参数校验
-        if (ObjUtil.isEmpty(questionId)) {
+        if (ObjUtil.isEmpty(dto) || ObjUtil.isEmpty(dto.getQuestionId())) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "题目ID不能为空");
         }
+        String sortField = "thumbNum".equals(dto.getSortField()) ? "thumbNum" : "createTime";
+        int replySize = dto.getReplySize() == null
+                ? DEFAULT_REPLY_PREVIEW_SIZE
+                : Math.min(Math.max(dto.getReplySize(), 0), MAX_REPLY_PREVIEW_SIZE);
+
+        // 按时间排序时优先从评论树缓存切片（按点赞数排序的顺序变化频繁，直接查库）
+        CommentThread thread = "createTime".equals(sortField)
+                ? commentTreeCacheManager.getThread(dto.getQuestionId())
+                : null;
+        CursorPageVO<QuestionCommentVO> page;
+        if (thread != null) {
+            int pageSize = limitPageSize(dto.getPageSize());
+            List<QuestionComment> comments = thread.pageRoots(
+                    CursorUtil.decode(dto.getCursor(), sortField, false), pageSize + 1);
+            page = toCursorPage(comments, sortField, false, pageSize);
+        } else {
+            // 顶级评论按 (排序字段, id) 游标分页，始终降序
+            QueryWrapper<QuestionComment> queryWrapper = new QueryWrapper<>();
+            queryWrapper.eq("questionId", dto.getQuestionId());
+            queryWrapper.eq("rootId", 0L);
+            page = queryByCursor(queryWrapper, sortField, false, dto.getCursor(), dto.getPageSize());
+        }
+        List<QuestionCommentVO> roots = page.getRecords();
+        if (CollUtil.isEmpty(roots)) {
+            return page;
+        }
 
-        // 查询所有评论
-        List<QuestionComment> comments = questionCommentMapper.selectCommentsByQuestionId(questionId);
-        if (CollUtil.isEmpty(comments)) {
-            return new ArrayList<>();
+        // 本页根评论的回复数和最早的若干条回复（缓存未命中时批量查询）
+        Map<Long, Long> replyCounts = new HashMap<>();
+        Map<Long, List<QuestionCommentVO>> replies = new HashMap<>();
+        if (thread != null) {
+            for (QuestionCommentVO root : roots) {
+                replyCounts.put(root.getId(), thread.countReplies(root.getId()));
+                if (replySize > 0) {
+                    replies.put(root.getId(), thread.pageReplies(root.getId(), null, replySize).stream()
+                            .map(this::convertToVO)
+                            .collect(Collectors.toList()));
+                }
+            }
+        } else {
+            List<Long> rootIds = roots.stream().map(QuestionCommentVO::getId).collect(Collectors.toList());
+            questionCommentMapper.countReplies(rootIds)
+                    .forEach(count -> replyCounts.put(count.getRootId(), count.getReplyCount()));
+            if (replySize > 0) {
+                for (QuestionComment reply : questionCommentMapper.selectFirstReplies(rootIds, replySize)) {
+                    replies.computeIfAbsent(reply.getRootId(), k -> new ArrayList<>()).add(convertToVO(reply));
+                }
+            }
+        }
+        for (QuestionCommentVO root : roots) {
+            root.setReplyCount(replyCounts.getOrDefault(root.getId(), 0L));
+            root.setChildren(replies.getOrDefault(root.getId(), new ArrayList<>()));
         }
 
-        // 转换为VO
-        List<QuestionCommentVO> voList = comments.stream()
-                .map(this::convertToVO)
-                .collect(Collectors.toList());
+        // 根评论和回复预览的用户信息、点赞状态一次性批量填充
+        List<QuestionCommentVO> allComments = new ArrayList<>(roots);
+        roots.forEach(root -> allComments.addAll(root.getChildren()));
+        fillUserInfo(allComments);
+        fillThumbState(allComments, loginUserId);
+        return page;
+    }
+
+    @Override
+    public CursorPageVO<QuestionCommentVO> listReplies(QueryCommentReplyDTO dto, Long loginUserId) {
+        // 参数校验
+        if (ObjUtil.isEmpty(dto) || ObjUtil.isEmpty(dto.getRootId())) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "根评论ID不能为空");
+        }
 
-        // 构建树形结构
-        return buildCommentTree(voList);
+        // 传入题目ID时优先从评论树缓存切片，根评论不属于该题目时回退查库
+        CommentThread thread = commentTreeCacheManager.getThread(dto.getQuestionId());
+        List<QuestionComment> cachedReplies = null;
+        int pageSize = limitPageSize(dto.getPageSize());
+        if (thread != null) {
+            cachedReplies = thread.pageReplies(dto.getRootId(),
+                    CursorUtil.decode(dto.getCursor(), "createTime", true), pageSize + 1);
+        }
+        CursorPageVO<QuestionCommentVO> page;
+        if (cachedReplies != null) {
+            page = toCursorPage(cachedReplies, "createTime", true, pageSize);
+        } else {
+            // 根评论下的全部回复按时间升序游标分页
+            QueryWrapper<QuestionComment> queryWrapper = new QueryWrapper<>();
+            queryWrapper.eq("rootId", dto.getRootId());
+            page = queryByCursor(queryWrapper, "createTime", true, dto.getCursor(), dto.getPageSize());
+        }
+        fillUserInfo(page.getRecords());
+        fillThumbState(page.getRecords(), loginUserId);
+        return page;
     }
 
     /**
-     * 构建评论树形结构
-     * @param voList 评论VO列表
-     * @return 树形结构的评论列表
+     * 批量填充当前用户对评论的点赞状态
+     * 整页评论（含回复预览）只执行一次 IN 查询，查询次数不随评论数量增长；未登录时全部为未点赞
+     *
+     * @param comments 评论VO列表
+     * @param loginUserId 当前登录用户ID（未登录为null）
      */
-    private List<QuestionCommentVO> buildCommentTree(List<QuestionCommentVO> voList) {
-        if (CollUtil.isEmpty(voList)) {
-            return new ArrayList<>();
+    private void fillThumbState(List<QuestionCommentVO> comments, Long loginUserId) {
+        if (CollUtil.isEmpty(comments)) {
+            return;
+        }
+        Set<Long> thumbedIds = new HashSet<>();
+        if (loginUserId != null) {
+            Set<Long> commentIds = comments.stream().map(QuestionCommentVO::getId).collect(Collectors.toSet());
+            thumbedIds.addAll(questionCommentThumbMapper.selectThumbedCommentIds(loginUserId, commentIds));
         }
+        for (QuestionCommentVO comment : comments) {
+            comment.setHasThumb(thumbedIds.contains(comment.getId()));
+        }
+    }
 
-        // 创建ID到VO的映射
-        Map<Long, QuestionCommentVO> voMap = new HashMap<>();
-        for (QuestionCommentVO vo : voList) {
-            vo.setChildren(new ArrayList<>());
-            voMap.put(vo.getId(), vo);
+    /**
+     * 批量填充评论的用户名、头像和被回复用户名
+     * 整页评论的 userId 和 replyUserId 去重后一次性查询（本地缓存未命中的ID合并为一次远程调用），
+     * 远程调用次数与评论数量无关
+     *
+     * @param comments 评论VO列表
+     */
+    private void fillUserInfo(List<QuestionCommentVO> comments) {
+        if (CollUtil.isEmpty(comments)) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (QuestionCommentVO comment : comments) {
+            if (comment.getUserId() != null) {
+                userIds.add(comment.getUserId());
+            }
+            if (comment.getReplyUserId() != null) {
+                userIds.add(comment.getReplyUserId());
+            }
         }
+        Map<Long, UserDTO> userMap = userCacheManager.getUsers(userIds);
+        for (QuestionCommentVO comment : comments) {
+            UserDTO user = userMap.get(comment.getUserId());
+            if (user != null) {
+                comment.setUserName(user.getUserName());
+                comment.setUserAvatar(user.getUserAvatar());
+            }
+            UserDTO replyUser = comment.getReplyUserId() != null ? userMap.get(comment.getReplyUserId()) : null;
+            if (replyUser != null) {
+                comment.setReplyUserName(replyUser.getUserName());
+            }
+        }
+    }
 
-        // 构建树形结构
-        List<QuestionCommentVO> rootComments = new ArrayList<>();
-        for (QuestionCommentVO vo : voList) {
-            Long parentId = vo.getParentId();
-            if (parentId == null || parentId == 0L) {
-                // 顶级评论
-                rootComments.add(vo);
+    /**
+     * 按 (排序字段, id) 游标分页查询评论
+     *
+     * @param queryWrapper 查询条件
+     * @param sortField 排序字段（createTime 或 thumbNum）
+     * @param isAsc 是否升序
+     * @param cursor 游标（首页为空）
+     * @param pageSize 每页条数
+     * @return 游标分页结果
+     */
+    private CursorPageVO<QuestionCommentVO> queryByCursor(QueryWrapper<QuestionComment> queryWrapper, String sortField,
+                                                          boolean isAsc, String cursor, int pageSize) {
+        pageSize = limitPageSize(pageSize);
+
+        // 定位到游标之后
+        CursorUtil.Cursor lastCursor = CursorUtil.decode(cursor, sortField, isAsc);
+        if (lastCursor != null) {
+            Object lastValue = "createTime".equals(sortField)
+                    ? new Date(lastCursor.sortValue())
+                    : lastCursor.sortValue();
+            Long lastId = lastCursor.id();
+            if (isAsc) {
+                queryWrapper.and(w -> w.gt(sortField, lastValue)
+                        .or(o -> o.eq(sortField, lastValue).gt("id", lastId)));
             } else {
-                // 子评论，添加到父评论的children中
-                QuestionCommentVO parentVo = voMap.get(parentId);
-                if (parentVo != null) {
-                    parentVo.getChildren().add(vo);
-                } else {
-                    // 如果父评论不存在（可能被删除），作为顶级评论处理
-                    rootComments.add(vo);
-                }
+                queryWrapper.and(w -> w.lt(sortField, lastValue)
+                        .or(o -> o.eq(sortField, lastValue).lt("id", lastId)));
             }
         }
+        queryWrapper.orderBy(true, isAsc, sortField);
+        queryWrapper.orderBy(true, isAsc, "id");
+        // 多取一条用于判断是否还有下一页
+        queryWrapper.last("LIMIT " + (pageSize + 1));
+
+        return toCursorPage(this.list(queryWrapper), sortField, isAsc, pageSize);
+    }
+
+    private int limitPageSize(int pageSize) {
+        return Math.min(Math.max(pageSize, 1), MAX_COMMENT_PAGE_SIZE);
+    }
+
+    /**
+     * 将多取一条的查询结果转换为游标分页结果
+     *
+     * @param comments 按排序条件取出的评论（最多 pageSize + 1 条）
+     * @param sortField 排序字段
+     * @param isAsc 是否升序
+     * @param pageSize 每页条数
+     * @return 游标分页结果
+     */
+    private CursorPageVO<QuestionCommentVO> toCursorPage(List<QuestionComment> comments, String sortField,
+                                                         boolean isAsc, int pageSize) {
+        boolean hasMore = comments.size() > pageSize;
+        if (hasMore) {
+            comments = comments.subList(0, pageSize);
+        }
 
-        return rootComments;
+        CursorPageVO<QuestionCommentVO> cursorPage = new CursorPageVO<>();
+        cursorPage.setRecords(comments.stream().map(this::convertToVO).collect(Collectors.toList()));
+        cursorPage.setHasMore(hasMore);
+        if (hasMore) {
+            QuestionComment last = comments.get(comments.size() - 1);
+            long sortValue = "createTime".equals(sortField)
+                    ? last.getCreateTime().getTime()
+                    : ObjUtil.defaultIfNull(last.getThumbNum(), 0);
+            cursorPage.setNextCursor(CursorUtil.encode(sortField, isAsc, sortValue, last.getId()));
+        }
+        return cursorPage;
     }
 
     @Override
@@ -229,35 +448,37 @@ public class QuestionCommentServiceImpl extends ServiceImpl<QuestionCommentMappe
             throw new BusinessException(ErrorCode.NULL_ERROR, "参数不能为空");
         }
 
-        // 检查评论是否存在
-        QuestionComment comment = this.getById(commentId);
-        if (comment == null) {
-            log.warn("点赞评论失败, 评论不存在, commentId={}", commentId);
-            throw new BusinessException(ErrorCode.NO_FOUND, "评论不存在");
+        // 先尝试点赞（插入语句同时校验评论存在，唯一索引保证不重复）
+        if (questionCommentThumbMapper.insertIgnore(commentId, userId) > 0) {
+            questionCommentMapper.updateThumbNum(commentId, 1);
+            syncCachedThumbNum(commentId, 1);
+            log.info("点赞评论成功, commentId={}, userId={}", commentId, userId);
+            return true;
         }
 
-        // 查询是否已点赞
-        QueryWrapper<QuestionCommentThumb> thumbWrapper = new QueryWrapper<>();
-        thumbWrapper.eq("commentId", commentId);
-        thumbWrapper.eq("userId", userId);
-        QuestionCommentThumb existingThumb = questionCommentThumbMapper.selectOne(thumbWrapper);
-
-        if (existingThumb != null) {
-            // 已点赞，取消点赞
-            questionCommentThumbMapper.deleteById(existingThumb.getId());
+        // 未插入说明已点赞或评论不存在，删除点赞记录
+        if (questionCommentThumbMapper.deleteByCommentIdAndUserId(commentId, userId) > 0) {
             questionCommentMapper.updateThumbNum(commentId, -1);
+            syncCachedThumbNum(commentId, -1);
             log.info("取消点赞评论成功, commentId={}, userId={}", commentId, userId);
             return false;
-        } else {
-            // 未点赞，添加点赞
-            QuestionCommentThumb thumb = new QuestionCommentThumb();
-            thumb.setCommentId(commentId);
-            thumb.setUserId(userId);
-            thumb.setCreateTime(new Date());
-            questionCommentThumbMapper.insert(thumb);
-            questionCommentMapper.updateThumbNum(commentId, 1);
-            log.info("点赞评论成功, commentId={}, userId={}", commentId, userId);
-            return true;
+        }
+
+        // 两条语句都未生效：评论不存在，或并发请求刚取消了同一点赞
+        if (this.getById(commentId) == null) {
+            log.warn("点赞评论失败, 评论不存在, commentId={}", commentId);
+            throw new BusinessException(ErrorCode.NO_FOUND, "评论不存在");
+        }
+        return false;
+    }
+
+    /**
+     * 点赞数变化后同步评论树缓存中的节点（事务提交后执行）
+     */
+    private void syncCachedThumbNum(Long commentId, int delta) {
+        QuestionComment node = questionCommentMapper.selectTreeNode(commentId);
+        if (node != null) {
+            commentTreeCacheManager.onCommentThumbChanged(node, delta);
         }
     }
 
@@ -274,6 +495,43 @@ public class QuestionCommentServiceImpl extends ServiceImpl<QuestionCommentMappe
         }
     }
 
+    /**
+     * 是否为顶级评论（兼容 rootId 回填前的历史数据）
+     */
+    private boolean isRootComment(QuestionComment comment) {
+        return comment.getParentId() == null || comment.getParentId() == 0L;
+    }
+
+    /**
+     * 确定回复所属的根评论
+     * 父评论的 rootId 未回填（引入 rootId 之前的历史回复）时沿父评论链向上查找，避免新回复的 rootId 记为 0 而被当作顶级评论
+     */
+    private Long resolveRootId(QuestionComment parent) {
+        if (isRootComment(parent)) {
+            return parent.getId();
+        }
+        if (parent.getRootId() != null && parent.getRootId() != 0L) {
+            return parent.getRootId();
+        }
+        QuestionComment current = parent;
+        for (int depth = 0; depth < MAX_ROOT_LOOKUP_DEPTH; depth++) {
+            QuestionComment ancestor = questionCommentMapper.selectTreeNode(current.getParentId());
+            if (ancestor == null) {
+                break;
+            }
+            if (isRootComment(ancestor)) {
+                return ancestor.getId();
+            }
+            if (ancestor.getRootId() != null && ancestor.getRootId() != 0L) {
+                return ancestor.getRootId();
+            }
+            current = ancestor;
+        }
+        // 父评论链断裂或过深，挂到能找到的最上层评论下
+        log.warn("未找到根评论, parentId={}, topId={}", parent.getId(), current.getId());
+        return current.getId();
+    }
+
     @Override
     public QuestionCommentVO convertToVO(QuestionComment comment) {
         return convertToVO(comment, null);
@@ -298,12 +556,7 @@ public class QuestionCommentServiceImpl extends ServiceImpl<QuestionCommentMappe
             vo.setHasThumb(false);
         }
 
-        // TODO: 可以通过远程调用获取用户名称和头像
-        // vo.setUserName(userService.getUserById(comment.getUserId()).getUserName());
-        // vo.setUserAvatar(userService.getUserById(comment.getUserId()).getUserAvatar());
-        // if (comment.getReplyUserId() != null) {
-        //     vo.setReplyUserName(userService.getUserById(comment.getReplyUserId()).getUserName());
-        // }
+        // 用户名称和头像由列表接口按页批量填充（fillUserInfo）
 
         return vo;
     }
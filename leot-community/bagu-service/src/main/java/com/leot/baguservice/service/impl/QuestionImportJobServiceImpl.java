@@ -0,0 +1,279 @@
+package com.leot.baguservice.service.impl;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.leot.baguservice.domain.dto.BatchImportDTO;
+import com.leot.baguservice.domain.enums.ImportJobStatusEnum;
+import com.leot.baguservice.domain.enums.ImportJobTypeEnum;
+import com.leot.baguservice.domain.pojo.QuestionImportJob;
+import com.leot.baguservice.domain.vo.ImportErrorVO;
+import com.leot.baguservice.domain.vo.ImportJobVO;
+import com.leot.baguservice.domain.vo.PdfParseResultVO;
+import com.leot.baguservice.manager.ImportJobManager;
+import com.leot.baguservice.mapper.QuestionImportJobMapper;
+import com.leot.baguservice.service.PdfParseService;
+import com.leot.baguservice.service.QuestionImportJobService;
+import com.leot.baguservice.service.QuestionImportService;
+import com.leot.leotcommon.GlobalReture.ErrorCode;
+import com.leot.leotcommon.exception.BusinessException;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 题目导入任务服务实现
+ * 提交时只做校验和落库，解析与导入由 ImportJobManager 异步执行；进度通过轮询任务表获取，SSE 订阅在虚拟线程中轮询并推送变化
+ */
+@Slf4j
+@Service
+public class QuestionImportJobServiceImpl implements QuestionImportJobService {
+
+    /**
+     * 查询进度时读取的列（不含待导入题目）
+     */
+    private static final String[] PROGRESS_COLUMNS = {
+            "id", "jobType", "status", "questionBankId", "fileName", "filePath", "result",
+            "totalCount", "processedCount", "successCount", "failCount", "errors", "errorMessage",
+            "createTime", "updateTime"
+    };
+
+    /**
+     * SSE 轮询任务状态的间隔
+     */
+    private static final long SSE_POLL_INTERVAL_MS = 1000;
+
+    /**
+     * 导入任务每块题目数
+     */
+    @Value("${bagu.import.chunk-size:100}")
+    private int chunkSize;
+
+    /**
+     * 解析任务的 PDF 暂存目录
+     */
+    @Value("${bagu.import.work-dir:${java.io.tmpdir}/bagu-import}")
+    private String workDir;
+
+    /**
+     * SSE 连接超时时间
+     */
+    @Value("${bagu.import.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    @Resource
+    private QuestionImportJobMapper questionImportJobMapper;
+
+    @Resource
+    private ImportJobManager importJobManager;
+
+    @Resource
+    private PdfParseService pdfParseService;
+
+    @Resource
+    private QuestionImportService questionImportService;
+
+    @Override
+    public Long submitParseJob(MultipartFile file, Long userId) {
+        // 1. 校验文件与队列
+        pdfParseService.validateFile(file);
+        checkCapacity();
+
+        // 2. 暂存上传文件
+        Path filePath;
+        try {
+            Path dir = Paths.get(workDir);
+            Files.createDirectories(dir);
+            filePath = dir.resolve(IdUtil.fastSimpleUUID() + ".pdf").toAbsolutePath();
+            file.transferTo(filePath);
+        } catch (IOException e) {
+            log.error("PDF文件暂存失败", e);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "PDF文件上传失败，请重试");
+        }
+
+        // 3. 创建任务并提交
+        QuestionImportJob job = newJob(ImportJobTypeEnum.PARSE, userId);
+        job.setFileName(file.getOriginalFilename());
+        job.setFilePath(filePath.toString());
+        job.setTotalCount(0);
+        return createAndSubmit(job);
+    }
+
+    @Override
+    public Long submitImportJob(BatchImportDTO dto, Long userId) {
+        // 1. 校验参数、题库与队列
+        questionImportService.validateImport(dto);
+        checkCapacity();
+
+        // 2. 创建任务并提交
+        QuestionImportJob job = newJob(ImportJobTypeEnum.IMPORT, userId);
+        job.setQuestionBankId(dto.getQuestionBankId());
+        job.setPayload(JSONUtil.toJsonStr(dto.getQuestions()));
+        job.setTotalCount(dto.getQuestions().size());
+        return createAndSubmit(job);
+    }
+
+    @Override
+    public ImportJobVO getJob(Long jobId) {
+        if (jobId == null || jobId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "任务ID不合法");
+        }
+        QueryWrapper<QuestionImportJob> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select(PROGRESS_COLUMNS);
+        queryWrapper.eq("id", jobId);
+        QuestionImportJob job = questionImportJobMapper.selectOne(queryWrapper);
+        if (job == null) {
+            throw new BusinessException(ErrorCode.NO_FOUND, "导入任务不存在");
+        }
+        return convertToVO(job);
+    }
+
+    @Override
+    public SseEmitter subscribeJob(Long jobId) {
+        // 先同步查询一次，任务不存在时直接返回错误
+        ImportJobVO initial = getJob(jobId);
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+
+        Thread.ofVirtual().name("import-job-sse-" + jobId).start(() -> {
+            ImportJobVO current = initial;
+            String lastSent = null;
+            try {
+                while (!closed.get()) {
+                    // 进度、状态或错误有变化时才推送
+                    String snapshot = progressKey(current);
+                    if (!snapshot.equals(lastSent)) {
+                        emitter.send(SseEmitter.event().name("progress").data(current));
+                        lastSent = snapshot;
+                    }
+                    ImportJobStatusEnum status = ImportJobStatusEnum.getEnumByValue(current.getStatus());
+                    if (status != null && status.isFinished()) {
+                        emitter.complete();
+                        return;
+                    }
+                    Thread.sleep(SSE_POLL_INTERVAL_MS);
+                    current = getJob(jobId);
+                }
+            } catch (IOException e) {
+                // 客户端已断开
+                log.debug("导入任务订阅已断开, jobId={}", jobId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } catch (Exception e) {
+                log.warn("导入任务订阅推送失败, jobId={}, error={}", jobId, e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    @Override
+    public boolean cancelJob(Long jobId) {
+        if (jobId == null || jobId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "任务ID不合法");
+        }
+        QuestionImportJob job = questionImportJobMapper.selectById(jobId);
+        if (job == null) {
+            throw new BusinessException(ErrorCode.NO_FOUND, "导入任务不存在");
+        }
+        // 状态条件更新：执行中的导入块在提交断点时发现已取消，整块回滚
+        if (questionImportJobMapper.cancel(jobId) == 0) {
+            return false;
+        }
+        importJobManager.interrupt(jobId);
+        if (StrUtil.isNotBlank(job.getFilePath())) {
+            File file = new File(job.getFilePath());
+            if (file.exists() && !file.delete()) {
+                log.warn("删除PDF暂存文件失败, path={}", file.getAbsolutePath());
+            }
+        }
+        log.info("导入任务已取消, jobId={}", jobId);
+        return true;
+    }
+
+    /**
+     * 队列已满时拒绝提交
+     */
+    private void checkCapacity() {
+        if (!importJobManager.hasCapacity()) {
+            throw new BusinessException(ErrorCode.FORBIDDEN, "导入任务较多，请稍后再试");
+        }
+    }
+
+    private QuestionImportJob newJob(ImportJobTypeEnum type, Long userId) {
+        QuestionImportJob job = new QuestionImportJob();
+        job.setJobType(type.getValue());
+        job.setStatus(ImportJobStatusEnum.PENDING.getValue());
+        job.setUserId(userId);
+        job.setChunkSize(chunkSize);
+        job.setCommittedChunks(0);
+        job.setProcessedCount(0);
+        job.setSuccessCount(0);
+        job.setFailCount(0);
+        job.setCreateTime(new Date());
+        job.setUpdateTime(new Date());
+        return job;
+    }
+
+    private Long createAndSubmit(QuestionImportJob job) {
+        questionImportJobMapper.insert(job);
+        try {
+            importJobManager.submit(job.getId());
+        } catch (RejectedExecutionException e) {
+            // 并发提交时队列恰好占满，任务保持排队状态，由恢复扫描稍后执行
+            log.warn("导入任务队列已满，等待恢复扫描执行, jobId={}", job.getId());
+        }
+        log.info("导入任务已提交, jobId={}, jobType={}, totalCount={}", job.getId(), job.getJobType(), job.getTotalCount());
+        return job.getId();
+    }
+
+    private ImportJobVO convertToVO(QuestionImportJob job) {
+        ImportJobVO vo = new ImportJobVO();
+        vo.setId(job.getId());
+        vo.setJobType(job.getJobType());
+        vo.setStatus(job.getStatus());
+        vo.setFileName(job.getFileName());
+        vo.setQuestionBankId(job.getQuestionBankId());
+        vo.setTotalCount(job.getTotalCount());
+        vo.setProcessedCount(job.getProcessedCount());
+        vo.setSuccessCount(job.getSuccessCount());
+        vo.setFailCount(job.getFailCount());
+        vo.setErrors(StrUtil.isBlank(job.getErrors())
+                ? null : JSONUtil.toList(job.getErrors(), ImportErrorVO.class));
+        vo.setErrorMessage(job.getErrorMessage());
+        if (StrUtil.isNotBlank(job.getResult())) {
+            PdfParseResultVO parseResult = JSONUtil.toBean(job.getResult(), PdfParseResultVO.class);
+            vo.setParseResult(parseResult);
+            // 解析任务完成后以题目数作为进度
+            vo.setTotalCount(parseResult.getTotalCount());
+            vo.setProcessedCount(parseResult.getTotalCount());
+            vo.setSuccessCount(parseResult.getTotalCount());
+        }
+        vo.setCreateTime(job.getCreateTime());
+        vo.setUpdateTime(job.getUpdateTime());
+        return vo;
+    }
+
+    private String progressKey(ImportJobVO vo) {
+        return vo.getStatus() + ":" + vo.getProcessedCount() + ":" + Objects.hashCode(vo.getErrorMessage());
+    }
+}
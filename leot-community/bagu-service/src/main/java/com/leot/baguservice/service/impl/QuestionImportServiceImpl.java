@@ -1,96 +1,244 @@
 package com.leot.baguservice.service.impl;
 
 import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.core.util.StrUtil;
 import com.leot.baguservice.domain.dto.BatchImportDTO;
+import com.leot.baguservice.domain.dto.ImportChunkResultDTO;
 import com.leot.baguservice.domain.dto.ParsedQuestionDTO;
 import com.leot.baguservice.domain.pojo.Question;
 import com.leot.baguservice.domain.pojo.QuestionBankQuestion;
 import com.leot.baguservice.domain.vo.BatchImportResultVO;
+import com.leot.baguservice.domain.vo.ImportErrorVO;
+import com.leot.baguservice.manager.QuestionSearchIndexManager;
+import com.leot.baguservice.mapper.QuestionBankMapper;
 import com.leot.baguservice.mapper.QuestionBankQuestionMapper;
 import com.leot.baguservice.mapper.QuestionMapper;
 import com.leot.baguservice.service.QuestionBankService;
 import com.leot.baguservice.service.QuestionImportService;
 import com.leot.leotcommon.GlobalReture.ErrorCode;
 import com.leot.leotcommon.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 /**
  * 题目导入服务实现
+ * 题目按块导入：每块先逐题校验，合法的题目用一条多行 INSERT 写入题目表、一条多行 INSERT 写入关联表，
+ * 写入失败时整块回滚到块开始前的保存点并记录为一条块级错误
  */
 @Slf4j
 @Service
 public class QuestionImportServiceImpl implements QuestionImportService {
 
+    /**
+     * 失败原因的最大长度
+     */
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 200;
+
+    /**
+     * 标题最大长度（question.title varchar(256)）
+     */
+    private static final int MAX_TITLE_LENGTH = 256;
+
+    /**
+     * 内容、答案最大字节数（question.content/answer text）
+     */
+    private static final int MAX_TEXT_BYTES = 65535;
+
+    /**
+     * 同步导入每块题目数（每块独立事务）
+     */
+    @Value("${bagu.import.chunk-size:100}")
+    private int chunkSize;
+
     @Resource
     private QuestionMapper questionMapper;
 
     @Resource
     private QuestionBankQuestionMapper questionBankQuestionMapper;
 
+    @Resource
+    private QuestionBankMapper questionBankMapper;
+
     @Resource
     private QuestionBankService questionBankService;
 
+    @Resource
+    private QuestionSearchIndexManager questionSearchIndexManager;
+
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 每块一个事务
+     */
+    private TransactionTemplate chunkTransactionTemplate;
+
+    /**
+     * 块写入的保存点（嵌套在调用方事务中）
+     */
+    private TransactionTemplate savepointTransactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        chunkTransactionTemplate = new TransactionTemplate(transactionManager);
+        savepointTransactionTemplate = new TransactionTemplate(transactionManager);
+        savepointTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public BatchImportResultVO batchImport(BatchImportDTO dto) {
-        // 1. 参数校验
+        // 1. 参数与题库校验
+        validateImport(dto);
+
+        // 2. 获取当前用户ID
+        Long userId = StpUtil.getLoginIdAsLong();
+
+        // 3. 按块导入，每块独立提交，大批量导入不会长时间持有锁
+        List<ParsedQuestionDTO> questions = dto.getQuestions();
+        int size = Math.max(chunkSize, 1);
+        int successCount = 0;
+        List<ImportErrorVO> errors = new ArrayList<>();
+        for (int from = 0; from < questions.size(); from += size) {
+            int offset = from;
+            List<ParsedQuestionDTO> chunk = questions.subList(from, Math.min(from + size, questions.size()));
+            ImportChunkResultDTO chunkResult = chunkTransactionTemplate.execute(
+                    status -> importChunk(dto.getQuestionBankId(), chunk, offset, userId));
+            successCount += chunkResult.getImportedIds().size();
+            errors.addAll(chunkResult.getErrors());
+        }
+
+        // 4. 构建返回结果
+        int totalCount = questions.size();
+        BatchImportResultVO result = new BatchImportResultVO();
+        result.setSuccessCount(successCount);
+        result.setFailCount(totalCount - successCount);
+        result.setTotalCount(totalCount);
+        result.setErrors(errors);
+
+        log.info("批量导入完成，成功: {}, 失败: {}, 总数: {}", successCount, totalCount - successCount, totalCount);
+        return result;
+    }
+
+    @Override
+    public void validateImport(BatchImportDTO dto) {
         if (dto == null || dto.getQuestionBankId() == null || dto.getQuestions() == null) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "导入参数不能为空");
         }
+        if (questionBankService.getById(dto.getQuestionBankId()) == null) {
+            throw new BusinessException(ErrorCode.NO_FOUND, "题库不存在");
+        }
+    }
 
-        Long questionBankId = dto.getQuestionBankId();
-        List<ParsedQuestionDTO> questions = dto.getQuestions();
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public ImportChunkResultDTO importChunk(Long questionBankId, List<ParsedQuestionDTO> questions,
+                                            int offset, Long userId) {
+        ImportChunkResultDTO result = new ImportChunkResultDTO();
 
-        // 2. 校验题库是否存在
-        if (questionBankService.getById(questionBankId) == null) {
-            throw new BusinessException(ErrorCode.NO_FOUND, "题库不存在");
+        // 1. 逐题校验，不合法的题目单独记录，不参与写入
+        List<Question> validQuestions = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            ParsedQuestionDTO parsedQuestion = questions.get(i);
+            String message = validateQuestion(parsedQuestion);
+            if (message != null) {
+                result.getErrors().add(buildError(offset + i, parsedQuestion.getTitle(), 1, message));
+                continue;
+            }
+            validQuestions.add(createQuestion(parsedQuestion, userId));
+        }
+        if (validQuestions.isEmpty()) {
+            return result;
         }
 
-        // 3. 获取当前用户ID
-        Long userId = StpUtil.getLoginIdAsLong();
+        // 2. 整块写入（保存点内执行，失败时只撤销本块写入）
+        try {
+            List<Long> importedIds = savepointTransactionTemplate.execute(
+                    status -> insertChunk(questionBankId, validQuestions, userId));
+            result.getImportedIds().addAll(importedIds);
+            log.debug("题目块导入成功, offset={}, count={}", offset, importedIds.size());
+        } catch (Exception e) {
+            // 异常信息可能包含 SQL 与表结构，只记录到日志，返回给用户的是统一提示
+            String message = "第" + (offset + 1) + "~" + (offset + questions.size()) + "题写入失败，请检查题目内容后重试";
+            result.getErrors().add(buildError(offset, null, validQuestions.size(), message));
+            log.warn("题目块导入失败, offset={}, count={}", offset, validQuestions.size(), e);
+        }
+        return result;
+    }
 
-        // 4. 批量导入题目
-        int successCount = 0;
-        int failCount = 0;
-        int totalCount = questions.size();
+    /**
+     * 写入一块题目：题目表和关联表各一条多行 INSERT，题目ID由自增主键批量回填
+     */
+    private List<Long> insertChunk(Long questionBankId, List<Question> questions, Long userId) {
+        questionMapper.insertBatch(questions);
 
-        for (ParsedQuestionDTO parsedQuestion : questions) {
-            try {
-                // 创建题目
-                Question question = createQuestion(parsedQuestion, userId);
-                questionMapper.insert(question);
-
-                // 关联到题库
-                QuestionBankQuestion relation = new QuestionBankQuestion();
-                relation.setQuestionBankId(questionBankId);
-                relation.setQuestionId(question.getId());
-                relation.setUserId(userId);
-                relation.setCreateTime(new Date());
-                relation.setUpdateTime(new Date());
-                questionBankQuestionMapper.insert(relation);
-
-                successCount++;
-                log.debug("题目导入成功: {}", parsedQuestion.getTitle());
-            } catch (Exception e) {
-                failCount++;
-                log.warn("题目导入失败: {}, 原因: {}", parsedQuestion.getTitle(), e.getMessage());
-            }
+        List<Long> importedIds = new ArrayList<>(questions.size());
+        List<QuestionBankQuestion> relations = new ArrayList<>(questions.size());
+        Date now = new Date();
+        for (Question question : questions) {
+            importedIds.add(question.getId());
+            QuestionBankQuestion relation = new QuestionBankQuestion();
+            relation.setQuestionBankId(questionBankId);
+            relation.setQuestionId(question.getId());
+            relation.setUserId(userId);
+            relation.setCreateTime(now);
+            relation.setUpdateTime(now);
+            relations.add(relation);
         }
+        questionBankQuestionMapper.insertBatch(relations);
 
-        // 5. 构建返回结果
-        BatchImportResultVO result = new BatchImportResultVO();
-        result.setSuccessCount(successCount);
-        result.setFailCount(failCount);
-        result.setTotalCount(totalCount);
+        // 更新题库题目数量
+        questionBankMapper.incrementQuestionCount(questionBankId, importedIds.size());
+        // 更新全文索引（事务提交后执行）
+        questionSearchIndexManager.upsert(importedIds);
+        return importedIds;
+    }
 
-        log.info("批量导入完成，成功: {}, 失败: {}, 总数: {}", successCount, failCount, totalCount);
-        return result;
+    /**
+     * 校验单道题目能否写入
+     *
+     * @return 不合法的原因，合法时返回 null
+     */
+    private String validateQuestion(ParsedQuestionDTO parsedQuestion) {
+        if (StrUtil.isBlank(parsedQuestion.getTitle())) {
+            return "标题不能为空";
+        }
+        if (parsedQuestion.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "标题不能超过" + MAX_TITLE_LENGTH + "个字符";
+        }
+        if (exceedsTextBytes(parsedQuestion.getContent())) {
+            return "内容过长";
+        }
+        if (exceedsTextBytes(parsedQuestion.getAnswer())) {
+            return "答案过长";
+        }
+        return null;
+    }
+
+    private boolean exceedsTextBytes(String text) {
+        // 每个字符最多 4 字节，字符数足够小时无需编码
+        return text != null && text.length() * 4L > MAX_TEXT_BYTES
+                && text.getBytes(StandardCharsets.UTF_8).length > MAX_TEXT_BYTES;
+    }
+
+    private ImportErrorVO buildError(int index, String title, int count, String message) {
+        ImportErrorVO error = new ImportErrorVO();
+        error.setIndex(index);
+        error.setTitle(StrUtil.maxLength(title, MAX_TITLE_LENGTH));
+        error.setCount(count);
+        error.setMessage(StrUtil.maxLength(message, MAX_ERROR_MESSAGE_LENGTH));
+        return error;
     }
 
     /**
@@ -106,6 +254,7 @@ public class QuestionImportServiceImpl implements QuestionImportService {
         question.setViewNum(0);
         question.setThumbNum(0);
         question.setFavourNum(0);
+        question.setCommentNum(0);
         question.setEditTime(new Date());
         question.setCreateTime(new Date());
         question.setUpdateTime(new Date());
@@ -4,11 +4,13 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.http.HtmlUtil;
 import cn.hutool.json.JSONUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
-import com.leot.api.client.UserClient;
+import com.leot.api.cache.UserCacheManager;
+import com.leot.api.dto.UserCacheStatsDTO;
 import com.leot.api.dto.UserDTO;
 import com.leot.baguservice.domain.dto.AddQuestionDTO;
 import com.leot.baguservice.domain.dto.QueryQuestionDTO;
@@ -17,14 +19,27 @@ import com.leot.baguservice.domain.dto.UpdateQuestionDTO;
 import com.leot.baguservice.domain.pojo.Question;
 import com.leot.baguservice.domain.pojo.QuestionBankQuestion;
 import com.leot.baguservice.domain.pojo.QuestionFavour;
+import com.leot.baguservice.domain.pojo.QuestionTag;
 import com.leot.baguservice.domain.pojo.QuestionThumb;
+import com.leot.baguservice.domain.vo.CacheStatsVO;
+import com.leot.baguservice.domain.vo.CursorPageVO;
+import com.leot.baguservice.domain.vo.QuestionSummaryVO;
 import com.leot.baguservice.domain.vo.QuestionVO;
+import com.leot.baguservice.domain.vo.TagFacetVO;
+import com.leot.baguservice.manager.CounterManager;
+import com.leot.baguservice.manager.HotQuestionManager;
+import com.leot.baguservice.manager.QuestionCacheManager;
+import com.leot.baguservice.manager.QuestionSearchIndexManager;
+import com.leot.baguservice.manager.ThumbFavourManager;
+import com.leot.baguservice.manager.UniqueViewManager;
+import com.leot.baguservice.mapper.QuestionBankMapper;
 import com.leot.baguservice.mapper.QuestionBankQuestionMapper;
 import com.leot.baguservice.mapper.QuestionFavourMapper;
 import com.leot.baguservice.mapper.QuestionMapper;
+import com.leot.baguservice.mapper.QuestionTagMapper;
 import com.leot.baguservice.mapper.QuestionThumbMapper;
 import com.leot.baguservice.service.QuestionService;
-import com.leot.leotcommon.GlobalReture.BaseResponse;
+import com.leot.baguservice.utils.CursorUtil;
 import com.leot.leotcommon.GlobalReture.ErrorCode;
 import com.leot.leotcommon.exception.BusinessException;
 import com.leot.leotcommon.request.PageRequest;
@@ -35,9 +50,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * 针对表【question(题目)】的数据库操作Service实现
@@ -47,9 +65,54 @@ import java.util.stream.Collectors;
 public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         implements QuestionService {
 
+    /**
+     * 游标分页单页最大条数
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * 热门题目单页最大条数
+     */
+    private static final int MAX_HOT_PAGE_SIZE = 50;
+
+    /**
+     * 标签分面统计返回的最大标签数
+     */
+    private static final int MAX_TAG_FACET_SIZE = 20;
+
+    /**
+     * 单个标签最大长度
+     */
+    private static final int MAX_TAG_LENGTH = 128;
+
+    /**
+     * 相关度搜索最多取回的候选题目数
+     */
+    private static final int MAX_RELEVANCE_HITS = 1000;
+
+    /**
+     * 列表查询的摘要列（不含 content、answer 等 TEXT 大字段）
+     */
+    private static final String[] SUMMARY_COLUMNS = {
+            "id", "title", "tags", "userId", "viewNum", "thumbNum", "favourNum", "commentNum", "createTime", "updateTime"
+    };
+
+    /**
+     * 内容摘要长度（字符）
+     */
+    private static final int SNIPPET_LENGTH = 120;
+
+    /**
+     * 生成摘要时从数据库截取的内容前缀长度（需覆盖 HTML 标签占用的字符）
+     */
+    private static final int SNIPPET_FETCH_LENGTH = 512;
+
     @Resource
     private QuestionBankQuestionMapper questionBankQuestionMapper;
 
+    @Resource
+    private QuestionBankMapper questionBankMapper;
+
     @Resource
     private QuestionThumbMapper questionThumbMapper;
 
@@ -60,7 +123,28 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
     private QuestionMapper questionMapper;
 
     @Resource
-    private UserClient userClient;
+    private QuestionTagMapper questionTagMapper;
+
+    @Resource
+    private UserCacheManager userCacheManager;
+
+    @Resource
+    private QuestionCacheManager questionCacheManager;
+
+    @Resource
+    private CounterManager counterManager;
+
+    @Resource
+    private QuestionSearchIndexManager questionSearchIndexManager;
+
+    @Resource
+    private ThumbFavourManager thumbFavourManager;
+
+    @Resource
+    private HotQuestionManager hotQuestionManager;
+
+    @Resource
+    private UniqueViewManager uniqueViewManager;
 
 
     @Override
@@ -81,6 +165,7 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         question.setViewNum(0);
         question.setThumbNum(0);
         question.setFavourNum(0);
+        question.setCommentNum(0);
         question.setCreateTime(new Date());
         question.setUpdateTime(new Date());
         question.setEditTime(new Date());
@@ -97,6 +182,9 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
             log.error("创建题目失败, userId={}, title={}", userId, dto.getTitle());
             throw new BusinessException(ErrorCode.DATABASE_OPERATION_ERROR, "创建题目失败");
         }
+        // 维护标签索引
+        syncQuestionTags(question.getId(), dto.getTags(), false);
+        questionSearchIndexManager.upsert(question.getId());
         log.info("创建题目成功, questionId={}", question.getId());
         return question.getId();
     }
@@ -134,6 +222,11 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         }
 
         boolean result = this.updateById(question);
+        if (dto.getTags() != null) {
+            syncQuestionTags(dto.getId(), dto.getTags(), true);
+        }
+        questionCacheManager.evict(dto.getId());
+        questionSearchIndexManager.upsert(dto.getId());
         log.info("更新题目完成, questionId={}, result={}", dto.getId(), result);
         return result;
     }
@@ -154,41 +247,83 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
             throw new BusinessException(ErrorCode.NO_FOUND, "题目不存在");
         }
 
-        // 解除该题目与所有题库的关联（硬删除关联记录）
+        // 解除该题目与所有题库的关联（硬删除关联记录），并扣减这些题库的题目数量
+        QueryWrapper<QuestionBankQuestion> relationWrapper = new QueryWrapper<>();
+        relationWrapper.select("questionBankId");
+        relationWrapper.eq("questionId", id);
+        Map<Long, Long> bankDeltas = questionBankQuestionMapper.selectList(relationWrapper).stream()
+                .collect(Collectors.toMap(QuestionBankQuestion::getQuestionBankId, relation -> -1L, Long::sum));
         QueryWrapper<QuestionBankQuestion> deleteWrapper = new QueryWrapper<>();
         deleteWrapper.eq("questionId", id);
         int deletedRelations = questionBankQuestionMapper.delete(deleteWrapper);
+        if (CollUtil.isNotEmpty(bankDeltas)) {
+            questionBankMapper.batchIncrementQuestionCount(bankDeltas);
+        }
         log.info("解除题目关联, questionId={}, deletedRelations={}", id, deletedRelations);
 
+        // 删除标签索引
+        QueryWrapper<QuestionTag> tagDeleteWrapper = new QueryWrapper<>();
+        tagDeleteWrapper.eq("questionId", id);
+        questionTagMapper.delete(tagDeleteWrapper);
+
         // 逻辑删除题目
         boolean result = this.removeById(id);
+        questionCacheManager.evict(id);
+        questionSearchIndexManager.delete(id);
+        hotQuestionManager.remove(id);
+        thumbFavourManager.removeQuestion(id);
         log.info("删除题目完成, questionId={}, result={}", id, result);
         return result;
     }
 
     @Override
-    public QuestionVO getQuestionById(Long id) {
+    public QuestionVO getQuestionById(Long id, String visitorKey) {
         // 参数校验
         if (ObjUtil.isEmpty(id)) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "题目ID不能为空");
         }
 
-        // 查询题目
-        Question question = this.getById(id);
-        if (question == null) {
+        // 查询题目（优先走二级缓存，缓存内容不含当前用户的点赞/收藏状态）
+        QuestionVO questionVO = getQuestionPreview(id);
+
+        // 增加浏览量（内存聚合后定时批量落库）
+        counterManager.incrQuestionView(id);
+        uniqueViewManager.recordQuestionVisitor(id, visitorKey);
+        hotQuestionManager.recordView(id);
+
+        // 缓存中的独立访客数可能已过期，读取最新估算值（get 返回的是副本，可直接修改）
+        questionVO.setUniqueViewNum(uniqueViewManager.getQuestionUniqueViewNum(id, questionVO.getUniqueViewNum()));
+        return questionVO;
+    }
+
+    @Override
+    public QuestionVO getQuestionPreview(Long id) {
+        // 参数校验
+        if (ObjUtil.isEmpty(id)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "题目ID不能为空");
+        }
+
+        // 查询题目（优先走二级缓存）
+        QuestionVO questionVO = questionCacheManager.get(id, key -> convertToVO(this.getById(key)));
+        if (questionVO == null) {
             throw new BusinessException(ErrorCode.NO_FOUND, "题目不存在");
         }
+        return questionVO;
+    }
 
-        // 增加浏览量
-        questionMapper.incrementViewNum(id);
+    @Override
+    public CacheStatsVO getQuestionCacheStats() {
+        return questionCacheManager.getStats();
+    }
 
-        // 转换为VO
-        return convertToVO(question);
+    @Override
+    public UserCacheStatsDTO getUserCacheStats() {
+        return userCacheManager.getStats();
     }
 
 
     @Override
-    public Page<QuestionVO> listQuestionByPage(QueryQuestionDTO dto) {
+    public Page<QuestionSummaryVO> listQuestionByPage(QueryQuestionDTO dto) {
         // 参数校验
         if (ObjUtil.isEmpty(dto)) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
@@ -197,22 +332,23 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         int current = dto.getCurrent();
         int pageSize = dto.getPageSize();
 
-        // 构建查询条件
+        // 构建查询条件（只查询摘要列）
         QueryWrapper<Question> queryWrapper = getQueryWrapper(dto);
+        selectSummaryColumns(queryWrapper, dto.getWithSnippet());
 
         // 分页查询
         Page<Question> page = this.page(new Page<>(current, pageSize), queryWrapper);
 
         // 使用批量转换优化
-        Page<QuestionVO> voPage = new Page<>(current, pageSize, page.getTotal());
-        List<QuestionVO> voList = convertToVOList(page.getRecords(), null);
+        Page<QuestionSummaryVO> voPage = new Page<>(current, pageSize, page.getTotal());
+        List<QuestionSummaryVO> voList = convertToSummaryVOList(page.getRecords(), null);
         voPage.setRecords(voList);
 
         return voPage;
     }
 
     @Override
-    public Page<QuestionVO> searchQuestion(SearchQuestionDTO dto) {
+    public Page<QuestionSummaryVO> searchQuestion(SearchQuestionDTO dto) {
         // 参数校验
         if (ObjUtil.isEmpty(dto)) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
@@ -221,41 +357,9 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         int current = dto.getCurrent();
         int pageSize = dto.getPageSize();
 
-        QueryWrapper<Question> queryWrapper = new QueryWrapper<>();
-
-        // 关键词搜索（标题模糊匹配）
-        String keyword = dto.getKeyword();
-        if (StrUtil.isNotBlank(keyword)) {
-            queryWrapper.like("title", keyword);
-        }
-
-        // 标签筛选
-        List<String> tags = dto.getTags();
-        if (CollUtil.isNotEmpty(tags)) {
-            for (String tag : tags) {
-                queryWrapper.like("tags", "\"" + tag + "\"");
-            }
-        }
-
-        // 题库筛选
-        Long questionBankId = dto.getQuestionBankId();
-        if (ObjUtil.isNotNull(questionBankId)) {
-            // 查询题库下的题目ID列表
-            QueryWrapper<QuestionBankQuestion> bankQuestionWrapper = new QueryWrapper<>();
-            bankQuestionWrapper.eq("questionBankId", questionBankId);
-            bankQuestionWrapper.select("questionId");
-            List<QuestionBankQuestion> bankQuestions = questionBankQuestionMapper.selectList(bankQuestionWrapper);
-            List<Long> questionIds = bankQuestions.stream()
-                    .map(QuestionBankQuestion::getQuestionId)
-                    .collect(Collectors.toList());
-            if (CollUtil.isEmpty(questionIds)) {
-                // 如果题库下没有题目，返回空结果
-                Page<QuestionVO> emptyPage = new Page<>(current, pageSize, 0);
-                emptyPage.setRecords(new ArrayList<>());
-                return emptyPage;
-            }
-            queryWrapper.in("id", questionIds);
-        }
+        // 构建搜索条件（只查询摘要列）
+        QueryWrapper<Question> queryWrapper = buildSearchWrapper(dto);
+        selectSummaryColumns(queryWrapper, dto.getWithSnippet());
 
         // 排序
         String sortField = dto.getSortField();
@@ -275,13 +379,197 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         Page<Question> page = this.page(new Page<>(current, pageSize), queryWrapper);
 
         // 使用批量转换优化
-        Page<QuestionVO> voPage = new Page<>(current, pageSize, page.getTotal());
-        List<QuestionVO> voList = convertToVOList(page.getRecords(), null);
+        Page<QuestionSummaryVO> voPage = new Page<>(current, pageSize, page.getTotal());
+        List<QuestionSummaryVO> voList = convertToSummaryVOList(page.getRecords(), null);
         voPage.setRecords(voList);
 
         return voPage;
     }
 
+    @Override
+    public CursorPageVO<QuestionSummaryVO> listQuestionByCursor(QueryQuestionDTO dto) {
+        // 参数校验
+        if (ObjUtil.isEmpty(dto)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+
+        QueryWrapper<Question> queryWrapper = new QueryWrapper<>();
+        applyQueryFilter(queryWrapper, dto);
+        selectSummaryColumns(queryWrapper, dto.getWithSnippet());
+        return queryByCursor(queryWrapper, dto, dto.getCursor());
+    }
+
+    @Override
+    public CursorPageVO<QuestionSummaryVO> searchQuestionByCursor(SearchQuestionDTO dto) {
+        // 参数校验
+        if (ObjUtil.isEmpty(dto)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+
+        QueryWrapper<Question> queryWrapper = buildSearchWrapper(dto);
+        selectSummaryColumns(queryWrapper, dto.getWithSnippet());
+        return queryByCursor(queryWrapper, dto, dto.getCursor());
+    }
+
+    @Override
+    public Page<QuestionSummaryVO> searchQuestionByRelevance(SearchQuestionDTO dto) {
+        // 参数校验
+        if (ObjUtil.isEmpty(dto)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+        // 没有关键词或索引尚未构建完成时，回退到数据库搜索
+        if (StrUtil.isBlank(dto.getKeyword()) || !questionSearchIndexManager.isReady()) {
+            return searchQuestion(dto);
+        }
+
+        int current = Math.max(dto.getCurrent(), 1);
+        int pageSize = dto.getPageSize();
+
+        // 全文索引按相关度召回候选题目
+        List<Long> rankedIds = questionSearchIndexManager.search(dto.getKeyword(), MAX_RELEVANCE_HITS);
+
+        // 有标签/题库筛选时，在候选集合内用数据库过滤（保持相关度顺序）
+        if (CollUtil.isNotEmpty(rankedIds)
+                && (CollUtil.isNotEmpty(dto.getTags()) || ObjUtil.isNotNull(dto.getQuestionBankId()))) {
+            SearchQuestionDTO filterDto = BeanUtil.copyProperties(dto, SearchQuestionDTO.class);
+            filterDto.setKeyword(null);
+            QueryWrapper<Question> filterWrapper = buildSearchWrapper(filterDto);
+            filterWrapper.select("id");
+            filterWrapper.in("id", rankedIds);
+            Set<Long> matchedIds = this.list(filterWrapper).stream()
+                    .map(Question::getId)
+                    .collect(Collectors.toSet());
+            rankedIds = rankedIds.stream()
+                    .filter(matchedIds::contains)
+                    .collect(Collectors.toList());
+        }
+
+        // 在内存中按相关度分页
+        Page<QuestionSummaryVO> voPage = new Page<>(current, pageSize, rankedIds.size());
+        int fromIndex = (int) Math.min((long) (current - 1) * pageSize, rankedIds.size());
+        int toIndex = Math.min(fromIndex + pageSize, rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(fromIndex, toIndex);
+        if (CollUtil.isEmpty(pageIds)) {
+            voPage.setRecords(new ArrayList<>());
+            return voPage;
+        }
+        voPage.setRecords(listSummaryInOrder(pageIds, dto.getWithSnippet()));
+        return voPage;
+    }
+
+    @Override
+    public List<TagFacetVO> searchTagFacets(SearchQuestionDTO dto) {
+        // 参数校验
+        if (ObjUtil.isEmpty(dto)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+
+        QueryWrapper<Question> queryWrapper = buildSearchWrapper(dto);
+        // 自定义 SQL 不会自动追加逻辑删除条件
+        queryWrapper.eq("isDelete", 0);
+        return questionTagMapper.countTagFacets(queryWrapper, MAX_TAG_FACET_SIZE);
+    }
+
+    /**
+     * 构建搜索条件（不含排序）
+     *
+     * @param dto 搜索参数
+     * @return 查询条件
+     */
+    private QueryWrapper<Question> buildSearchWrapper(SearchQuestionDTO dto) {
+        QueryWrapper<Question> queryWrapper = new QueryWrapper<>();
+
+        // 关键词搜索（标题模糊匹配）
+        String keyword = dto.getKeyword();
+        if (StrUtil.isNotBlank(keyword)) {
+            queryWrapper.like("title", keyword);
+        }
+
+        // 标签筛选（走 question_tag 关联表）
+        applyTagFilter(queryWrapper, dto.getTags(), dto.getTagMode());
+
+        // 题库筛选（EXISTS 子查询，由数据库完成过滤）
+        applyBankFilter(queryWrapper, dto.getQuestionBankId());
+
+        return queryWrapper;
+    }
+
+    /**
+     * 游标（keyset）分页查询
+     * 按 (排序字段, id) 定位上一页末尾，使用 WHERE 条件代替 OFFSET，且不执行 COUNT
+     *
+     * @param queryWrapper 已包含筛选条件和查询列的查询条件
+     * @param pageRequest 分页与排序参数
+     * @param cursor 上一页返回的游标
+     * @return 游标分页结果
+     */
+    private CursorPageVO<QuestionSummaryVO> queryByCursor(QueryWrapper<Question> queryWrapper, PageRequest pageRequest, String cursor) {
+        String sortField = pageRequest.getSortField();
+        if (StrUtil.isBlank(sortField) || !isValidSortField(sortField)) {
+            sortField = "createTime";
+        }
+        String sortOrder = pageRequest.getSortOrder();
+        boolean isAsc = "ascend".equals(sortOrder) || "asc".equals(sortOrder);
+        int pageSize = Math.min(Math.max(pageRequest.getPageSize(), 1), MAX_CURSOR_PAGE_SIZE);
+
+        // 定位到游标之后
+        CursorUtil.Cursor lastCursor = CursorUtil.decode(cursor, sortField, isAsc);
+        if (lastCursor != null) {
+            String field = sortField;
+            Object lastValue = toSortColumnValue(sortField, lastCursor.sortValue());
+            Long lastId = lastCursor.id();
+            if (isAsc) {
+                queryWrapper.and(w -> w.gt(field, lastValue)
+                        .or(o -> o.eq(field, lastValue).gt("id", lastId)));
+            } else {
+                queryWrapper.and(w -> w.lt(field, lastValue)
+                        .or(o -> o.eq(field, lastValue).lt("id", lastId)));
+            }
+        }
+        queryWrapper.orderBy(true, isAsc, sortField);
+        queryWrapper.orderBy(true, isAsc, "id");
+        // 多取一条用于判断是否还有下一页
+        queryWrapper.last("LIMIT " + (pageSize + 1));
+
+        List<Question> questions = this.list(queryWrapper);
+        boolean hasMore = questions.size() > pageSize;
+        if (hasMore) {
+            questions = questions.subList(0, pageSize);
+        }
+
+        CursorPageVO<QuestionSummaryVO> cursorPage = new CursorPageVO<>();
+        cursorPage.setRecords(convertToSummaryVOList(questions, null));
+        cursorPage.setHasMore(hasMore);
+        if (hasMore) {
+            Question last = questions.get(questions.size() - 1);
+            cursorPage.setNextCursor(CursorUtil.encode(sortField, isAsc, getSortValue(last, sortField), last.getId()));
+        }
+        return cursorPage;
+    }
+
+    /**
+     * 获取题目在排序字段上的值（时间字段转为毫秒时间戳）
+     */
+    private long getSortValue(Question question, String sortField) {
+        return switch (sortField) {
+            case "viewNum" -> ObjUtil.defaultIfNull(question.getViewNum(), 0);
+            case "thumbNum" -> ObjUtil.defaultIfNull(question.getThumbNum(), 0);
+            case "favourNum" -> ObjUtil.defaultIfNull(question.getFavourNum(), 0);
+            case "updateTime" -> question.getUpdateTime() != null ? question.getUpdateTime().getTime() : 0L;
+            default -> question.getCreateTime() != null ? question.getCreateTime().getTime() : 0L;
+        };
+    }
+
+    /**
+     * 将游标中的排序值还原为数据库列值
+     */
+    private Object toSortColumnValue(String sortField, long sortValue) {
+        if ("createTime".equals(sortField) || "updateTime".equals(sortField)) {
+            return new Date(sortValue);
+        }
+        return sortValue;
+    }
+
     /**
      * 验证排序字段是否合法
      */
@@ -290,9 +578,22 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         return validFields.contains(sortField);
     }
 
+    /**
+     * 列表查询只选择摘要列，content/answer 全文只在详情接口加载
+     *
+     * @param queryWrapper 查询条件
+     * @param withSnippet 是否需要内容摘要（为 true 时只截取 content 前缀）
+     */
+    private void selectSummaryColumns(QueryWrapper<Question> queryWrapper, Boolean withSnippet) {
+        List<String> columns = new ArrayList<>(List.of(SUMMARY_COLUMNS));
+        if (Boolean.TRUE.equals(withSnippet)) {
+            columns.add("LEFT(content, " + SNIPPET_FETCH_LENGTH + ") AS content");
+        }
+        queryWrapper.select(columns.toArray(new String[0]));
+    }
+
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Boolean thumbQuestion(Long questionId, Long userId) {
         log.info("点赞/取消点赞题目, questionId={}, userId={}", questionId, userId);
         // 参数校验
@@ -301,39 +602,19 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         }
 
         // 检查题目是否存在
-        Question question = this.getById(questionId);
-        if (question == null) {
+        if (questionCacheManager.get(questionId, key -> convertToVO(this.getById(key))) == null) {
             log.warn("点赞失败, 题目不存在, questionId={}", questionId);
             throw new BusinessException(ErrorCode.NO_FOUND, "题目不存在");
         }
 
-        // 查询是否已点赞
-        QueryWrapper<QuestionThumb> thumbWrapper = new QueryWrapper<>();
-        thumbWrapper.eq("questionId", questionId);
-        thumbWrapper.eq("userId", userId);
-        QuestionThumb existingThumb = questionThumbMapper.selectOne(thumbWrapper);
-
-        if (existingThumb != null) {
-            // 已点赞，取消点赞
-            questionThumbMapper.deleteById(existingThumb.getId());
-            questionMapper.updateThumbNum(questionId, -1);
-            log.info("取消点赞成功, questionId={}, userId={}", questionId, userId);
-            return false;
-        } else {
-            // 未点赞，添加点赞
-            QuestionThumb thumb = new QuestionThumb();
-            thumb.setQuestionId(questionId);
-            thumb.setUserId(userId);
-            thumb.setCreateTime(new Date());
-            questionThumbMapper.insert(thumb);
-            questionMapper.updateThumbNum(questionId, 1);
-            log.info("点赞成功, questionId={}, userId={}", questionId, userId);
-            return true;
-        }
+        // 在 Redis 中切换点赞状态，关联记录与点赞数由后台任务批量落库
+        boolean thumbed = thumbFavourManager.toggle(ThumbFavourManager.ToggleType.THUMB, questionId, userId);
+        hotQuestionManager.recordThumb(questionId, userId, thumbed);
+        log.info("{}成功, questionId={}, userId={}", thumbed ? "点赞" : "取消点赞", questionId, userId);
+        return thumbed;
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Boolean favourQuestion(Long questionId, Long userId) {
         log.info("收藏/取消收藏题目, questionId={}, userId={}", questionId, userId);
         // 参数校验
@@ -342,39 +623,20 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         }
 
         // 检查题目是否存在
-        Question question = this.getById(questionId);
-        if (question == null) {
+        if (questionCacheManager.get(questionId, key -> convertToVO(this.getById(key))) == null) {
             log.warn("收藏失败, 题目不存在, questionId={}", questionId);
             throw new BusinessException(ErrorCode.NO_FOUND, "题目不存在");
         }
 
-        // 查询是否已收藏
-        QueryWrapper<QuestionFavour> favourWrapper = new QueryWrapper<>();
-        favourWrapper.eq("questionId", questionId);
-        favourWrapper.eq("userId", userId);
-        QuestionFavour existingFavour = questionFavourMapper.selectOne(favourWrapper);
-
-        if (existingFavour != null) {
-            // 已收藏，取消收藏
-            questionFavourMapper.deleteById(existingFavour.getId());
-            questionMapper.updateFavourNum(questionId, -1);
-            log.info("取消收藏成功, questionId={}, userId={}", questionId, userId);
-            return false;
-        } else {
-            // 未收藏，添加收藏
-            QuestionFavour favour = new QuestionFavour();
-            favour.setQuestionId(questionId);
-            favour.setUserId(userId);
-            favour.setCreateTime(new Date());
-            questionFavourMapper.insert(favour);
-            questionMapper.updateFavourNum(questionId, 1);
-            log.info("收藏成功, questionId={}, userId={}", questionId, userId);
-            return true;
-        }
+        // 在 Redis 中切换收藏状态，关联记录与收藏数由后台任务批量落库
+        boolean favoured = thumbFavourManager.toggle(ThumbFavourManager.ToggleType.FAVOUR, questionId, userId);
+        hotQuestionManager.recordFavour(questionId, userId, favoured);
+        log.info("{}成功, questionId={}, userId={}", favoured ? "收藏" : "取消收藏", questionId, userId);
+        return favoured;
     }
 
     @Override
-    public Page<QuestionVO> listFavourQuestion(Long userId, PageRequest pageRequest) {
+    public Page<QuestionSummaryVO> listFavourQuestion(Long userId, PageRequest pageRequest) {
         // 参数校验
         if (ObjUtil.isEmpty(userId)) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "用户ID不能为空");
@@ -394,29 +656,48 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
 
         if (CollUtil.isEmpty(questionIds)) {
             // 如果没有收藏，返回空结果
-            Page<QuestionVO> emptyPage = new Page<>(current, pageSize, 0);
+            Page<QuestionSummaryVO> emptyPage = new Page<>(current, pageSize, 0);
             emptyPage.setRecords(new ArrayList<>());
             return emptyPage;
         }
 
-        // 查询题目
+        // 查询题目（只查询摘要列）
         QueryWrapper<Question> queryWrapper = new QueryWrapper<>();
+        selectSummaryColumns(queryWrapper, false);
         queryWrapper.in("id", questionIds);
         queryWrapper.orderByDesc("createTime");
 
         Page<Question> page = this.page(new Page<>(current, pageSize), queryWrapper);
 
-        // 转换为VO
-        Page<QuestionVO> voPage = new Page<>(current, pageSize, page.getTotal());
-        List<QuestionVO> voList = page.getRecords().stream()
-                .map(q -> convertToVO(q, userId))
-                .collect(Collectors.toList());
+        // 使用批量转换优化（用户信息与点赞/收藏状态均按页批量查询）
+        Page<QuestionSummaryVO> voPage = new Page<>(current, pageSize, page.getTotal());
+        List<QuestionSummaryVO> voList = convertToSummaryVOList(page.getRecords(), userId);
         voPage.setRecords(voList);
 
         return voPage;
     }
 
 
+    @Override
+    public Page<QuestionSummaryVO> listHotQuestion(PageRequest pageRequest) {
+        // 参数校验
+        if (ObjUtil.isEmpty(pageRequest)) {
+            throw new BusinessException(ErrorCode.NULL_ERROR, "请求参数不能为空");
+        }
+        int current = Math.max(pageRequest.getCurrent(), 1);
+        int pageSize = Math.min(Math.max(pageRequest.getPageSize(), 1), MAX_HOT_PAGE_SIZE);
+
+        // 从热度排行中按页读取题目ID，再按ID查询摘要（保持热度顺序）
+        List<Long> pageIds = hotQuestionManager.listHotIds((long) (current - 1) * pageSize, pageSize);
+        Page<QuestionSummaryVO> voPage = new Page<>(current, pageSize, hotQuestionManager.size());
+        if (CollUtil.isEmpty(pageIds)) {
+            voPage.setRecords(new ArrayList<>());
+            return voPage;
+        }
+        voPage.setRecords(listSummaryInOrder(pageIds, false));
+        return voPage;
+    }
+
     @Override
     public QueryWrapper<Question> getQueryWrapper(QueryQuestionDTO dto) {
         QueryWrapper<Question> queryWrapper = new QueryWrapper<>();
@@ -425,14 +706,37 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
             return queryWrapper;
         }
 
+        String sortField = dto.getSortField();
+        String sortOrder = dto.getSortOrder();
+
+        // 构建查询条件
+        applyQueryFilter(queryWrapper, dto);
+
+        // 排序
+        if (StrUtil.isNotBlank(sortField) && isValidSortField(sortField)) {
+            boolean isAsc = "ascend".equals(sortOrder) || "asc".equals(sortOrder);
+            queryWrapper.orderBy(true, isAsc, sortField);
+        } else {
+            // 默认按创建时间降序
+            queryWrapper.orderByDesc("createTime");
+        }
+
+        return queryWrapper;
+    }
+
+    /**
+     * 应用题目列表查询的筛选条件（不含排序）
+     *
+     * @param queryWrapper 查询条件
+     * @param dto 查询参数
+     */
+    private void applyQueryFilter(QueryWrapper<Question> queryWrapper, QueryQuestionDTO dto) {
         Long id = dto.getId();
         String title = dto.getTitle();
         String content = dto.getContent();
         List<String> tags = dto.getTags();
         Long userId = dto.getUserId();
         Long questionBankId = dto.getQuestionBankId();
-        String sortField = dto.getSortField();
-        String sortOrder = dto.getSortOrder();
 
         // 构建查询条件
         queryWrapper.eq(ObjUtil.isNotNull(id), "id", id);
@@ -440,40 +744,90 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         queryWrapper.like(StrUtil.isNotBlank(content), "content", content);
         queryWrapper.eq(ObjUtil.isNotNull(userId), "userId", userId);
 
-        // 标签筛选
-        if (CollUtil.isNotEmpty(tags)) {
-            for (String tag : tags) {
-                queryWrapper.like("tags", "\"" + tag + "\"");
-            }
+        // 标签筛选（走 question_tag 关联表）
+        applyTagFilter(queryWrapper, tags, dto.getTagMode());
+
+        // 题库筛选（EXISTS 子查询，由数据库完成过滤）
+        applyBankFilter(queryWrapper, questionBankId);
+    }
+
+    /**
+     * 应用标签筛选条件
+     * 通过 question_tag 子查询解析出满足条件的题目ID，替代对 tags JSON 列的 LIKE 全表扫描
+     *
+     * @param queryWrapper 查询条件
+     * @param tags 标签列表
+     * @param tagMode 组合方式：and（同时包含所有标签，默认）/ or（包含任一标签）
+     */
+    private void applyTagFilter(QueryWrapper<Question> queryWrapper, List<String> tags, String tagMode) {
+        List<String> tagNames = normalizeTags(tags);
+        if (CollUtil.isEmpty(tagNames)) {
+            return;
         }
+        String placeholders = IntStream.range(0, tagNames.size())
+                .mapToObj(i -> "{" + i + "}")
+                .collect(Collectors.joining(","));
+        String tagSql = "SELECT questionId FROM question_tag WHERE tagName IN (" + placeholders + ")";
+        if (!"or".equalsIgnoreCase(tagMode)) {
+            tagSql += " GROUP BY questionId HAVING COUNT(DISTINCT tagName) = " + tagNames.size();
+        }
+        queryWrapper.apply("id IN (" + tagSql + ")", tagNames.toArray());
+    }
 
-        // 题库筛选
-        if (ObjUtil.isNotNull(questionBankId)) {
-            QueryWrapper<QuestionBankQuestion> bankQuestionWrapper = new QueryWrapper<>();
-            bankQuestionWrapper.eq("questionBankId", questionBankId);
-            bankQuestionWrapper.select("questionId");
-            List<QuestionBankQuestion> bankQuestions = questionBankQuestionMapper.selectList(bankQuestionWrapper);
-            List<Long> questionIds = bankQuestions.stream()
-                    .map(QuestionBankQuestion::getQuestionId)
-                    .collect(Collectors.toList());
-            if (CollUtil.isNotEmpty(questionIds)) {
-                queryWrapper.in("id", questionIds);
-            } else {
-                // 如果题库下没有题目，返回空结果
-                queryWrapper.eq("id", -1);
-            }
+    /**
+     * 应用题库筛选条件
+     * 使用 EXISTS 关联 question_bank_question（命中唯一索引 questionBankId, questionId），
+     * 由数据库完成过滤、排序和分页，不再把题库下的全部题目ID读到应用层再拼成 IN 列表
+     *
+     * @param queryWrapper 查询条件
+     * @param questionBankId 题库ID
+     */
+    private void applyBankFilter(QueryWrapper<Question> queryWrapper, Long questionBankId) {
+        if (ObjUtil.isNull(questionBankId)) {
+            return;
         }
+        queryWrapper.apply("EXISTS (SELECT 1 FROM question_bank_question qbq"
+                + " WHERE qbq.questionId = question.id AND qbq.questionBankId = {0})", questionBankId);
+    }
 
-        // 排序
-        if (StrUtil.isNotBlank(sortField) && isValidSortField(sortField)) {
-            boolean isAsc = "ascend".equals(sortOrder) || "asc".equals(sortOrder);
-            queryWrapper.orderBy(true, isAsc, sortField);
-        } else {
-            // 默认按创建时间降序
-            queryWrapper.orderByDesc("createTime");
+    /**
+     * 同步题目的标签索引
+     *
+     * @param questionId 题目ID
+     * @param tags 标签列表
+     * @param replace 是否先清除原有标签
+     */
+    private void syncQuestionTags(Long questionId, List<String> tags, boolean replace) {
+        if (replace) {
+            QueryWrapper<QuestionTag> deleteWrapper = new QueryWrapper<>();
+            deleteWrapper.eq("questionId", questionId);
+            questionTagMapper.delete(deleteWrapper);
+        }
+        List<String> tagNames = normalizeTags(tags);
+        if (CollUtil.isNotEmpty(tagNames)) {
+            questionTagMapper.insertTags(questionId, tagNames);
         }
+    }
 
-        return queryWrapper;
+    /**
+     * 标签规范化：去除首尾空白、空标签与重复标签
+     * 超长标签无法写入 question_tag，直接拒绝（静默丢弃会让标签筛选退化为不筛选）
+     */
+    private List<String> normalizeTags(List<String> tags) {
+        if (CollUtil.isEmpty(tags)) {
+            return new ArrayList<>();
+        }
+        List<String> tagNames = tags.stream()
+                .filter(StrUtil::isNotBlank)
+                .map(String::trim)
+                .distinct()
+                .collect(Collectors.toList());
+        for (String tagName : tagNames) {
+            if (tagName.length() > MAX_TAG_LENGTH) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "标签长度不能超过" + MAX_TAG_LENGTH + "个字符");
+            }
+        }
+        return tagNames;
     }
 
     @Override
@@ -514,39 +868,16 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
         vo.setTags(parseTagsFromJson(question.getTags()));
 
         // 设置用户点赞/收藏状态
-        if (userId != null) {
-            // 查询是否点赞
-            QueryWrapper<QuestionThumb> thumbWrapper = new QueryWrapper<>();
-            thumbWrapper.eq("questionId", question.getId());
-            thumbWrapper.eq("userId", userId);
-            vo.setHasThumb(questionThumbMapper.selectCount(thumbWrapper) > 0);
-
-            // 查询是否收藏
-            QueryWrapper<QuestionFavour> favourWrapper = new QueryWrapper<>();
-            favourWrapper.eq("questionId", question.getId());
-            favourWrapper.eq("userId", userId);
-            vo.setHasFavour(questionFavourMapper.selectCount(favourWrapper) > 0);
-        } else {
-            vo.setHasThumb(false);
-            vo.setHasFavour(false);
-        }
-
-        // 通过远程调用获取用户名称
-        try {
-            if (question.getUserId() != null) {
-                BaseResponse<UserDTO> userResponse = userClient.getUserById(question.getUserId());
-                if (userResponse != null && userResponse.getData() != null) {
-                    vo.setUserName(userResponse.getData().getUserName());
-                }
-            }
-        } catch (Exception e) {
-            log.warn("获取用户信息失败, userId={}, error={}", question.getUserId(), e.getMessage());
-            // 降级处理，不影响主流程
+        List<Long> questionIds = List.of(question.getId());
+        vo.setHasThumb(listThumbedQuestionIds(userId, questionIds).contains(question.getId()));
+        vo.setHasFavour(listFavouredQuestionIds(userId, questionIds).contains(question.getId()));
+
+        // 获取用户名称（优先走本地缓存，未命中时远程调用；失败时降级，不影响主流程）
+        UserDTO user = userCacheManager.getUser(question.getUserId());
+        if (user != null) {
+            vo.setUserName(user.getUserName());
         }
 
-        // TODO: 可以查询评论数
-        // vo.setCommentNum(commentService.countByQuestionId(question.getId()));
-
         return vo;
     }
 
@@ -566,15 +897,15 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
     }
 
     /**
-     * 批量转换 Question 列表为 QuestionVO 列表
+     * 批量转换 Question 列表为 QuestionSummaryVO 列表
      * 优化：批量获取用户信息，减少远程调用次数
      *
-     * @param questions 题目列表
+     * @param questions 题目列表（摘要列）
      * @param currentUserId 当前用户ID（用于判断点赞/收藏状态）
-     * @return QuestionVO 列表
+     * @return QuestionSummaryVO 列表
      */
     @Override
-    public List<QuestionVO> convertToVOList(List<Question> questions, Long currentUserId) {
+    public List<QuestionSummaryVO> convertToSummaryVOList(List<Question> questions, Long currentUserId) {
         if (CollUtil.isEmpty(questions)) {
             return new ArrayList<>();
         }
@@ -586,27 +917,27 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
                 .distinct()
                 .collect(Collectors.toList());
 
-        // 批量获取用户信息
-        Map<Long, UserDTO> userMap = new java.util.HashMap<>();
-        if (CollUtil.isNotEmpty(userIds)) {
-            try {
-                BaseResponse<List<UserDTO>> userResponse = userClient.getUserListByIds(userIds);
-                if (userResponse != null && CollUtil.isNotEmpty(userResponse.getData())) {
-                    userMap = userResponse.getData().stream()
-                            .filter(u -> u != null && u.getId() != null)
-                            .collect(Collectors.toMap(UserDTO::getId, u -> u, (a, b) -> a));
-                }
-            } catch (Exception e) {
-                log.warn("批量获取用户信息失败, userIds={}, error={}", userIds, e.getMessage());
-                // 降级处理，不影响主流程
-            }
+        // 批量获取用户信息（本地缓存未命中的ID合并为一次远程调用）
+        Map<Long, UserDTO> userMap = userCacheManager.getUsers(userIds);
+
+        // 批量查询当前用户的点赞/收藏状态（每页各一次 IN 查询）
+        Set<Long> thumbedIds = new HashSet<>();
+        Set<Long> favouredIds = new HashSet<>();
+        if (currentUserId != null) {
+            List<Long> questionIds = questions.stream()
+                    .map(Question::getId)
+                    .collect(Collectors.toList());
+            thumbedIds = listThumbedQuestionIds(currentUserId, questionIds);
+            favouredIds = listFavouredQuestionIds(currentUserId, questionIds);
         }
 
         // 转换为 VO 列表
         Map<Long, UserDTO> finalUserMap = userMap;
+        Set<Long> finalThumbedIds = thumbedIds;
+        Set<Long> finalFavouredIds = favouredIds;
         return questions.stream()
                 .map(question -> {
-                    QuestionVO vo = convertToVOWithoutUser(question, currentUserId);
+                    QuestionSummaryVO vo = convertToSummaryVO(question, finalThumbedIds, finalFavouredIds);
                     // 从缓存的用户信息中获取用户名
                     if (question.getUserId() != null && finalUserMap.containsKey(question.getUserId())) {
                         vo.setUserName(finalUserMap.get(question.getUserId()).getUserName());
@@ -617,35 +948,93 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question>
     }
 
     /**
-     * 转换为 VO（不包含用户信息查询，用于批量转换）
+     * 转换为摘要 VO（不包含用户信息查询，用于批量转换）
+     *
+     * @param question 题目实体（摘要列）
+     * @param thumbedIds 当前用户已点赞的题目ID集合
+     * @param favouredIds 当前用户已收藏的题目ID集合
      */
-    private QuestionVO convertToVOWithoutUser(Question question, Long userId) {
-        if (question == null) {
-            return null;
-        }
-
-        QuestionVO vo = new QuestionVO();
-        BeanUtil.copyProperties(question, vo);
+    private QuestionSummaryVO convertToSummaryVO(Question question, Set<Long> thumbedIds, Set<Long> favouredIds) {
+        QuestionSummaryVO vo = new QuestionSummaryVO();
+        BeanUtil.copyProperties(question, vo, "tags");
 
         // 解析标签
         vo.setTags(parseTagsFromJson(question.getTags()));
 
-        // 设置用户点赞/收藏状态
-        if (userId != null) {
-            QueryWrapper<QuestionThumb> thumbWrapper = new QueryWrapper<>();
-            thumbWrapper.eq("questionId", question.getId());
-            thumbWrapper.eq("userId", userId);
-            vo.setHasThumb(questionThumbMapper.selectCount(thumbWrapper) > 0);
-
-            QueryWrapper<QuestionFavour> favourWrapper = new QueryWrapper<>();
-            favourWrapper.eq("questionId", question.getId());
-            favourWrapper.eq("userId", userId);
-            vo.setHasFavour(questionFavourMapper.selectCount(favourWrapper) > 0);
-        } else {
-            vo.setHasThumb(false);
-            vo.setHasFavour(false);
+        // 内容摘要（只有请求了摘要时才会查询 content 前缀）
+        if (StrUtil.isNotBlank(question.getContent())) {
+            String plainText = HtmlUtil.cleanHtmlTag(question.getContent()).replaceAll("\\s+", " ").trim();
+            vo.setSnippet(StrUtil.maxLength(plainText, SNIPPET_LENGTH));
         }
 
+        // 设置用户点赞/收藏状态
+        vo.setHasThumb(thumbedIds.contains(question.getId()));
+        vo.setHasFavour(favouredIds.contains(question.getId()));
+
         return vo;
     }
+
+    /**
+     * 按给定ID顺序查询题目摘要（已删除的题目会被跳过）
+     *
+     * @param orderedIds 有序的题目ID列表
+     * @param withSnippet 是否需要内容摘要
+     * @return 题目摘要列表
+     */
+    private List<QuestionSummaryVO> listSummaryInOrder(List<Long> orderedIds, Boolean withSnippet) {
+        QueryWrapper<Question> pageWrapper = new QueryWrapper<>();
+        selectSummaryColumns(pageWrapper, withSnippet);
+        pageWrapper.in("id", orderedIds);
+        Map<Long, Question> questionMap = this.list(pageWrapper).stream()
+                .collect(Collectors.toMap(Question::getId, q -> q));
+        List<Question> orderedQuestions = orderedIds.stream()
+                .map(questionMap::get)
+                .filter(ObjUtil::isNotNull)
+                .collect(Collectors.toList());
+        return convertToSummaryVOList(orderedQuestions, null);
+    }
+
+    /**
+     * 批量查询用户在指定题目中已点赞的题目ID
+     *
+     * @param userId 用户ID
+     * @param questionIds 题目ID列表
+     * @return 已点赞的题目ID集合
+     */
+    private Set<Long> listThumbedQuestionIds(Long userId, List<Long> questionIds) {
+        if (userId == null || CollUtil.isEmpty(questionIds)) {
+            return new HashSet<>();
+        }
+        QueryWrapper<QuestionThumb> thumbWrapper = new QueryWrapper<>();
+        thumbWrapper.select("questionId");
+        thumbWrapper.eq("userId", userId);
+        thumbWrapper.in("questionId", questionIds);
+        Set<Long> thumbedIds = questionThumbMapper.selectList(thumbWrapper).stream()
+                .map(QuestionThumb::getQuestionId)
+                .collect(Collectors.toSet());
+        // 叠加尚未落库的点赞变更
+        return thumbFavourManager.applyPendingChanges(ThumbFavourManager.ToggleType.THUMB, userId, questionIds, thumbedIds);
+    }
+
+    /**
+     * 批量查询用户在指定题目中已收藏的题目ID
+     *
+     * @param userId 用户ID
+     * @param questionIds 题目ID列表
+     * @return 已收藏的题目ID集合
+     */
+    private Set<Long> listFavouredQuestionIds(Long userId, List<Long> questionIds) {
+        if (userId == null || CollUtil.isEmpty(questionIds)) {
+            return new HashSet<>();
+        }
+        QueryWrapper<QuestionFavour> favourWrapper = new QueryWrapper<>();
+        favourWrapper.select("questionId");
+        favourWrapper.eq("userId", userId);
+        favourWrapper.in("questionId", questionIds);
+        Set<Long> favouredIds = questionFavourMapper.selectList(favourWrapper).stream()
+                .map(QuestionFavour::getQuestionId)
+                .collect(Collectors.toSet());
+        // 叠加尚未落库的收藏变更
+        return thumbFavourManager.applyPendingChanges(ThumbFavourManager.ToggleType.FAVOUR, userId, questionIds, favouredIds);
+    }
 }
@@ -0,0 +1,74 @@
+package com.leot.baguservice.utils;
+
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import com.leot.leotcommon.GlobalReture.ErrorCode;
+import com.leot.leotcommon.exception.BusinessException;
+
+/**
+ * 游标分页工具
+ * 游标记录上一页最后一条数据的 (排序字段值, id)，编码为 URL 安全的 Base64 字符串，对客户端不透明
+ */
+public class CursorUtil {
+
+    private CursorUtil() {
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param sortField 排序字段
+     * @param asc       是否升序
+     * @param sortValue 最后一条数据的排序字段值（时间字段为毫秒时间戳）
+     * @param id        最后一条数据的ID
+     * @return 游标字符串
+     */
+    public static String encode(String sortField, boolean asc, long sortValue, long id) {
+        JSONObject json = new JSONObject();
+        json.set("f", sortField);
+        json.set("a", asc);
+        json.set("v", sortValue);
+        json.set("i", id);
+        return Base64.encodeUrlSafe(json.toString());
+    }
+
+    /**
+     * 解码游标，并校验与当前请求的排序方式一致
+     *
+     * @param cursor    游标字符串
+     * @param sortField 当前请求的排序字段
+     * @param asc       当前请求是否升序
+     * @return 游标内容，cursor 为空时返回 null（表示第一页）
+     */
+    public static Cursor decode(String cursor, String sortField, boolean asc) {
+        if (StrUtil.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            JSONObject json = JSONUtil.parseObj(Base64.decodeStr(cursor));
+            Cursor result = new Cursor(json.getStr("f"), json.getBool("a"), json.getLong("v"), json.getLong("i"));
+            if (!sortField.equals(result.sortField()) || asc != result.asc()
+                    || result.sortValue() == null || result.id() == null) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标与排序条件不匹配");
+            }
+            return result;
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+        }
+    }
+
+    /**
+     * 游标内容
+     *
+     * @param sortField 排序字段
+     * @param asc       是否升序
+     * @param sortValue 排序字段值
+     * @param id        数据ID
+     */
+    public record Cursor(String sortField, Boolean asc, Long sortValue, Long id) {
+    }
+}
@@ -0,0 +1,345 @@
+package com.leot.baguservice.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 题目文本切分工具
+ * 单遍扫描 PDF 提取的文本，按题目编号切分题目，再在每道题内查找答案标记，只输出标题、内容、答案在原文中的区间，
+ * 不创建中间子串。切分规则与原先的正则实现一致：
+ * 题目编号须位于文本开头或换行之后（前面可有空白），支持 "1."、"1、"、"Q1:"、"题目1"、"第1题"、"问题1"；
+ * 答案标记同样位于行首，支持 "答案:"、"Answer:"、"参考答案:"、"A:"（英文不区分大小写，冒号可为全角）；
+ * 答案标记之前的第一行为标题（超过 100 字时在标点处截断），其余为内容；没有任何题目编号时整段文本作为一道题。
+ */
+public class QuestionTokenizer {
+
+    /**
+     * 标题最大长度
+     */
+    private static final int MAX_TITLE_LENGTH = 100;
+
+    /**
+     * 标题截断可选的标点
+     */
+    private static final String TITLE_PUNCTUATION = "。？！?!；;，,";
+
+    private QuestionTokenizer() {
+    }
+
+    /**
+     * 题目区间（均为原文中的 [start, end) 下标，空区间表示该部分为空）
+     */
+    public record QuestionSpan(int titleStart, int titleEnd,
+                               int contentStart, int contentEnd,
+                               int answerStart, int answerEnd) {
+
+        public String title(CharSequence text) {
+            return text.subSequence(titleStart, titleEnd).toString();
+        }
+
+        public String content(CharSequence text) {
+            return text.subSequence(contentStart, contentEnd).toString();
+        }
+
+        public String answer(CharSequence text) {
+            return text.subSequence(answerStart, answerEnd).toString();
+        }
+    }
+
+    /**
+     * 切分题目
+     *
+     * @param text PDF 提取的文本
+     * @return 按出现顺序排列的题目区间（标题为空的题目已过滤）
+     */
+    public static List<QuestionSpan> tokenize(CharSequence text) {
+        List<QuestionSpan> spans = new ArrayList<>();
+        if (text == null || trimStart(text, 0, text.length()) == text.length()) {
+            return spans;
+        }
+        int length = text.length();
+
+        // 1. 查找第一个题目编号
+        long match = findQuestionMarker(text, 0);
+        if (match < 0) {
+            // 没有题目编号，整段文本作为一道题目
+            int start = trimStart(text, 0, length);
+            int end = trimEnd(text, start, length);
+            spans.add(buildSpan(text, start, end, end, end));
+            return spans;
+        }
+
+        // 2. 每找到下一个题目编号，上一道题的范围随之确定
+        while (match >= 0) {
+            int matchStart = (int) (match >>> 32);
+            int matchEnd = (int) match;
+            long next = findQuestionMarker(text, matchEnd);
+            int segmentEnd = next >= 0 ? (int) (next >>> 32) : length;
+
+            QuestionSpan span = scanQuestion(text, matchStart, matchEnd, segmentEnd);
+            if (span.titleEnd() > span.titleStart()) {
+                spans.add(span);
+            }
+            match = next;
+        }
+        return spans;
+    }
+
+    /**
+     * 解析一道题目：去掉编号后查找答案标记，拆分标题、内容、答案
+     */
+    private static QuestionSpan scanQuestion(CharSequence text, int segmentStart, int markerEnd, int segmentEnd) {
+        int end = trimEnd(text, segmentStart, segmentEnd);
+        int start = trimStart(text, Math.min(markerEnd, end), end);
+
+        // 答案标记只在题目开头或换行处匹配
+        for (int i = start; i < end; i++) {
+            if (i != start && text.charAt(i) != '\n') {
+                continue;
+            }
+            int answerEnd = matchAnswerMarker(text, i == start ? i : i + 1, end);
+            if (answerEnd >= 0) {
+                return buildSpan(text, start, trimEnd(text, start, i), trimStart(text, answerEnd, end), end);
+            }
+        }
+        return buildSpan(text, start, end, end, end);
+    }
+
+    /**
+     * 由题干区间和答案区间构建题目区间：题干第一行为标题，其余为内容
+     */
+    private static QuestionSpan buildSpan(CharSequence text, int stemStart, int stemEnd, int answerStart, int answerEnd) {
+        int lineEnd = stemStart;
+        while (lineEnd < stemEnd && text.charAt(lineEnd) != '\n') {
+            lineEnd++;
+        }
+        int titleStart = trimStart(text, stemStart, lineEnd);
+        int titleEnd = trimEnd(text, titleStart, lineEnd);
+        if (titleEnd - titleStart > MAX_TITLE_LENGTH) {
+            titleEnd = titleStart + findCutIndex(text, titleStart);
+        }
+
+        int contentStart = stemEnd;
+        int contentEnd = stemEnd;
+        if (lineEnd < stemEnd) {
+            contentStart = trimStart(text, lineEnd + 1, stemEnd);
+            contentEnd = trimEnd(text, contentStart, stemEnd);
+        }
+        int answerTrimmedEnd = trimEnd(text, answerStart, answerEnd);
+        return new QuestionSpan(titleStart, titleEnd, contentStart, contentEnd, answerStart, answerTrimmedEnd);
+    }
+
+    /**
+     * 从 from 开始查找下一个题目编号
+     *
+     * @return 高 32 位为匹配起点（文本开头或换行符位置），低 32 位为编号及其后空白的结束位置；未找到返回 -1
+     */
+    private static long findQuestionMarker(CharSequence text, int from) {
+        int length = text.length();
+        for (int i = from; i < length; i++) {
+            if (i != 0 && text.charAt(i) != '\n') {
+                continue;
+            }
+            int markerStart = skipSpaces(text, i == 0 ? 0 : i + 1, length);
+            int markerEnd = matchQuestionMarker(text, markerStart, length);
+            if (markerEnd >= 0) {
+                return ((long) i << 32) | skipSpaces(text, markerEnd, length);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 匹配题目编号
+     *
+     * @return 编号结束位置，不匹配返回 -1
+     */
+    private static int matchQuestionMarker(CharSequence text, int pos, int limit) {
+        if (pos >= limit) {
+            return -1;
+        }
+        char c = text.charAt(pos);
+        // 1. 或 1、
+        if (isDigit(c)) {
+            int digitsEnd = skipDigits(text, pos, limit);
+            if (digitsEnd < limit) {
+                char d = text.charAt(digitsEnd);
+                if (d == '.' || d == '、' || d == '．') {
+                    return digitsEnd + 1;
+                }
+            }
+            return -1;
+        }
+        // Q1: 或 Q1：
+        if (c == 'Q' || c == 'q' || c == 'Ｑ') {
+            int digitsEnd = skipDigits(text, pos + 1, limit);
+            if (digitsEnd > pos + 1 && digitsEnd < limit) {
+                char d = text.charAt(digitsEnd);
+                if (d == ':' || d == '：') {
+                    return digitsEnd + 1;
+                }
+            }
+            return -1;
+        }
+        // 题目1
+        if (c == '题' && pos + 1 < limit && text.charAt(pos + 1) == '目') {
+            return matchNumber(text, pos + 2, limit);
+        }
+        // 第1题
+        if (c == '第') {
+            int numberEnd = matchNumber(text, pos + 1, limit);
+            if (numberEnd < 0) {
+                return -1;
+            }
+            int suffix = skipSpaces(text, numberEnd, limit);
+            return suffix < limit && text.charAt(suffix) == '题' ? suffix + 1 : -1;
+        }
+        // 问题1
+        if (c == '问' && pos + 1 < limit && text.charAt(pos + 1) == '题') {
+            return matchNumber(text, pos + 2, limit);
+        }
+        return -1;
+    }
+
+    /**
+     * 匹配答案标记（含其后的冒号和空白）
+     *
+     * @return 标记结束位置，不匹配返回 -1
+     */
+    private static int matchAnswerMarker(CharSequence text, int from, int limit) {
+        int pos = skipSpaces(text, from, limit);
+        if (pos >= limit) {
+            return -1;
+        }
+        // 各写法依次尝试，关键字匹配但缺少冒号时继续尝试后面的写法
+        int colon = -1;
+        char c = text.charAt(pos);
+        if (c == '答' && startsWith(text, pos, limit, "答案")) {
+            colon = matchColon(text, pos + 2, limit);
+        }
+        if (colon < 0 && (c == 'A' || c == 'a') && startsWithIgnoreCase(text, pos, limit, "answer")) {
+            colon = matchColon(text, pos + 6, limit);
+        }
+        if (colon < 0 && c == '参' && startsWith(text, pos, limit, "参考答案")) {
+            colon = matchColon(text, pos + 4, limit);
+        }
+        if (colon < 0 && (c == 'A' || c == 'a' || c == 'Ａ')) {
+            colon = matchColon(text, pos + 1, limit);
+        }
+        return colon < 0 ? -1 : skipSpaces(text, colon, limit);
+    }
+
+    /**
+     * 匹配空白后的冒号
+     *
+     * @return 冒号之后的位置，不匹配返回 -1
+     */
+    private static int matchColon(CharSequence text, int from, int limit) {
+        int pos = skipSpaces(text, from, limit);
+        if (pos < limit && (text.charAt(pos) == ':' || text.charAt(pos) == '：')) {
+            return pos + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * 匹配空白后的数字
+     *
+     * @return 数字结束位置，不匹配返回 -1
+     */
+    private static int matchNumber(CharSequence text, int from, int limit) {
+        int pos = skipSpaces(text, from, limit);
+        int digitsEnd = skipDigits(text, pos, limit);
+        return digitsEnd > pos ? digitsEnd : -1;
+    }
+
+    /**
+     * 在标题前 100 字内从后向前找标点截断
+     *
+     * @return 截断后的标题长度
+     */
+    private static int findCutIndex(CharSequence text, int titleStart) {
+        for (int i = MAX_TITLE_LENGTH - 1; i >= MAX_TITLE_LENGTH / 2; i--) {
+            if (TITLE_PUNCTUATION.indexOf(text.charAt(titleStart + i)) >= 0) {
+                return i + 1;
+            }
+        }
+        return MAX_TITLE_LENGTH;
+    }
+
+    private static boolean startsWith(CharSequence text, int pos, int limit, String prefix) {
+        if (pos + prefix.length() > limit) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(pos + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 仅对 ASCII 字母忽略大小写（prefix 为小写）
+     */
+    private static boolean startsWithIgnoreCase(CharSequence text, int pos, int limit, String prefix) {
+        if (pos + prefix.length() > limit) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = text.charAt(pos + i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 跳过正则 \s 对应的空白字符
+     */
+    private static int skipSpaces(CharSequence text, int pos, int limit) {
+        while (pos < limit) {
+            char c = text.charAt(pos);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\u000B' && c != '\f' && c != '\r') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipDigits(CharSequence text, int pos, int limit) {
+        while (pos < limit && isDigit(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 与 String.trim 一致：跳过开头不大于空格的字符
+     */
+    private static int trimStart(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * 与 String.trim 一致：去掉结尾不大于空格的字符
+     */
+    private static int trimEnd(CharSequence text, int start, int end) {
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,37 @@
+package com.leot.baguservice.utils;
+
+import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.core.util.StrUtil;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 访客标识工具
+ * 已登录用户按用户ID识别，未登录访客按客户端IP识别。
+ * 经网关转发时取 X-Forwarded-For 中的最后一个地址：该地址由网关（XForwardedHeadersFilter）追加，是网关实际看到的对端地址；
+ * 前面的地址由客户端自带，可被任意伪造，不能用于去重。
+ */
+public class VisitorUtil {
+
+    private VisitorUtil() {
+    }
+
+    /**
+     * 获取当前请求的访客标识
+     *
+     * @param request 当前请求
+     * @return 访客标识，形如 u:1001 或 ip:10.0.0.1
+     */
+    public static String getVisitorKey(HttpServletRequest request) {
+        if (StpUtil.isLogin()) {
+            return "u:" + StpUtil.getLoginIdAsLong();
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (StrUtil.isNotBlank(forwardedFor)) {
+            String lastHop = forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+            if (StrUtil.isNotBlank(lastHop)) {
+                return "ip:" + lastHop;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
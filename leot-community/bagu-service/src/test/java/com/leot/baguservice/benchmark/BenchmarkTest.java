@@ -0,0 +1,22 @@
+package com.leot.baguservice.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 基准测试方法
+ * 默认跳过，运行方式：mvn test -pl bagu-service -Dtest='*BenchmarkTest' -Dbagu.benchmark=true
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Test
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "bagu.benchmark", matches = "true")
+@interface BenchmarkTest {
+}
@@ -0,0 +1,59 @@
+package com.leot.baguservice.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 基准测试工具：预热后测量平均耗时与当前线程的平均堆分配量，结果按列输出到控制台
+ */
+final class Benchmarks {
+
+    private static final int COLUMN_WIDTH = 16;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * 先执行 warmupRounds 次预热，再执行 measureRounds 次取平均
+     */
+    static Measurement measure(int warmupRounds, int measureRounds, Task task) throws Exception {
+        for (int i = 0; i < warmupRounds; i++) {
+            task.run();
+        }
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < measureRounds; i++) {
+            task.run();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / measureRounds;
+        double allocatedMb = (threadBean.getThreadAllocatedBytes(threadId) - startBytes) / 1024.0 / 1024.0
+                / measureRounds;
+        return new Measurement(millis, allocatedMb);
+    }
+
+    /**
+     * 输出一行结果，小数保留三位
+     */
+    static void printRow(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (Object value : values) {
+            String text = value instanceof Double number ? String.format("%.3f", number) : String.valueOf(value);
+            line.append(String.format("%-" + COLUMN_WIDTH + "s", text));
+        }
+        System.out.println(line.toString().stripTrailing());
+    }
+
+    /**
+     * @param millis 平均耗时（毫秒）
+     * @param allocatedMb 平均堆分配量（MB）
+     */
+    record Measurement(double millis, double allocatedMb) {
+    }
+
+    @FunctionalInterface
+    interface Task {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,133 @@
+package com.leot.baguservice.benchmark;
+
+import com.leot.baguservice.domain.pojo.QuestionComment;
+import com.leot.baguservice.manager.CommentThread;
+import com.leot.baguservice.manager.CommentTreeCacheManager;
+import com.leot.baguservice.mapper.MapperTestSupport;
+import com.leot.baguservice.mapper.QuestionCommentMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 评论树缓存基准测试：查库重建 vs 整体重建 vs 缓存切片 vs 增量追加
+ * 单题评论数 100 ~ 2000（每条根评论约 4 条回复），分别测量缓存失效时从 H2 内存库加载评论并重建 CommentThread
+ * （CommentTreeCacheManager 的加载路径）、由已加载的评论列表重建 CommentThread、
+ * 在缓存的评论树上读取首页（根评论分页 + 回复数 + 每条根评论前 3 条回复）以及追加一条新评论的平均耗时。
+ */
+class CommentTreeCacheBenchmarkTest {
+
+    private static final int[] THREAD_SIZES = {100, 500, 2000};
+
+    private static final int REPLIES_PER_ROOT = 4;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int REPLY_PREVIEW_SIZE = 3;
+
+    private static final int WARMUP_ROUNDS = 20;
+
+    private static final int MEASURE_ROUNDS = 200;
+
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    private long nextId = 1;
+
+    private MapperTestSupport mapperTestSupport;
+
+    private final CommentTreeCacheManager commentTreeCacheManager = new CommentTreeCacheManager();
+
+    @BenchmarkTest
+    @DisplayName("查库重建 vs 缓存切片：不同评论数下的首页读取与新增评论耗时")
+    void compareRebuildWithCache() throws Exception {
+        setUpDatabase();
+        Benchmarks.printRow("comments", "dbRebuild(ms)", "rebuild(ms)", "firstPage(ms)", "append(ms)");
+        for (int threadSize : THREAD_SIZES) {
+            // 题目ID即评论数
+            long questionId = threadSize;
+            List<QuestionComment> comments = createComments(questionId, threadSize);
+            insertComments(comments);
+            CommentThread thread = new CommentThread(comments);
+            assertThat(readFirstPage(thread)).hasSize(PAGE_SIZE);
+            assertThat(readFirstPage(loadThread(questionId))).isEqualTo(readFirstPage(thread));
+
+            Benchmarks.Measurement dbRebuild = Benchmarks.measure(WARMUP_ROUNDS, MEASURE_ROUNDS,
+                    () -> loadThread(questionId));
+            Benchmarks.Measurement rebuild = Benchmarks.measure(WARMUP_ROUNDS, MEASURE_ROUNDS,
+                    () -> new CommentThread(comments));
+            Benchmarks.Measurement firstPage = Benchmarks.measure(WARMUP_ROUNDS, MEASURE_ROUNDS,
+                    () -> readFirstPage(thread));
+            Benchmarks.Measurement append = Benchmarks.measure(WARMUP_ROUNDS, MEASURE_ROUNDS,
+                    () -> thread.add(comment(questionId, 0L, System.currentTimeMillis())));
+            Benchmarks.printRow(threadSize, dbRebuild.millis(), rebuild.millis(), firstPage.millis(), append.millis());
+        }
+    }
+
+    /**
+     * 评论列表首页：根评论分页，每条根评论统计回复数并取前若干条回复
+     */
+    private List<Long> readFirstPage(CommentThread thread) {
+        List<Long> rootIds = new ArrayList<>();
+        for (QuestionComment root : thread.pageRoots(null, PAGE_SIZE + 1)) {
+            rootIds.add(root.getId());
+            thread.countReplies(root.getId());
+            thread.pageReplies(root.getId(), null, REPLY_PREVIEW_SIZE);
+        }
+        return rootIds.subList(0, Math.min(PAGE_SIZE, rootIds.size()));
+    }
+
+    /**
+     * 缓存失效时的加载路径：经 CommentTreeCacheManager 从数据库查出题目的全部评论并重建评论树
+     */
+    private CommentThread loadThread(long questionId) {
+        Object cached = ReflectionTestUtils.invokeMethod(commentTreeCacheManager, "load", questionId, 0L);
+        return (CommentThread) ReflectionTestUtils.invokeMethod(cached, "thread");
+    }
+
+    private void setUpDatabase() {
+        mapperTestSupport = new MapperTestSupport("mapper/QuestionCommentMapper.xml");
+        mapperTestSupport.getJdbcTemplate().execute(
+                "CREATE INDEX idx_question_root_createTime ON question_comment (questionId, rootId, isDelete, createTime, id)");
+        ReflectionTestUtils.setField(commentTreeCacheManager, "questionCommentMapper",
+                mapperTestSupport.getMapper(QuestionCommentMapper.class));
+        ReflectionTestUtils.setField(commentTreeCacheManager, "maxThreadSize", THREAD_SIZES[THREAD_SIZES.length - 1]);
+    }
+
+    private void insertComments(List<QuestionComment> comments) {
+        List<Object[]> rows = new ArrayList<>(comments.size());
+        for (QuestionComment comment : comments) {
+            rows.add(new Object[]{comment.getId(), comment.getQuestionId(), 1L, comment.getRootId(), comment.getRootId(),
+                    "评论" + comment.getId(), new Timestamp(comment.getCreateTime().getTime())});
+        }
+        mapperTestSupport.getJdbcTemplate().batchUpdate("INSERT INTO question_comment "
+                + "(id, questionId, userId, parentId, rootId, content, createTime) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private List<QuestionComment> createComments(long questionId, int threadSize) {
+        List<QuestionComment> comments = new ArrayList<>(threadSize);
+        int rootCount = threadSize / (REPLIES_PER_ROOT + 1);
+        for (int r = 0; r < rootCount; r++) {
+            QuestionComment root = comment(questionId, 0L, BASE_TIME + r * 1000L);
+            comments.add(root);
+            for (int i = 0; i < REPLIES_PER_ROOT; i++) {
+                comments.add(comment(questionId, root.getId(), BASE_TIME + (r + i + 1) * 1000L));
+            }
+        }
+        return comments;
+    }
+
+    private QuestionComment comment(long questionId, long rootId, long time) {
+        QuestionComment comment = new QuestionComment();
+        comment.setId(nextId++);
+        comment.setQuestionId(questionId);
+        comment.setRootId(rootId);
+        comment.setCreateTime(new Date(time));
+        return comment;
+    }
+}
@@ -0,0 +1,115 @@
+package com.leot.baguservice.benchmark;
+
+import com.leot.baguservice.manager.PdfTextExtractor;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PDF 文本提取基准测试：单线程 vs 按页段并行
+ * 生成 10 ~ 1000 页、每页 40 行文本的 PDF，分别测量单线程逐页段提取与 4 线程并行提取的平均耗时，
+ * 并校验两种方式的文本完全一致。
+ */
+class PdfParallelExtractBenchmarkTest {
+
+    private static final int[] PAGE_COUNTS = {10, 100, 500, 1000};
+
+    private static final int LINES_PER_PAGE = 40;
+
+    private static final int PARALLELISM = 4;
+
+    private static final int PAGES_PER_RANGE = 20;
+
+    private static final long SCRATCH_MAIN_MEMORY_BYTES = 4 * 1024 * 1024;
+
+    private static final int WARMUP_ROUNDS = 2;
+
+    private static final int MEASURE_ROUNDS = 5;
+
+    private static Path tempDir;
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("pdf-benchmark-");
+        executor = Executors.newFixedThreadPool(PARALLELISM);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        executor.shutdownNow();
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @BenchmarkTest
+    @DisplayName("单线程 vs 并行：不同页数下的文本提取耗时")
+    void compareSequentialWithParallel() throws Exception {
+        PdfTextExtractor sequential = new PdfTextExtractor(null, PAGES_PER_RANGE, SCRATCH_MAIN_MEMORY_BYTES);
+        PdfTextExtractor parallel = new PdfTextExtractor(executor, PAGES_PER_RANGE, SCRATCH_MAIN_MEMORY_BYTES);
+
+        Benchmarks.printRow("pages", "sequential(ms)", "parallel(ms)", "speedup");
+        for (int pageCount : PAGE_COUNTS) {
+            File pdf = createPdf(pageCount);
+
+            // 两种方式结果应一致
+            assertThat(parallel.extract(pdf, Integer.MAX_VALUE))
+                    .isEqualTo(sequential.extract(pdf, Integer.MAX_VALUE));
+
+            Benchmarks.Measurement sequentialResult = Benchmarks.measure(WARMUP_ROUNDS, MEASURE_ROUNDS,
+                    () -> sequential.extract(pdf, Integer.MAX_VALUE));
+            Benchmarks.Measurement parallelResult = Benchmarks.measure(WARMUP_ROUNDS, MEASURE_ROUNDS,
+                    () -> parallel.extract(pdf, Integer.MAX_VALUE));
+            Benchmarks.printRow(pageCount, sequentialResult.millis(), parallelResult.millis(),
+                    sequentialResult.millis() / parallelResult.millis());
+        }
+    }
+
+    private File createPdf(int pageCount) throws IOException {
+        File file = tempDir.resolve("book-" + pageCount + ".pdf").toFile();
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        try (PDDocument document = new PDDocument()) {
+            int question = 1;
+            for (int i = 0; i < pageCount; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+                    stream.beginText();
+                    stream.setFont(font, 10);
+                    stream.setLeading(16);
+                    stream.newLineAtOffset(40, 750);
+                    for (int line = 0; line < LINES_PER_PAGE; line++) {
+                        if (line % 8 == 0) {
+                            stream.showText(question + ". What is the difference between process and thread " + question);
+                            question++;
+                        } else if (line % 8 == 1) {
+                            stream.showText("Answer: A process owns resources while threads share the address space.");
+                        } else {
+                            stream.showText("Threads are scheduled by the kernel and switching between them is cheaper.");
+                        }
+                        stream.newLine();
+                    }
+                    stream.endText();
+                }
+            }
+            document.save(file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,140 @@
+package com.leot.baguservice.benchmark;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.leot.baguservice.domain.dto.QueryQuestionDTO;
+import com.leot.baguservice.domain.pojo.Question;
+import com.leot.baguservice.domain.pojo.QuestionBankQuestion;
+import com.leot.baguservice.mapper.MapperTestSupport;
+import com.leot.baguservice.mapper.QuestionBankQuestionMapper;
+import com.leot.baguservice.mapper.QuestionMapper;
+import com.leot.baguservice.service.impl.QuestionServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 题库筛选方式基准测试：应用层 IN 列表 vs 数据库 EXISTS 子查询
+ * 在 MapperTestSupport 的 H2 内存库中写入 60000 道题，题库规模 100 ~ 50000，测量"计数 + 首页"的平均耗时。
+ * EXISTS 方式使用 QuestionServiceImpl 构建的查询条件；IN 列表方式为原实现：
+ * 先经 QuestionBankQuestionMapper 取出题库下全部题目ID，再以 IN 列表查询计数和首页。
+ */
+class QuestionBankFilterBenchmarkTest {
+
+    private static final int[] BANK_SIZES = {100, 1000, 10000, 50000};
+
+    private static final int TOTAL_QUESTIONS = 60000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int WARMUP_ROUNDS = 2;
+
+    private static final int MEASURE_ROUNDS = 5;
+
+    private MapperTestSupport mapperTestSupport;
+
+    private QuestionMapper questionMapper;
+
+    private QuestionBankQuestionMapper questionBankQuestionMapper;
+
+    private final QuestionServiceImpl questionService = new QuestionServiceImpl();
+
+    @BenchmarkTest
+    @DisplayName("IN 列表 vs EXISTS：不同题库规模下的计数与分页查询耗时")
+    void compareInListWithExists() throws Exception {
+        setUpData();
+        Benchmarks.printRow("bankSize", "inList(ms)", "exists(ms)");
+        for (int bankSize : BANK_SIZES) {
+            // 两种方式结果应一致（题库ID即题库规模）
+            long bankId = bankSize;
+            assertThat(queryByExists(bankId)).isEqualTo(queryByInList(bankId));
+
+            Benchmarks.Measurement inList = Benchmarks.measure(WARMUP_ROUNDS, MEASURE_ROUNDS,
+                    () -> queryByInList(bankId));
+            Benchmarks.Measurement exists = Benchmarks.measure(WARMUP_ROUNDS, MEASURE_ROUNDS,
+                    () -> queryByExists(bankId));
+            Benchmarks.printRow(bankSize, inList.millis(), exists.millis());
+            mapperTestSupport.clearStatements();
+        }
+    }
+
+    /**
+     * 原实现：先取出题库下全部题目ID，再以 IN 列表查询总数和首页
+     */
+    private List<Long> queryByInList(long bankId) {
+        QueryWrapper<QuestionBankQuestion> bankQuestionWrapper = new QueryWrapper<>();
+        bankQuestionWrapper.eq("questionBankId", bankId);
+        bankQuestionWrapper.select("questionId");
+        List<Long> questionIds = questionBankQuestionMapper.selectList(bankQuestionWrapper).stream()
+                .map(QuestionBankQuestion::getQuestionId)
+                .toList();
+
+        QueryWrapper<Question> countWrapper = new QueryWrapper<>();
+        countWrapper.in("id", questionIds);
+        questionMapper.selectCount(countWrapper);
+
+        QueryWrapper<Question> pageWrapper = new QueryWrapper<>();
+        pageWrapper.select("id");
+        pageWrapper.in("id", questionIds);
+        pageWrapper.orderByDesc("createTime");
+        pageWrapper.last("LIMIT " + PAGE_SIZE);
+        return pageIds(pageWrapper);
+    }
+
+    /**
+     * 现实现：EXISTS 子查询，过滤、排序、分页均在数据库内完成
+     */
+    private List<Long> queryByExists(long bankId) {
+        QueryQuestionDTO dto = new QueryQuestionDTO();
+        dto.setQuestionBankId(bankId);
+
+        // 计数只使用筛选条件（不带排序）
+        QueryWrapper<Question> countWrapper = new QueryWrapper<>();
+        ReflectionTestUtils.invokeMethod(questionService, "applyQueryFilter", countWrapper, dto);
+        questionMapper.selectCount(countWrapper);
+
+        QueryWrapper<Question> pageWrapper = questionService.getQueryWrapper(dto);
+        pageWrapper.select("id");
+        pageWrapper.last("LIMIT " + PAGE_SIZE);
+        return pageIds(pageWrapper);
+    }
+
+    private List<Long> pageIds(QueryWrapper<Question> pageWrapper) {
+        return questionMapper.selectList(pageWrapper).stream().map(Question::getId).toList();
+    }
+
+    /**
+     * 写入题目，每个题库随机抽取题目（题库ID即题库规模）
+     */
+    private void setUpData() {
+        mapperTestSupport = new MapperTestSupport("mapper/QuestionMapper.xml", "mapper/QuestionBankQuestionMapper.xml");
+        questionMapper = mapperTestSupport.getMapper(QuestionMapper.class);
+        questionBankQuestionMapper = mapperTestSupport.getMapper(QuestionBankQuestionMapper.class);
+
+        long baseTime = System.currentTimeMillis();
+        List<Object[]> questions = new ArrayList<>(TOTAL_QUESTIONS);
+        List<Long> allIds = new ArrayList<>(TOTAL_QUESTIONS);
+        for (long id = 1; id <= TOTAL_QUESTIONS; id++) {
+            questions.add(new Object[]{id, "题目" + id, 1L, new Timestamp(baseTime - id * 1000L)});
+            allIds.add(id);
+        }
+        mapperTestSupport.getJdbcTemplate().batchUpdate(
+                "INSERT INTO question (id, title, userId, createTime) VALUES (?, ?, ?, ?)", questions);
+
+        List<Object[]> relations = new ArrayList<>();
+        for (int bankSize : BANK_SIZES) {
+            Collections.shuffle(allIds);
+            for (int i = 0; i < bankSize; i++) {
+                relations.add(new Object[]{(long) bankSize, allIds.get(i), 1L});
+            }
+        }
+        mapperTestSupport.getJdbcTemplate().batchUpdate(
+                "INSERT INTO question_bank_question (questionBankId, questionId, userId) VALUES (?, ?, ?)", relations);
+        mapperTestSupport.getJdbcTemplate().execute("CREATE INDEX idx_createTime_id ON question (createTime, id)");
+    }
+}
@@ -0,0 +1,147 @@
+package com.leot.baguservice.benchmark;
+
+import com.leot.baguservice.domain.dto.ParsedQuestionDTO;
+import com.leot.baguservice.utils.QuestionTokenizer;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 题目切分基准测试：正则多遍切分 vs 单遍扫描
+ * 生成 1000 ~ 50000 道题的文本（混合各种编号与答案标记），分别测量原正则实现与 QuestionTokenizer 的平均耗时
+ * 和每次解析的堆分配量，并校验两种实现的解析结果完全一致。
+ */
+class QuestionTokenizerBenchmarkTest {
+
+    private static final int[] QUESTION_COUNTS = {1000, 10000, 50000};
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int MEASURE_ROUNDS = 10;
+
+    private static final Pattern QUESTION_PATTERN = Pattern.compile(
+            "(?:^|\\n)\\s*(?:(\\d+)[.、．]|[QqＱ](\\d+)[:：]|题目\\s*(\\d+)|第\\s*(\\d+)\\s*题|问题\\s*(\\d+))\\s*");
+
+    private static final Pattern ANSWER_PATTERN = Pattern.compile(
+            "(?:^|\\n)\\s*(?:答案|Answer|参考答案|[AaＡ])\\s*[:：]\\s*", Pattern.CASE_INSENSITIVE);
+
+    @BenchmarkTest
+    @DisplayName("正则 vs 单遍扫描：不同题目数下的切分耗时与分配量")
+    void compareRegexWithTokenizer() throws Exception {
+        Benchmarks.printRow("questions", "regex(ms)", "scan(ms)", "regex(MB)", "scan(MB)", "speedup");
+        for (int questionCount : QUESTION_COUNTS) {
+            String text = createText(questionCount);
+
+            // 两种实现结果应一致
+            List<ParsedQuestionDTO> expected = parseWithRegex(text);
+            assertThat(parseWithTokenizer(text)).isEqualTo(expected);
+            assertThat(expected).hasSize(questionCount);
+
+            Benchmarks.Measurement regex = Benchmarks.measure(WARMUP_ROUNDS, MEASURE_ROUNDS,
+                    () -> parseWithRegex(text));
+            Benchmarks.Measurement scan = Benchmarks.measure(WARMUP_ROUNDS, MEASURE_ROUNDS,
+                    () -> parseWithTokenizer(text));
+            Benchmarks.printRow(questionCount, regex.millis(), scan.millis(), regex.allocatedMb(),
+                    scan.allocatedMb(), regex.millis() / scan.millis());
+        }
+    }
+
+    /**
+     * 生成题目文本：编号与答案标记轮换使用，部分题目有多行内容
+     */
+    private static String createText(int questionCount) {
+        String[] numbering = {"%d. ", "%d、", "Q%d: ", "题目%d ", "第%d题 ", "问题 %d "};
+        String[] answerMarkers = {"答案：", "Answer: ", "参考答案:", "A: "};
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= questionCount; i++) {
+            text.append(String.format(numbering[i % numbering.length], i))
+                    .append("请说明进程与线程的区别以及各自的适用场景 ").append(i).append('\n');
+            if (i % 3 == 0) {
+                text.append("补充说明：结合操作系统调度与内存模型回答。\n");
+            }
+            text.append(answerMarkers[i % answerMarkers.length])
+                    .append("进程是资源分配的基本单位，线程是调度的基本单位。\n")
+                    .append("同一进程内的线程共享地址空间，切换开销更小。\n\n");
+        }
+        return text.toString();
+    }
+
+    private static List<ParsedQuestionDTO> parseWithTokenizer(String text) {
+        List<ParsedQuestionDTO> questions = new ArrayList<>();
+        for (QuestionTokenizer.QuestionSpan span : QuestionTokenizer.tokenize(text)) {
+            questions.add(question(span.title(text), span.content(text), span.answer(text)));
+        }
+        return questions;
+    }
+
+    /**
+     * 原正则实现：先找出所有编号位置，再逐题去编号、找答案标记、按行拆分
+     */
+    private static List<ParsedQuestionDTO> parseWithRegex(String text) {
+        List<ParsedQuestionDTO> questions = new ArrayList<>();
+        if (text == null || text.trim().isEmpty()) {
+            return questions;
+        }
+        Matcher matcher = QUESTION_PATTERN.matcher(text);
+        List<Integer> questionStarts = new ArrayList<>();
+        while (matcher.find()) {
+            questionStarts.add(matcher.start());
+        }
+        if (questionStarts.isEmpty()) {
+            String[] titleAndContent = splitTitleAndContent(text.trim());
+            questions.add(question(titleAndContent[0], titleAndContent[1], ""));
+            return questions;
+        }
+        for (int i = 0; i < questionStarts.size(); i++) {
+            int start = questionStarts.get(i);
+            int end = i + 1 < questionStarts.size() ? questionStarts.get(i + 1) : text.length();
+            String cleanText = QUESTION_PATTERN.matcher(text.substring(start, end).trim()).replaceFirst("").trim();
+            Matcher answerMatcher = ANSWER_PATTERN.matcher(cleanText);
+            String[] titleAndContent;
+            String answer;
+            if (answerMatcher.find()) {
+                titleAndContent = splitTitleAndContent(cleanText.substring(0, answerMatcher.start()).trim());
+                answer = cleanText.substring(answerMatcher.end()).trim();
+            } else {
+                titleAndContent = splitTitleAndContent(cleanText);
+                answer = "";
+            }
+            if (!titleAndContent[0].trim().isEmpty()) {
+                questions.add(question(titleAndContent[0], titleAndContent[1], answer));
+            }
+        }
+        return questions;
+    }
+
+    private static String[] splitTitleAndContent(String text) {
+        if (text.trim().isEmpty()) {
+            return new String[]{"", ""};
+        }
+        String[] lines = text.split("\\n", 2);
+        String title = lines[0].trim();
+        if (title.length() > 100) {
+            int cutIndex = 100;
+            for (int i = 99; i >= 50; i--) {
+                if ("。？！?!；;，,".indexOf(title.charAt(i)) >= 0) {
+                    cutIndex = i + 1;
+                    break;
+                }
+            }
+            title = title.substring(0, cutIndex);
+        }
+        return new String[]{title, lines.length > 1 ? lines[1].trim() : ""};
+    }
+
+    private static ParsedQuestionDTO question(String title, String content, String answer) {
+        ParsedQuestionDTO question = new ParsedQuestionDTO();
+        question.setTitle(title);
+        question.setContent(content);
+        question.setAnswer(answer);
+        return question;
+    }
+}
@@ -0,0 +1,120 @@
+package com.leot.baguservice.manager;
+
+import com.leot.baguservice.domain.pojo.QuestionComment;
+import com.leot.baguservice.utils.CursorUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CommentThread 测试
+ * 验证评论树的游标切片与增量追加/移除
+ */
+class CommentThreadTest {
+
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    private CommentThread thread;
+
+    @BeforeEach
+    void setUp() {
+        // 根评论 1、2、3，根评论 1 下有回复 11、12
+        List<QuestionComment> comments = new ArrayList<>();
+        comments.add(comment(12L, 1L, 5));
+        comments.add(comment(1L, 0L, 1));
+        comments.add(comment(3L, 0L, 3));
+        comments.add(comment(11L, 1L, 4));
+        comments.add(comment(2L, 0L, 2));
+        thread = new CommentThread(comments);
+    }
+
+    @Test
+    @DisplayName("根评论按时间降序、回复按时间升序切片")
+    void shouldSliceInCursorOrder() {
+        // Act
+        List<QuestionComment> firstPage = thread.pageRoots(null, 2);
+        List<QuestionComment> secondPage = thread.pageRoots(cursorOf(firstPage.get(1), false), 2);
+        List<QuestionComment> replies = thread.pageReplies(1L, null, 10);
+
+        // Assert
+        assertThat(firstPage).extracting(QuestionComment::getId).containsExactly(3L, 2L);
+        assertThat(secondPage).extracting(QuestionComment::getId).containsExactly(1L);
+        assertThat(replies).extracting(QuestionComment::getId).containsExactly(11L, 12L);
+        assertThat(thread.countReplies(1L)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("增量追加的评论按排序位置插入")
+    void addShouldKeepOrder() {
+        // Act
+        thread.add(comment(4L, 0L, 6));
+        thread.add(comment(13L, 1L, 6));
+        thread.add(comment(21L, 2L, 7));
+
+        // Assert
+        assertThat(thread.pageRoots(null, 10)).extracting(QuestionComment::getId).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(thread.pageReplies(1L, null, 10)).extracting(QuestionComment::getId).containsExactly(11L, 12L, 13L);
+        assertThat(thread.pageReplies(2L, null, 10)).extracting(QuestionComment::getId).containsExactly(21L);
+        assertThat(thread.pageReplies(4L, null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("游标指向的评论被删除后仍能继续翻页")
+    void removedCursorShouldStillPage() {
+        // Arrange
+        QuestionComment last = thread.pageRoots(null, 2).get(1);
+
+        // Act
+        thread.remove(last);
+        List<QuestionComment> nextPage = thread.pageRoots(cursorOf(last, false), 2);
+
+        // Assert
+        assertThat(nextPage).extracting(QuestionComment::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("删除根评论后其回复仍可查询，未知根评论返回null")
+    void removedRootShouldKeepReplies() {
+        // Act
+        thread.remove(comment(1L, 0L, 1));
+
+        // Assert
+        assertThat(thread.pageRoots(null, 10)).extracting(QuestionComment::getId).containsExactly(3L, 2L);
+        assertThat(thread.pageReplies(1L, null, 10)).hasSize(2);
+        assertThat(thread.pageReplies(99L, null, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("点赞数更新反映到根评论和回复，不改变排序，不低于0")
+    void thumbNumUpdateShouldBeVisibleInSlices() {
+        // Act
+        thread.updateThumbNum(2L, 1);
+        thread.updateThumbNum(12L, 1);
+        thread.updateThumbNum(12L, -3);
+        thread.updateThumbNum(99L, 1);
+
+        // Assert
+        assertThat(thread.pageRoots(null, 10)).extracting(QuestionComment::getId).containsExactly(3L, 2L, 1L);
+        assertThat(thread.pageRoots(null, 10)).extracting(QuestionComment::getThumbNum).containsExactly(null, 1, null);
+        assertThat(thread.pageReplies(1L, null, 10)).extracting(QuestionComment::getThumbNum).containsExactly(null, 0);
+    }
+
+    private static QuestionComment comment(Long id, Long rootId, int second) {
+        QuestionComment comment = new QuestionComment();
+        comment.setId(id);
+        comment.setQuestionId(100L);
+        comment.setRootId(rootId);
+        comment.setCreateTime(new Date(BASE_TIME + second * 1000L));
+        return comment;
+    }
+
+    private static CursorUtil.Cursor cursorOf(QuestionComment comment, boolean asc) {
+        return new CursorUtil.Cursor("createTime", asc, comment.getCreateTime().getTime(), comment.getId());
+    }
+}
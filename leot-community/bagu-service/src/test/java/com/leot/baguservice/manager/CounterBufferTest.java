@@ -0,0 +1,145 @@
+package com.leot.baguservice.manager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CounterBuffer 测试
+ * 验证内存计数的聚合、取出与回填
+ */
+class CounterBufferTest {
+
+    private CounterBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new CounterBuffer();
+    }
+
+    @Test
+    @DisplayName("同一ID的多次累加应合并为一个增量")
+    void shouldAggregateDeltasById() {
+        // Act
+        buffer.add(1L, 1);
+        buffer.add(1L, 1);
+        buffer.add(2L, 3);
+
+        // Assert
+        assertThat(buffer.drain()).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 2L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("取出后缓冲区应被清空")
+    void drainShouldResetBuffer() {
+        // Arrange
+        buffer.add(1L, 5);
+
+        // Act
+        buffer.drain();
+
+        // Assert
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.drain()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("相互抵消为0的增量不应被取出")
+    void zeroSumShouldBeSkipped() {
+        // Arrange
+        buffer.add(1L, 1);
+        buffer.add(1L, -1);
+
+        // Act & Assert
+        assertThat(buffer.drain()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("null ID 和 0 增量应被忽略")
+    void shouldIgnoreNullIdAndZeroDelta() {
+        // Act
+        buffer.add(null, 1);
+        buffer.add(1L, 0);
+
+        // Assert
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("回填的增量应与新增量合并")
+    void restoreShouldMergeWithNewDeltas() {
+        // Arrange
+        buffer.add(1L, 2);
+        Map<Long, Long> failed = buffer.drain();
+        buffer.add(1L, 1);
+
+        // Act
+        buffer.restore(failed);
+
+        // Assert
+        assertThat(buffer.drain()).containsEntry(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("并发累加不应丢失计数")
+    void concurrentAddShouldNotLoseCounts() throws InterruptedException {
+        // Arrange
+        int threads = 8;
+        int perThread = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    buffer.add(1L, 1);
+                }
+                latch.countDown();
+            });
+        }
+        latch.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        assertThat(buffer.drain()).containsEntry(1L, (long) threads * perThread);
+    }
+
+    @Test
+    @DisplayName("累加与取出并发执行时，各次取出之和应等于累加总数")
+    void drainDuringConcurrentAddShouldNotLoseCounts() throws InterruptedException {
+        // Arrange
+        int threads = 8;
+        int perThread = 20000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    buffer.add((long) (j % 4), 1);
+                }
+                latch.countDown();
+            });
+        }
+        long drained = 0;
+        while (latch.getCount() > 0) {
+            drained += buffer.drain().values().stream().mapToLong(Long::longValue).sum();
+        }
+        latch.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        drained += buffer.drain().values().stream().mapToLong(Long::longValue).sum();
+
+        // Assert
+        assertThat(drained).isEqualTo((long) threads * perThread);
+    }
+}
@@ -0,0 +1,112 @@
+package com.leot.baguservice.manager;
+
+import com.leot.leotcommon.exception.BusinessException;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * PdfTextExtractor 测试
+ * 验证并行页段提取与单线程提取结果一致、跨页段内容按页序拼接
+ */
+class PdfTextExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("并行提取的文本与单线程提取完全一致")
+    void parallelShouldMatchSequential() throws IOException {
+        // Arrange
+        File pdf = createPdf(10);
+
+        // Act
+        String sequential = new PdfTextExtractor(null, 3, 1024 * 1024).extract(pdf, Integer.MAX_VALUE);
+        String parallel = new PdfTextExtractor(executor, 3, 1024 * 1024).extract(pdf, Integer.MAX_VALUE);
+
+        // Assert
+        assertThat(parallel).isEqualTo(sequential);
+    }
+
+    @Test
+    @DisplayName("跨页段的题目和答案按页序相邻")
+    void straddlingQuestionShouldStayInOrder() throws IOException {
+        // Arrange（每页末尾是题目，答案在下一页开头，页段大小 3 时第 3、6、9 页的题目跨越页段）
+        File pdf = createPdf(10);
+
+        // Act
+        String text = new PdfTextExtractor(executor, 3, 1024 * 1024).extract(pdf, Integer.MAX_VALUE);
+
+        // Assert
+        for (int page = 1; page < 10; page++) {
+            int question = text.indexOf("Q" + page + ": Question " + page);
+            int answer = text.indexOf("A: Answer " + page);
+            int nextQuestion = text.indexOf("Q" + (page + 1) + ": Question " + (page + 1));
+            assertThat(question).isNotNegative().isLessThan(answer);
+            assertThat(answer).isLessThan(nextQuestion);
+        }
+    }
+
+    @Test
+    @DisplayName("文本超过上限时抛出异常")
+    void shouldRejectOversizedText() throws IOException {
+        // Arrange
+        File pdf = createPdf(10);
+
+        // Act
+        BusinessException exception = catchThrowableOfType(
+                () -> new PdfTextExtractor(executor, 3, 1024 * 1024).extract(pdf, 100), BusinessException.class);
+
+        // Assert
+        assertThat(exception).isNotNull();
+    }
+
+    /**
+     * 生成测试 PDF：第 i 页开头是第 i-1 题的答案，末尾是第 i 题的题目
+     */
+    private File createPdf(int pageCount) throws IOException {
+        File file = tempDir.resolve("questions-" + pageCount + ".pdf").toFile();
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 1; i <= pageCount; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+                    stream.beginText();
+                    stream.setFont(font, 12);
+                    stream.newLineAtOffset(50, 700);
+                    if (i > 1) {
+                        stream.showText("A: Answer " + (i - 1));
+                    }
+                    stream.newLineAtOffset(0, -600);
+                    stream.showText("Q" + i + ": Question " + i);
+                    stream.endText();
+                }
+            }
+            document.save(file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,118 @@
+package com.leot.baguservice.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Mapper 测试支撑
+ * 每个实例一个 H2（MySQL 模式）内存库，加载 src/main/resources/mapper 下的真实 Mapper XML，
+ * 按生产配置（逻辑删除字段 isDelete、列名不转驼峰）构建 MyBatis-Plus 会话工厂，
+ * 并记录经 MyBatis 实际发送到数据库的每条 SQL，用于断言查询次数。
+ * Mapper 通过 SqlSessionTemplate 获取，在 {@link #getTransactionManager()} 开启的事务中执行时加入该事务。
+ */
+public class MapperTestSupport {
+
+    private static final String SCHEMA = "db/schema-h2.sql";
+
+    private final DataSourceTransactionManager transactionManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SqlSessionTemplate sqlSessionTemplate;
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param mapperXmls Mapper XML 的类路径，如 mapper/QuestionMapper.xml
+     */
+    public MapperTestSupport(String... mapperXmls) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource(SCHEMA)).execute(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(false);
+        GlobalConfig globalConfig = GlobalConfigUtils.defaults();
+        globalConfig.getDbConfig().setLogicDeleteField("isDelete");
+        globalConfig.getDbConfig().setLogicDeleteValue("1");
+        globalConfig.getDbConfig().setLogicNotDeleteValue("0");
+        GlobalConfigUtils.setGlobalConfig(configuration, globalConfig);
+        configuration.addInterceptor(new StatementRecorder());
+        for (String mapperXml : mapperXmls) {
+            try (InputStream inputStream = new ClassPathResource(mapperXml).getInputStream()) {
+                new XMLMapperBuilder(inputStream, configuration, mapperXml, configuration.getSqlFragments()).parse();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        sqlSessionTemplate = new SqlSessionTemplate(new MybatisSqlSessionFactoryBuilder().build(configuration));
+    }
+
+    public <T> T getMapper(Class<T> mapperType) {
+        return sqlSessionTemplate.getMapper(mapperType);
+    }
+
+    public PlatformTransactionManager getTransactionManager() {
+        return transactionManager;
+    }
+
+    /**
+     * 直接访问数据库（准备数据、校验结果），不计入 {@link #getStatements()}
+     */
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * 上次清空以来经 MyBatis 执行的 SQL（按执行顺序）
+     */
+    public List<String> getStatements() {
+        return List.copyOf(statements);
+    }
+
+    public void clearStatements() {
+        statements.clear();
+    }
+
+    /**
+     * 在语句预编译时记录 SQL，每条发送到数据库的语句记录一次
+     */
+    @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+    private class StatementRecorder implements Interceptor {
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            StatementHandler statementHandler = (StatementHandler) invocation.getTarget();
+            statements.add(statementHandler.getBoundSql().getSql());
+            return invocation.proceed();
+        }
+    }
+}
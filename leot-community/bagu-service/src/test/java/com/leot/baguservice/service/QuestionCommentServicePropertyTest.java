@@ -2,7 +2,11 @@ package com.leot.baguservice.service;
 
 import com.leot.baguservice.domain.pojo.QuestionComment;
 import com.leot.baguservice.domain.vo.QuestionCommentVO;
+import com.leot.baguservice.mapper.MapperTestSupport;
+import com.leot.baguservice.mapper.QuestionCommentMapper;
+import com.leot.baguservice.mapper.QuestionCommentThumbMapper;
 import com.leot.baguservice.service.impl.QuestionCommentServiceImpl;
+import com.leot.leotcommon.GlobalReture.ErrorCode;
 import com.leot.leotcommon.exception.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +16,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.*;
 import java.util.stream.Stream;
@@ -24,7 +29,8 @@ import static org.assertj.core.api.Assertions.catchThrowableOfType;
  * 使用 JUnit 5 框架
  * 
  * 注意：由于 MyBatis-Plus 的 ServiceImpl 依赖 Spring 容器注入 baseMapper，
- * 这里只测试不依赖数据库的纯业务逻辑（如参数校验、树形结构构建）
+ * 这里主要测试不依赖数据库的纯业务逻辑（如参数校验、树形结构构建），
+ * 涉及查询次数的部分通过 MapperTestSupport 注入真实 Mapper（H2 内存库）
  */
 class QuestionCommentServicePropertyTest {
 
@@ -592,4 +598,165 @@ class QuestionCommentServicePropertyTest {
             assertThat(thumbNum).isEqualTo(userCount);
         }
     }
+
+    /**
+     * Feature: bagu-service, Property 21: 评论点赞状态批量填充
+     * Validates: Requirements 8.2
+     *
+     * *For any* 一页评论（含回复预览），填充的点赞状态应与当前用户的点赞记录一致，
+     * 且整页只执行一次 IN 查询；未登录时不查询数据库。
+     */
+    @Nested
+    @DisplayName("Property 21: 评论点赞状态批量填充")
+    class CommentThumbStateFillTest {
+
+        private MapperTestSupport mapperTestSupport;
+
+        @BeforeEach
+        void setUpMapper() {
+            mapperTestSupport = new MapperTestSupport("mapper/QuestionCommentThumbMapper.xml");
+            ReflectionTestUtils.setField(commentService, "questionCommentThumbMapper",
+                    mapperTestSupport.getMapper(QuestionCommentThumbMapper.class));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 10, 50, 200})
+        @DisplayName("整页评论只执行一次点赞查询，点赞状态与点赞记录一致")
+        void thumbStateShouldBeFilledWithSingleQuery(int commentCount) {
+            // Arrange - 当前用户点赞了ID为3的倍数的评论，其他用户点赞了全部评论
+            long loginUserId = 1L;
+            List<QuestionCommentVO> comments = new ArrayList<>();
+            for (long id = 1; id <= commentCount; id++) {
+                comments.add(commentVO(id));
+                if (id % 3 == 0) {
+                    insertThumb(id, loginUserId);
+                }
+                insertThumb(id, 2L);
+            }
+
+            // Act
+            ReflectionTestUtils.invokeMethod(commentService, "fillThumbState", comments, loginUserId);
+
+            // Assert
+            assertThat(comments).allSatisfy(comment ->
+                    assertThat(comment.getHasThumb()).isEqualTo(comment.getId() % 3 == 0));
+            assertThat(mapperTestSupport.getStatements()).hasSize(1);
+            assertThat(mapperTestSupport.getStatements().get(0)).contains("question_comment_thumb", "IN");
+        }
+
+        @Test
+        @DisplayName("未登录时全部为未点赞且不查询数据库")
+        void anonymousUserShouldNotQueryThumbState() {
+            // Arrange
+            List<QuestionCommentVO> comments = new ArrayList<>();
+            for (long id = 1; id <= 10; id++) {
+                comments.add(commentVO(id));
+                insertThumb(id, 2L);
+            }
+
+            // Act
+            ReflectionTestUtils.invokeMethod(commentService, "fillThumbState", comments, (Long) null);
+
+            // Assert
+            assertThat(comments).allSatisfy(comment -> assertThat(comment.getHasThumb()).isFalse());
+            assertThat(mapperTestSupport.getStatements()).isEmpty();
+        }
+
+        private QuestionCommentVO commentVO(long id) {
+            QuestionCommentVO comment = new QuestionCommentVO();
+            comment.setId(id);
+            return comment;
+        }
+
+        private void insertThumb(long commentId, long userId) {
+            mapperTestSupport.getJdbcTemplate().update(
+                    "INSERT INTO question_comment_thumb (commentId, userId) VALUES (?, ?)", commentId, userId);
+        }
+    }
+
+    /**
+     * Feature: bagu-service, Property 25: 已删除评论不可取消点赞
+     * Validates: Requirements 8.3
+     *
+     * *For any* 已被逻辑删除的评论，点赞切换既不新增也不删除点赞记录，点赞数不变，调用方收到评论不存在；
+     * 未删除的评论仍可正常取消点赞。
+     */
+    @Nested
+    @DisplayName("Property 25: 已删除评论不可取消点赞")
+    class DeletedCommentThumbTest {
+
+        private static final long USER_ID = 1L;
+
+        private MapperTestSupport mapperTestSupport;
+
+        private QuestionCommentThumbMapper thumbMapper;
+
+        @BeforeEach
+        void setUpMapper() {
+            mapperTestSupport = new MapperTestSupport("mapper/QuestionCommentMapper.xml",
+                    "mapper/QuestionCommentThumbMapper.xml");
+            thumbMapper = mapperTestSupport.getMapper(QuestionCommentThumbMapper.class);
+            QuestionCommentMapper commentMapper = mapperTestSupport.getMapper(QuestionCommentMapper.class);
+            ReflectionTestUtils.setField(commentService, "questionCommentThumbMapper", thumbMapper);
+            ReflectionTestUtils.setField(commentService, "questionCommentMapper", commentMapper);
+            ReflectionTestUtils.setField(commentService, "baseMapper", commentMapper);
+        }
+
+        @Test
+        @DisplayName("已删除评论的点赞记录保留，点赞数不变，抛出评论不存在")
+        void thumbOnDeletedCommentShouldBeRejected() {
+            // Arrange - 用户点赞后评论被删除
+            insertComment(1L, 1, 1);
+            insertThumb(1L);
+
+            // Act
+            BusinessException exception = catchThrowableOfType(
+                    () -> commentService.thumbComment(1L, USER_ID),
+                    BusinessException.class
+            );
+
+            // Assert
+            assertThat(exception).isNotNull();
+            assertThat(exception.getCode()).isEqualTo(ErrorCode.NO_FOUND.getCode());
+            assertThat(thumbCount(1L)).isEqualTo(1);
+            assertThat(thumbNum(1L)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("未删除评论的点赞记录可以删除，已删除评论的不能")
+        void deleteShouldOnlyApplyToLiveComments() {
+            // Arrange
+            insertComment(1L, 1, 0);
+            insertComment(2L, 1, 1);
+            insertThumb(1L);
+            insertThumb(2L);
+
+            // Act & Assert
+            assertThat(thumbMapper.deleteByCommentIdAndUserId(1L, USER_ID)).isEqualTo(1);
+            assertThat(thumbMapper.deleteByCommentIdAndUserId(2L, USER_ID)).isZero();
+            assertThat(thumbCount(1L)).isZero();
+            assertThat(thumbCount(2L)).isEqualTo(1);
+        }
+
+        private void insertComment(long id, int thumbNum, int isDelete) {
+            mapperTestSupport.getJdbcTemplate().update(
+                    "INSERT INTO question_comment (id, questionId, userId, content, thumbNum, isDelete) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)", id, 100L, 2L, "评论" + id, thumbNum, isDelete);
+        }
+
+        private void insertThumb(long commentId) {
+            mapperTestSupport.getJdbcTemplate().update(
+                    "INSERT INTO question_comment_thumb (commentId, userId) VALUES (?, ?)", commentId, USER_ID);
+        }
+
+        private int thumbCount(long commentId) {
+            return mapperTestSupport.getJdbcTemplate().queryForObject(
+                    "SELECT COUNT(*) FROM question_comment_thumb WHERE commentId = ?", Integer.class, commentId);
+        }
+
+        private int thumbNum(long commentId) {
+            return mapperTestSupport.getJdbcTemplate().queryForObject(
+                    "SELECT thumbNum FROM question_comment WHERE id = ?", Integer.class, commentId);
+        }
+    }
 }
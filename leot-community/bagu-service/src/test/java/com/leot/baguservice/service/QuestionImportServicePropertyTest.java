@@ -0,0 +1,191 @@
+package com.leot.baguservice.service;
+
+import com.leot.baguservice.domain.dto.ImportChunkResultDTO;
+import com.leot.baguservice.domain.dto.ParsedQuestionDTO;
+import com.leot.baguservice.domain.vo.ImportErrorVO;
+import com.leot.baguservice.manager.QuestionSearchIndexManager;
+import com.leot.baguservice.mapper.MapperTestSupport;
+import com.leot.baguservice.mapper.QuestionBankMapper;
+import com.leot.baguservice.mapper.QuestionBankQuestionMapper;
+import com.leot.baguservice.mapper.QuestionMapper;
+import com.leot.baguservice.service.impl.QuestionImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * QuestionImportService 属性测试
+ * 使用 JUnit 5 框架
+ *
+ * 导入服务注入 MapperTestSupport 提供的真实 Mapper（H2 内存库），
+ * 按 batchImport 的方式在独立事务中执行每块导入；全文索引只记录提交的题目ID
+ */
+class QuestionImportServicePropertyTest {
+
+    private static final long QUESTION_BANK_ID = 1L;
+
+    private static final long USER_ID = 10L;
+
+    private MapperTestSupport mapperTestSupport;
+
+    private QuestionImportServiceImpl importService;
+
+    private TransactionTemplate chunkTransactionTemplate;
+
+    private final List<Long> indexedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mapperTestSupport = new MapperTestSupport("mapper/QuestionMapper.xml",
+                "mapper/QuestionBankQuestionMapper.xml", "mapper/QuestionBankMapper.xml");
+        importService = new QuestionImportServiceImpl();
+        ReflectionTestUtils.setField(importService, "questionMapper",
+                mapperTestSupport.getMapper(QuestionMapper.class));
+        ReflectionTestUtils.setField(importService, "questionBankQuestionMapper",
+                mapperTestSupport.getMapper(QuestionBankQuestionMapper.class));
+        ReflectionTestUtils.setField(importService, "questionBankMapper",
+                mapperTestSupport.getMapper(QuestionBankMapper.class));
+        ReflectionTestUtils.setField(importService, "questionSearchIndexManager", new QuestionSearchIndexManager() {
+            @Override
+            public void upsert(Collection<Long> questionIds) {
+                indexedIds.addAll(questionIds);
+            }
+        });
+        ReflectionTestUtils.setField(importService, "transactionManager", mapperTestSupport.getTransactionManager());
+        importService.init();
+        chunkTransactionTemplate = new TransactionTemplate(mapperTestSupport.getTransactionManager());
+
+        mapperTestSupport.getJdbcTemplate().update(
+                "INSERT INTO question_bank (id, title, userId) VALUES (?, ?, ?)", QUESTION_BANK_ID, "Java 基础", USER_ID);
+    }
+
+    /**
+     * Feature: bagu-service, Property 23: 按块批量写入
+     * Validates: Requirements 4.2
+     *
+     * *For any* 一块合法题目，题目表和关联表各用一条多行 INSERT 写入，
+     * 每道题都回填自增主键并建立与题库的关联，题库题目数同步增加。
+     */
+    @Nested
+    @DisplayName("Property 23: 按块批量写入")
+    class ChunkInsertTest {
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 100, 250})
+        @DisplayName("整块题目每张表只执行一条写入语句，主键全部回填")
+        void chunkShouldBeWrittenWithOneStatementPerTable(int chunkSize) {
+            // Arrange
+            List<ParsedQuestionDTO> chunk = new ArrayList<>();
+            for (int i = 0; i < chunkSize; i++) {
+                chunk.add(question("题目" + i));
+            }
+
+            // Act
+            ImportChunkResultDTO result = importChunk(chunk, 0);
+
+            // Assert - 回填的主键与落库的题目、关联一一对应
+            assertThat(result.getErrors()).isEmpty();
+            assertThat(result.getImportedIds()).hasSize(chunkSize).doesNotHaveDuplicates().doesNotContainNull();
+            assertThat(mapperTestSupport.getJdbcTemplate().queryForList(
+                    "SELECT id FROM question ORDER BY id", Long.class))
+                    .containsExactlyInAnyOrderElementsOf(result.getImportedIds());
+            assertThat(mapperTestSupport.getJdbcTemplate().queryForList(
+                    "SELECT questionId FROM question_bank_question WHERE questionBankId = ?", Long.class,
+                    QUESTION_BANK_ID))
+                    .containsExactlyInAnyOrderElementsOf(result.getImportedIds());
+            assertThat(questionCount()).isEqualTo(chunkSize);
+            assertThat(indexedIds).containsExactlyElementsOf(result.getImportedIds());
+
+            // Assert - 题目 INSERT、关联 INSERT、题库计数 UPDATE 各一条
+            assertThat(mapperTestSupport.getStatements()).hasSize(3);
+            assertThat(mapperTestSupport.getStatements().get(0)).contains("INSERT INTO question (");
+            assertThat(mapperTestSupport.getStatements().get(1)).contains("INSERT INTO question_bank_question");
+            assertThat(mapperTestSupport.getStatements().get(2)).contains("UPDATE question_bank");
+        }
+
+        @Test
+        @DisplayName("不合法的题目单独记录错误，其余题目正常写入")
+        void invalidQuestionsShouldBeReportedIndividually() {
+            // Arrange
+            List<ParsedQuestionDTO> chunk = List.of(
+                    question("题目0"),
+                    question(" "),
+                    question("题目2"),
+                    question("a".repeat(257)),
+                    question("题目4"));
+
+            // Act
+            ImportChunkResultDTO result = importChunk(chunk, 100);
+
+            // Assert
+            assertThat(result.getImportedIds()).hasSize(3);
+            assertThat(result.getErrors()).extracting(ImportErrorVO::getIndex).containsExactly(101, 103);
+            assertThat(result.getErrors()).extracting(ImportErrorVO::getMessage)
+                    .containsExactly("标题不能为空", "标题不能超过256个字符");
+            assertThat(questionCount()).isEqualTo(3);
+        }
+    }
+
+    /**
+     * Feature: bagu-service, Property 24: 写入失败整块回滚
+     * Validates: Requirements 4.3
+     *
+     * *For any* 写入失败的块，本块已写入的题目应回滚到保存点，记录为一条块级错误，
+     * 错误信息不包含 SQL 与表结构。
+     */
+    @Nested
+    @DisplayName("Property 24: 写入失败整块回滚")
+    class ChunkRollbackTest {
+
+        @Test
+        @DisplayName("关联表写入失败时本块题目全部回滚")
+        void failedChunkShouldRollBackToSavepoint() {
+            // Arrange - 删除关联表，使题目写入成功后关联写入失败
+            mapperTestSupport.getJdbcTemplate().execute("DROP TABLE question_bank_question");
+            List<ParsedQuestionDTO> chunk = List.of(question("题目0"), question("题目1"), question("题目2"));
+
+            // Act
+            ImportChunkResultDTO result = importChunk(chunk, 0);
+
+            // Assert
+            assertThat(result.getImportedIds()).isEmpty();
+            assertThat(result.getErrors()).hasSize(1);
+            ImportErrorVO error = result.getErrors().get(0);
+            assertThat(error.getCount()).isEqualTo(3);
+            assertThat(error.getMessage()).isEqualTo("第1~3题写入失败，请检查题目内容后重试");
+            assertThat(mapperTestSupport.getJdbcTemplate().queryForObject(
+                    "SELECT COUNT(*) FROM question", Integer.class)).isZero();
+            assertThat(questionCount()).isZero();
+            assertThat(indexedIds).isEmpty();
+        }
+    }
+
+    private ImportChunkResultDTO importChunk(List<ParsedQuestionDTO> chunk, int offset) {
+        return chunkTransactionTemplate.execute(
+                status -> importService.importChunk(QUESTION_BANK_ID, chunk, offset, USER_ID));
+    }
+
+    private int questionCount() {
+        return mapperTestSupport.getJdbcTemplate().queryForObject(
+                "SELECT questionCount FROM question_bank WHERE id = ?", Integer.class, QUESTION_BANK_ID);
+    }
+
+    private static ParsedQuestionDTO question(String title) {
+        ParsedQuestionDTO question = new ParsedQuestionDTO();
+        question.setTitle(title);
+        question.setContent("内容");
+        question.setAnswer("答案");
+        return question;
+    }
+}
@@ -1,5 +1,9 @@
 package com.leot.baguservice.service;
 
+import com.leot.baguservice.domain.dto.QueryQuestionDTO;
+import com.leot.baguservice.domain.pojo.Question;
+import com.leot.baguservice.mapper.MapperTestSupport;
+import com.leot.baguservice.mapper.QuestionMapper;
 import com.leot.baguservice.service.impl.QuestionServiceImpl;
 import com.leot.leotcommon.exception.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +15,10 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -24,7 +30,8 @@ import static org.assertj.core.api.Assertions.catchThrowableOfType;
  * 使用 JUnit 5 框架
  * 
  * 注意：由于 MyBatis-Plus 的 ServiceImpl 依赖 Spring 容器注入 baseMapper，
- * 这里只测试不依赖数据库的纯业务逻辑（如参数校验、标签序列化）
+ * 这里主要测试不依赖数据库的纯业务逻辑（如参数校验、标签序列化），
+ * 查询条件的正确性通过 MapperTestSupport 在 H2 内存库上执行真实 Mapper 验证
  */
 class QuestionServicePropertyTest {
 
@@ -601,4 +608,110 @@ class QuestionServicePropertyTest {
             assertThat(exception.getDescription()).isEqualTo("标题长度不能超过256字符");
         }
     }
+
+
+    /**
+     * Feature: bagu-service, Property 22: 题库筛选正确性
+     * Validates: Requirements 3.3
+     *
+     * *For any* 题库，按题库筛选应只返回该题库中未删除的题目，过滤由一条 SQL 在数据库中完成，
+     * 不先查出题库的全部题目ID。
+     */
+    @Nested
+    @DisplayName("Property 22: 题库筛选正确性")
+    class BankFilterPropertyTest {
+
+        private MapperTestSupport mapperTestSupport;
+
+        private QuestionMapper questionMapper;
+
+        @BeforeEach
+        void setUpMapper() {
+            mapperTestSupport = new MapperTestSupport("mapper/QuestionMapper.xml");
+            questionMapper = mapperTestSupport.getMapper(QuestionMapper.class);
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 20, 500})
+        @DisplayName("按题库筛选只返回该题库的未删除题目，且只执行一条 SQL")
+        void bankFilterShouldReturnOnlyBankQuestions(int bankSize) {
+            // Arrange - 题库1有 bankSize 道题（每 5 道删除 1 道），题库2有另外 50 道题
+            List<Long> expectedIds = new ArrayList<>();
+            for (long id = 1; id <= bankSize; id++) {
+                boolean deleted = id % 5 == 0;
+                insertQuestion(id, "题目" + id, deleted);
+                insertRelation(1L, id);
+                if (!deleted) {
+                    expectedIds.add(id);
+                }
+            }
+            for (long id = bankSize + 1; id <= bankSize + 50; id++) {
+                insertQuestion(id, "题目" + id, false);
+                insertRelation(2L, id);
+            }
+            QueryQuestionDTO dto = new QueryQuestionDTO();
+            dto.setQuestionBankId(1L);
+
+            // Act
+            List<Question> questions = questionMapper.selectList(questionService.getQueryWrapper(dto));
+
+            // Assert - 默认按创建时间降序
+            Collections.reverse(expectedIds);
+            assertThat(questions).extracting(Question::getId).containsExactlyElementsOf(expectedIds);
+            assertThat(mapperTestSupport.getStatements()).hasSize(1);
+            assertThat(mapperTestSupport.getStatements().get(0)).contains("EXISTS");
+        }
+
+        @Test
+        @DisplayName("题库筛选与其他条件组合时只返回同时满足的题目")
+        void bankFilterShouldCombineWithOtherConditions() {
+            // Arrange
+            insertQuestion(1L, "Java 线程池", false);
+            insertQuestion(2L, "Java 内存模型", false);
+            insertQuestion(3L, "MySQL 索引", false);
+            insertQuestion(4L, "Java 集合", false);
+            insertRelation(1L, 1L);
+            insertRelation(1L, 2L);
+            insertRelation(1L, 3L);
+            insertRelation(2L, 4L);
+            QueryQuestionDTO dto = new QueryQuestionDTO();
+            dto.setQuestionBankId(1L);
+            dto.setTitle("Java");
+
+            // Act
+            List<Question> questions = questionMapper.selectList(questionService.getQueryWrapper(dto));
+
+            // Assert
+            assertThat(questions).extracting(Question::getId).containsExactly(2L, 1L);
+        }
+
+        @Test
+        @DisplayName("题库题目列表一条 JOIN 查询返回，按创建时间降序")
+        void selectListByBankIdShouldUseSingleQuery() {
+            // Arrange
+            for (long id = 1; id <= 10; id++) {
+                insertQuestion(id, "题目" + id, id == 4);
+                insertRelation(id % 2 == 0 ? 1L : 2L, id);
+            }
+
+            // Act
+            List<Question> questions = questionMapper.selectListByBankId(1L);
+
+            // Assert
+            assertThat(questions).extracting(Question::getId).containsExactly(10L, 8L, 6L, 2L);
+            assertThat(mapperTestSupport.getStatements()).hasSize(1);
+        }
+
+        private void insertQuestion(long id, String title, boolean deleted) {
+            mapperTestSupport.getJdbcTemplate().update(
+                    "INSERT INTO question (id, title, userId, createTime, isDelete) VALUES (?, ?, ?, ?, ?)",
+                    id, title, 1L, new Timestamp(1_700_000_000_000L + id * 1000), deleted ? 1 : 0);
+        }
+
+        private void insertRelation(long questionBankId, long questionId) {
+            mapperTestSupport.getJdbcTemplate().update(
+                    "INSERT INTO question_bank_question (questionBankId, questionId, userId) VALUES (?, ?, ?)",
+                    questionBankId, questionId, 1L);
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.leot.baguservice.utils;
+
+import com.leot.leotcommon.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * CursorUtil 测试
+ * 验证游标编码/解码 Round-Trip 与非法游标校验
+ */
+class CursorUtilTest {
+
+    @Test
+    @DisplayName("编码后解码应得到相同的排序值和ID")
+    void encodeDecodeRoundTrip() {
+        // Arrange
+        long createTime = 1700000000000L;
+
+        // Act
+        String cursor = CursorUtil.encode("createTime", false, createTime, 42L);
+        CursorUtil.Cursor decoded = CursorUtil.decode(cursor, "createTime", false);
+
+        // Assert
+        assertThat(decoded).isNotNull();
+        assertThat(decoded.sortValue()).isEqualTo(createTime);
+        assertThat(decoded.id()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("空游标应返回null（表示第一页）")
+    void blankCursorShouldReturnNull() {
+        assertThat(CursorUtil.decode(null, "createTime", false)).isNull();
+        assertThat(CursorUtil.decode("", "createTime", false)).isNull();
+    }
+
+    @Test
+    @DisplayName("排序条件变化时应拒绝旧游标")
+    void shouldRejectCursorForDifferentSort() {
+        // Arrange
+        String cursor = CursorUtil.encode("viewNum", false, 10L, 1L);
+
+        // Act
+        BusinessException fieldChanged = catchThrowableOfType(
+                () -> CursorUtil.decode(cursor, "thumbNum", false), BusinessException.class);
+        BusinessException orderChanged = catchThrowableOfType(
+                () -> CursorUtil.decode(cursor, "viewNum", true), BusinessException.class);
+
+        // Assert
+        assertThat(fieldChanged).isNotNull();
+        assertThat(orderChanged).isNotNull();
+    }
+
+    @Test
+    @DisplayName("被篡改的游标应抛出参数错误")
+    void shouldRejectMalformedCursor() {
+        BusinessException exception = catchThrowableOfType(
+                () -> CursorUtil.decode("not-a-cursor", "createTime", false), BusinessException.class);
+
+        assertThat(exception).isNotNull();
+        assertThat(exception.getDescription()).isEqualTo("游标无效");
+    }
+}
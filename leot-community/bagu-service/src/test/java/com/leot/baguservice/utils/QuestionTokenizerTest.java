@@ -0,0 +1,97 @@
+package com.leot.baguservice.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * QuestionTokenizer 测试
+ * 验证各种题目编号与答案标记的切分，以及标题截断、无编号文本的处理
+ */
+class QuestionTokenizerTest {
+
+    @Test
+    @DisplayName("支持的题目编号格式都能切分")
+    void shouldSplitAllNumberingFormats() {
+        // Arrange
+        String text = "1. 进程\n2、线程\nQ3: 协程\n题目 4 锁\n第 5 题 事务\n问题6 索引";
+
+        // Act
+        List<QuestionTokenizer.QuestionSpan> spans = QuestionTokenizer.tokenize(text);
+
+        // Assert
+        assertThat(spans).extracting(span -> span.title(text))
+                .containsExactly("进程", "线程", "协程", "锁", "事务", "索引");
+    }
+
+    @Test
+    @DisplayName("答案标记前第一行为标题、其余为内容，标记后为答案")
+    void shouldSplitTitleContentAndAnswer() {
+        // Arrange
+        String text = "1. 什么是进程？\n请结合操作系统说明。\n答案：资源分配的基本单位。\n"
+                + "2. What is a thread?\nAnswer : unit of scheduling\n"
+                + "3. 死锁条件\n参考答案: 互斥、占有且等待\n"
+                + "4. 乐观锁\na： 基于版本号";
+
+        // Act
+        List<QuestionTokenizer.QuestionSpan> spans = QuestionTokenizer.tokenize(text);
+
+        // Assert
+        assertThat(spans).hasSize(4);
+        QuestionTokenizer.QuestionSpan first = spans.get(0);
+        assertThat(first.title(text)).isEqualTo("什么是进程？");
+        assertThat(first.content(text)).isEqualTo("请结合操作系统说明。");
+        assertThat(first.answer(text)).isEqualTo("资源分配的基本单位。");
+        assertThat(text.indexOf("什么是进程")).isEqualTo(first.titleStart());
+        assertThat(spans.get(1).answer(text)).isEqualTo("unit of scheduling");
+        assertThat(spans.get(2).answer(text)).isEqualTo("互斥、占有且等待");
+        assertThat(spans.get(3).answer(text)).isEqualTo("基于版本号");
+    }
+
+    @Test
+    @DisplayName("缺少冒号的行不是答案标记")
+    void markerWithoutColonShouldStayInContent() {
+        // Arrange
+        String text = "1. 标题\nAnswers are below\nA 不是答案";
+
+        // Act
+        QuestionTokenizer.QuestionSpan span = QuestionTokenizer.tokenize(text).get(0);
+
+        // Assert
+        assertThat(span.content(text)).isEqualTo("Answers are below\nA 不是答案");
+        assertThat(span.answer(text)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("超长标题在后半段的标点处截断")
+    void longTitleShouldBeCutAtPunctuation() {
+        // Arrange
+        String title = "甲".repeat(70) + "，" + "乙".repeat(60);
+        String text = "1. " + title;
+
+        // Act
+        QuestionTokenizer.QuestionSpan span = QuestionTokenizer.tokenize(text).get(0);
+
+        // Assert
+        assertThat(span.title(text)).isEqualTo("甲".repeat(70) + "，");
+    }
+
+    @Test
+    @DisplayName("没有题目编号时整段文本作为一道题，空白文本不产生题目")
+    void textWithoutNumberingShouldBeOneQuestion() {
+        // Arrange
+        String text = "  Redis 持久化\nRDB 与 AOF  ";
+
+        // Act
+        List<QuestionTokenizer.QuestionSpan> spans = QuestionTokenizer.tokenize(text);
+
+        // Assert
+        assertThat(spans).hasSize(1);
+        assertThat(spans.get(0).title(text)).isEqualTo("Redis 持久化");
+        assertThat(spans.get(0).content(text)).isEqualTo("RDB 与 AOF");
+        assertThat(QuestionTokenizer.tokenize(" \n\t ")).isEmpty();
+    }
+}
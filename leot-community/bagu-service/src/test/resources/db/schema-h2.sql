@@ -0,0 +1,80 @@
+-- Mapper 测试用表结构（H2 MySQL 模式），列与 sql/creaete_table.sql 保持一致，省略注释与排序字段索引
+
+create table if not exists question_bank
+(
+    id            bigint auto_increment primary key,
+    title         varchar(256)                       null,
+    description   text                               null,
+    picture       varchar(2048)                      null,
+    userId        bigint                             not null,
+    editTime      datetime default CURRENT_TIMESTAMP not null,
+    createTime    datetime default CURRENT_TIMESTAMP not null,
+    updateTime    datetime default CURRENT_TIMESTAMP not null,
+    isDelete      tinyint  default 0                 not null,
+    viewNum       int      default 0                 not null,
+    uniqueViewNum int      default 0                 not null,
+    questionCount int      default 0                 not null
+);
+
+create table if not exists question
+(
+    id            bigint auto_increment primary key,
+    title         varchar(256)                       null,
+    content       text                               null,
+    tags          varchar(1024)                      null,
+    answer        text                               null,
+    userId        bigint                             not null,
+    editTime      datetime default CURRENT_TIMESTAMP not null,
+    createTime    datetime default CURRENT_TIMESTAMP not null,
+    updateTime    datetime default CURRENT_TIMESTAMP not null,
+    isDelete      tinyint  default 0                 not null,
+    viewNum       int      default 0                 not null,
+    uniqueViewNum int      default 0                 not null,
+    thumbNum      int      default 0                 not null,
+    favourNum     int      default 0                 not null,
+    commentNum    int      default 0                 not null
+);
+
+create table if not exists question_bank_question
+(
+    id             bigint auto_increment primary key,
+    questionBankId bigint                             not null,
+    questionId     bigint                             not null,
+    userId         bigint                             not null,
+    createTime     datetime default CURRENT_TIMESTAMP not null,
+    updateTime     datetime default CURRENT_TIMESTAMP not null,
+    unique (questionBankId, questionId)
+);
+
+create table if not exists question_tag
+(
+    id         bigint auto_increment primary key,
+    questionId bigint                             not null,
+    tagName    varchar(128)                       not null,
+    createTime datetime default CURRENT_TIMESTAMP not null,
+    unique (tagName, questionId)
+);
+
+create table if not exists question_comment
+(
+    id          bigint auto_increment primary key,
+    questionId  bigint                             not null,
+    userId      bigint                             not null,
+    parentId    bigint   default 0                 not null,
+    rootId      bigint   default 0                 not null,
+    replyUserId bigint                             null,
+    content     varchar(1000)                      not null,
+    thumbNum    int      default 0                 not null,
+    createTime  datetime default CURRENT_TIMESTAMP not null,
+    updateTime  datetime default CURRENT_TIMESTAMP not null,
+    isDelete    tinyint  default 0                 not null
+);
+
+create table if not exists question_comment_thumb
+(
+    id         bigint auto_increment primary key,
+    commentId  bigint                             not null,
+    userId     bigint                             not null,
+    createTime datetime default CURRENT_TIMESTAMP not null,
+    unique (commentId, userId)
+);
@@ -0,0 +1,202 @@
+package com.leot.api.cache;
+
+import com.leot.api.client.UserClient;
+import com.leot.api.dto.UserDTO;
+import com.leot.leotcommon.GlobalReture.BaseResponse;
+import com.leot.leotcommon.GlobalReture.ErrorCode;
+import com.leot.leotcommon.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 用户信息合并加载器（DataLoader）
+ * 收集所有并发请求中待查询的用户ID，在等待窗口（几毫秒）结束或达到批量上限时合并为一次
+ * getUserListByIds 调用，调用方拿到 CompletableFuture。同一窗口内重复的ID共享同一个 Future。
+ *
+ * 远程调用失败或服务降级时，该批次的 Future 以 BusinessException 异常完成；
+ * 用户不存在时 Future 正常完成且值为 null。
+ */
+@Slf4j
+public class UserBatchLoader implements AutoCloseable {
+
+    private final UserClient userClient;
+
+    private final long maxWaitMillis;
+
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("user-batch-loader").daemon().factory());
+
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Object lock = new Object();
+
+    /**
+     * 当前窗口内等待发送的用户ID（保持加入顺序）
+     */
+    private Map<Long, CompletableFuture<UserDTO>> pending = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> scheduledDispatch;
+
+    private final LongAdder requestedIdCount = new LongAdder();
+
+    private final LongAdder dispatchCount = new LongAdder();
+
+    public UserBatchLoader(UserClient userClient, long maxWaitMillis, int maxBatchSize) {
+        this.userClient = userClient;
+        this.maxWaitMillis = Math.max(maxWaitMillis, 0);
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+    }
+
+    /**
+     * 加载单个用户
+     *
+     * @param userId 用户ID
+     * @return 用户信息 Future（不存在时值为 null）
+     */
+    public CompletableFuture<UserDTO> load(Long userId) {
+        if (userId == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return loadMany(List.of(userId)).thenApply(users -> users.get(userId));
+    }
+
+    /**
+     * 批量加载用户
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 用户信息的 Future（不存在的用户不在结果中）
+     */
+    public CompletableFuture<Map<Long, UserDTO>> loadMany(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>());
+        }
+        Set<Long> distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, CompletableFuture<UserDTO>> futures = new LinkedHashMap<>();
+        List<Map<Long, CompletableFuture<UserDTO>>> fullBatches = new ArrayList<>();
+        synchronized (lock) {
+            for (Long userId : distinctIds) {
+                futures.put(userId, pending.computeIfAbsent(userId, key -> new CompletableFuture<>()));
+                // 达到批量上限立即发送，不再等待窗口结束
+                if (pending.size() >= maxBatchSize) {
+                    fullBatches.add(takePending());
+                }
+            }
+            if (!pending.isEmpty() && scheduledDispatch == null) {
+                scheduledDispatch = scheduler.schedule(this::dispatchPending, maxWaitMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        requestedIdCount.add(distinctIds.size());
+        fullBatches.forEach(this::dispatch);
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    Map<Long, UserDTO> result = new HashMap<>();
+                    futures.forEach((userId, future) -> {
+                        UserDTO user = future.join();
+                        if (user != null) {
+                            result.put(userId, user);
+                        }
+                    });
+                    return result;
+                });
+    }
+
+    /**
+     * 已请求的用户ID数（按请求去重后累计）
+     */
+    public long getRequestedIdCount() {
+        return requestedIdCount.sum();
+    }
+
+    /**
+     * 实际发出的远程批量调用次数
+     */
+    public long getDispatchCount() {
+        return dispatchCount.sum();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        dispatchPending();
+        dispatcher.close();
+    }
+
+    /**
+     * 取出当前窗口的待发送ID（需持有 lock）
+     */
+    private Map<Long, CompletableFuture<UserDTO>> takePending() {
+        Map<Long, CompletableFuture<UserDTO>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledDispatch != null) {
+            scheduledDispatch.cancel(false);
+            scheduledDispatch = null;
+        }
+        return batch;
+    }
+
+    /**
+     * 等待窗口结束，发送当前窗口内收集的ID
+     */
+    private void dispatchPending() {
+        Map<Long, CompletableFuture<UserDTO>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                scheduledDispatch = null;
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * 在虚拟线程中发起一次批量远程调用并完成对应的 Future
+     */
+    private void dispatch(Map<Long, CompletableFuture<UserDTO>> batch) {
+        dispatchCount.increment();
+        dispatcher.execute(() -> {
+            List<Long> userIds = new ArrayList<>(batch.keySet());
+            try {
+                BaseResponse<List<UserDTO>> response = userClient.getUserListByIds(userIds);
+                if (response == null || response.getCode() != ErrorCode.SUCCESS.getCode()) {
+                    throw new BusinessException(ErrorCode.SYSTEM_ERROR, "用户服务不可用");
+                }
+                Map<Long, UserDTO> users = new HashMap<>();
+                if (response.getData() != null) {
+                    for (UserDTO user : response.getData()) {
+                        if (user != null && user.getId() != null) {
+                            users.put(user.getId(), user);
+                        }
+                    }
+                }
+                batch.forEach((userId, future) -> future.complete(users.get(userId)));
+            } catch (Exception e) {
+                log.warn("批量获取用户信息失败, userIds={}, error={}", userIds, e.getMessage());
+                batch.values().forEach(future -> future.completeExceptionally(e));
+            }
+        });
+    }
+}
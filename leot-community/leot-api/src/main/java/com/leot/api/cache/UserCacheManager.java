@@ -0,0 +1,193 @@
+package com.leot.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.leot.api.config.UserCacheProperties;
+import com.leot.api.dto.UserCacheStatsDTO;
+import com.leot.api.dto.UserDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 用户信息本地缓存
+ * 位于 UserClient 之前，按用户ID缓存脱敏后的用户信息（有容量上限和过期时间）。
+ * 批量查询时只加载未命中的ID，并交给 UserBatchLoader 与其他并发请求合并为一次远程调用；
+ * 不存在的用户也会以较短的过期时间缓存（负缓存），远程调用失败或服务降级时不写入缓存。
+ *
+ * 返回的 UserDTO 为缓存中的共享对象，调用方只读不改。
+ */
+public class UserCacheManager {
+
+    private final UserBatchLoader batchLoader;
+
+    private final Cache<Long, CachedUser> cache;
+
+    private final LongAdder negativeHitCount = new LongAdder();
+
+    private final LongAdder loadCount = new LongAdder();
+
+    private final LongAdder loadFailureCount = new LongAdder();
+
+    public UserCacheManager(UserBatchLoader batchLoader, UserCacheProperties properties) {
+        this(batchLoader, properties, Ticker.systemTicker());
+    }
+
+    UserCacheManager(UserBatchLoader batchLoader, UserCacheProperties properties, Ticker ticker) {
+        this.batchLoader = batchLoader;
+        long ttlNanos = TimeUnit.SECONDS.toNanos(properties.getTtlSeconds());
+        long negativeTtlNanos = TimeUnit.SECONDS.toNanos(properties.getNegativeTtlSeconds());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new Expiry<Long, CachedUser>() {
+                    @Override
+                    public long expireAfterCreate(Long key, CachedUser value, long currentTime) {
+                        return value.exists() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, CachedUser value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, CachedUser value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 获取单个用户信息
+     *
+     * @param userId 用户ID
+     * @return 用户信息，不存在或加载失败时返回 null
+     */
+    public UserDTO getUser(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return getUsers(List.of(userId)).get(userId);
+    }
+
+    /**
+     * 批量获取用户信息（未命中的ID合并为一次远程调用）
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 用户信息（不存在或加载失败的用户不在结果中）
+     */
+    public Map<Long, UserDTO> getUsers(Collection<Long> userIds) {
+        Map<Long, UserDTO> result = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return result;
+        }
+        Set<Long> distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, CachedUser> cached = cache.getAllPresent(distinctIds);
+        cached.forEach((id, cachedUser) -> {
+            if (cachedUser.exists()) {
+                result.put(id, cachedUser.user());
+            } else {
+                negativeHitCount.increment();
+            }
+        });
+
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            if (!cached.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            result.putAll(loadUsers(missingIds));
+        }
+        return result;
+    }
+
+    /**
+     * 使指定用户的缓存失效（用户信息变更后调用）
+     *
+     * @param userId 用户ID
+     */
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public UserCacheStatsDTO getStats() {
+        CacheStats stats = cache.stats();
+        UserCacheStatsDTO dto = new UserCacheStatsDTO();
+        dto.setHitCount(stats.hitCount());
+        dto.setNegativeHitCount(negativeHitCount.sum());
+        dto.setMissCount(stats.missCount());
+        dto.setHitRate(stats.hitRate());
+        dto.setLoadCount(loadCount.sum());
+        dto.setLoadFailureCount(loadFailureCount.sum());
+        dto.setRemoteCallCount(batchLoader.getDispatchCount());
+        dto.setEvictionCount(stats.evictionCount());
+        dto.setSize(cache.estimatedSize());
+        return dto;
+    }
+
+    /**
+     * 加载未命中的用户并写入缓存（与其他并发请求合并远程调用）
+     */
+    private Map<Long, UserDTO> loadUsers(List<Long> userIds) {
+        loadCount.increment();
+        Map<Long, UserDTO> loaded;
+        try {
+            loaded = batchLoader.loadMany(userIds).join();
+        } catch (CompletionException e) {
+            // 远程调用失败或服务降级时无法区分用户是否存在，不写入缓存
+            loadFailureCount.increment();
+            return new HashMap<>();
+        }
+        // 未返回的用户视为不存在，写入负缓存
+        for (Long userId : userIds) {
+            cache.put(userId, new CachedUser(loaded.get(userId)));
+        }
+        return loaded;
+    }
+
+    /**
+     * 缓存值，user 为 null 表示用户不存在
+     */
+    private record CachedUser(UserDTO user) {
+
+        boolean exists() {
+            return user != null;
+        }
+    }
+}
@@ -2,16 +2,17 @@ package com.leot.api.client;
 
 import com.leot.api.dto.UserDTO;
 import com.leot.leotcommon.GlobalReture.BaseResponse;
+import com.leot.leotcommon.GlobalReture.ErrorCode;
 import com.leot.leotcommon.GlobalReture.ResultUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
 import java.util.List;
 
 /**
  * UserClient 服务降级实现
- * 当 user-service 不可用时，返回默认值以保证系统稳定
+ * 当 user-service 不可用时返回错误码（data 为空），调用方按无数据降级处理，
+ * 同时便于缓存层区分"服务不可用"与"用户不存在"
  */
 @Slf4j
 @Component
@@ -20,12 +21,12 @@ public class UserClientFallback implements UserClient {
     @Override
     public BaseResponse<UserDTO> getUserById(Long id) {
         log.warn("UserClient.getUserById 服务降级, userId={}", id);
-        return ResultUtil.success(null);
+        return ResultUtil.error(ErrorCode.SYSTEM_ERROR, "用户服务不可用");
     }
 
     @Override
     public BaseResponse<List<UserDTO>> getUserListByIds(List<Long> ids) {
         log.warn("UserClient.getUserListByIds 服务降级, userIds={}", ids);
-        return ResultUtil.success(Collections.emptyList());
+        return ResultUtil.error(ErrorCode.SYSTEM_ERROR, "用户服务不可用");
     }
 }
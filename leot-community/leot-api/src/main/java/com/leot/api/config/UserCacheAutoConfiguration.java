@@ -0,0 +1,36 @@
+package com.leot.api.config;
+
+import com.leot.api.cache.UserBatchLoader;
+import com.leot.api.cache.UserCacheManager;
+import com.leot.api.client.UserClient;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 用户信息缓存自动配置
+ * 引入 leot-api 并启用 UserClient 的服务自动获得 UserBatchLoader 和 UserCacheManager，
+ * 可通过 leot.user-cache.enabled=false 关闭
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(UserCacheProperties.class)
+@ConditionalOnProperty(prefix = "leot.user-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserCacheAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(UserClient.class)
+    @ConditionalOnMissingBean
+    public UserBatchLoader userBatchLoader(UserClient userClient, UserCacheProperties properties) {
+        return new UserBatchLoader(userClient, properties.getBatchWaitMillis(), properties.getBatchMaxSize());
+    }
+
+    @Bean
+    @ConditionalOnBean(UserBatchLoader.class)
+    @ConditionalOnMissingBean
+    public UserCacheManager userCacheManager(UserBatchLoader userBatchLoader, UserCacheProperties properties) {
+        return new UserCacheManager(userBatchLoader, properties);
+    }
+}
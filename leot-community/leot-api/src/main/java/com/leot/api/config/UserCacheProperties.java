@@ -0,0 +1,42 @@
+package com.leot.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 用户信息本地缓存配置
+ */
+@Data
+@ConfigurationProperties(prefix = "leot.user-cache")
+public class UserCacheProperties {
+
+    /**
+     * 是否启用用户信息缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大缓存条目数
+     */
+    private long maxSize = 10000;
+
+    /**
+     * 存在的用户缓存时间（秒）
+     */
+    private long ttlSeconds = 300;
+
+    /**
+     * 不存在（已删除）的用户缓存时间（秒），较短以便新用户尽快可见
+     */
+    private long negativeTtlSeconds = 60;
+
+    /**
+     * 合并加载的等待窗口（毫秒），窗口内各请求的未命中ID合并为一次远程调用
+     */
+    private long batchWaitMillis = 5;
+
+    /**
+     * 单次合并加载的最大用户数，达到后立即发送
+     */
+    private int batchMaxSize = 200;
+}
@@ -0,0 +1,61 @@
+package com.leot.api.dto;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 用户信息缓存统计
+ */
+@Data
+public class UserCacheStatsDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 命中次数（含不存在用户的命中）
+     */
+    private Long hitCount;
+
+    /**
+     * 不存在用户（负缓存）的命中次数
+     */
+    private Long negativeHitCount;
+
+    /**
+     * 未命中次数
+     */
+    private Long missCount;
+
+    /**
+     * 命中率
+     */
+    private Double hitRate;
+
+    /**
+     * 缓存未命中后的加载次数
+     */
+    private Long loadCount;
+
+    /**
+     * 实际发出的远程批量调用次数（并发请求合并后）
+     */
+    private Long remoteCallCount;
+
+    /**
+     * 远程加载失败次数（异常或服务降级，结果不缓存）
+     */
+    private Long loadFailureCount;
+
+    /**
+     * 因容量或过期被淘汰的条目数
+     */
+    private Long evictionCount;
+
+    /**
+     * 当前缓存条目数
+     */
+    private Long size;
+}
@@ -0,0 +1,51 @@
+package com.leot.api.cache;
+
+import com.leot.api.client.UserClient;
+import com.leot.api.dto.UserDTO;
+import com.leot.leotcommon.GlobalReture.BaseResponse;
+import com.leot.leotcommon.GlobalReture.ErrorCode;
+import com.leot.leotcommon.GlobalReture.ResultUtil;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 记录请求参数的 UserClient 桩实现
+ */
+class StubUserClient implements UserClient {
+
+    private final Set<Long> existingIds;
+
+    final List<List<Long>> requests = new CopyOnWriteArrayList<>();
+
+    volatile boolean unavailable;
+
+    StubUserClient(Set<Long> existingIds) {
+        this.existingIds = existingIds;
+    }
+
+    @Override
+    public BaseResponse<UserDTO> getUserById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public BaseResponse<List<UserDTO>> getUserListByIds(List<Long> ids) {
+        requests.add(List.copyOf(ids));
+        if (unavailable) {
+            return ResultUtil.error(ErrorCode.SYSTEM_ERROR, "用户服务不可用");
+        }
+        List<UserDTO> users = ids.stream()
+                .filter(existingIds::contains)
+                .map(id -> {
+                    UserDTO user = new UserDTO();
+                    user.setId(id);
+                    user.setUserName("user" + id);
+                    return user;
+                })
+                .toList();
+        return ResultUtil.success(users);
+    }
+}
@@ -0,0 +1,103 @@
+package com.leot.api.cache;
+
+import com.leot.api.dto.UserDTO;
+import com.leot.leotcommon.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * UserBatchLoader 测试
+ * 验证并发请求合并、批量上限拆分与失败传播
+ */
+class UserBatchLoaderTest {
+
+    private final StubUserClient userClient = new StubUserClient(Set.of(1L, 2L, 3L, 4L, 5L));
+
+    private UserBatchLoader batchLoader;
+
+    @AfterEach
+    void tearDown() {
+        batchLoader.close();
+    }
+
+    @Test
+    @DisplayName("等待窗口内的并发请求合并为一次远程调用，重复ID只查询一次")
+    void shouldCoalesceConcurrentRequests() throws Exception {
+        // Arrange
+        batchLoader = new UserBatchLoader(userClient, 100, 100);
+        int threadCount = 8;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<CompletableFuture<Map<Long, UserDTO>>> futures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < threadCount; i++) {
+            List<Long> ids = List.of((long) (i % 5) + 1, 1L);
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                synchronized (futures) {
+                    futures.add(batchLoader.loadMany(ids));
+                }
+            }));
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        futures.forEach(CompletableFuture::join);
+
+        // Assert
+        assertThat(userClient.requests).hasSize(1);
+        assertThat(new HashSet<>(userClient.requests.get(0))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(userClient.requests.get(0)).doesNotHaveDuplicates();
+        assertThat(futures).allSatisfy(future -> assertThat(future.join()).containsKey(1L));
+    }
+
+    @Test
+    @DisplayName("达到批量上限时立即拆分发送")
+    void shouldSplitByMaxBatchSize() {
+        // Arrange
+        batchLoader = new UserBatchLoader(userClient, 1000, 2);
+
+        // Act
+        Map<Long, UserDTO> users = batchLoader.loadMany(List.of(1L, 2L, 3L, 4L)).join();
+
+        // Assert
+        assertThat(users).containsOnlyKeys(1L, 2L, 3L, 4L);
+        assertThat(userClient.requests).containsExactlyInAnyOrder(List.of(1L, 2L), List.of(3L, 4L));
+    }
+
+    @Test
+    @DisplayName("不存在的用户正常返回null，服务降级时Future异常完成")
+    void shouldDistinguishMissingUserFromFailure() {
+        // Arrange
+        batchLoader = new UserBatchLoader(userClient, 0, 100);
+
+        // Act
+        UserDTO missing = batchLoader.load(99L).join();
+        userClient.unavailable = true;
+        CompletionException failure = catchThrowableOfType(
+                () -> batchLoader.load(1L).join(), CompletionException.class);
+
+        // Assert
+        assertThat(missing).isNull();
+        assertThat(failure).hasCauseInstanceOf(BusinessException.class);
+    }
+}
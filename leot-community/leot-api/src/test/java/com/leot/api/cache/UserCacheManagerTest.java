@@ -0,0 +1,100 @@
+package com.leot.api.cache;
+
+import com.leot.api.config.UserCacheProperties;
+import com.leot.api.dto.UserCacheStatsDTO;
+import com.leot.api.dto.UserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UserCacheManager 测试
+ * 验证批量未命中加载、负缓存、降级不缓存与过期
+ */
+class UserCacheManagerTest {
+
+    private StubUserClient userClient;
+
+    private AtomicLong nanos;
+
+    private UserCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        userClient = new StubUserClient(Set.of(1L, 2L, 3L));
+        nanos = new AtomicLong();
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.setTtlSeconds(300);
+        properties.setNegativeTtlSeconds(60);
+        cacheManager = new UserCacheManager(new UserBatchLoader(userClient, 0, 100), properties, nanos::get);
+    }
+
+    @Test
+    @DisplayName("批量查询只对未缓存的用户ID发起远程调用")
+    void shouldOnlyLoadMissingIds() {
+        // Arrange
+        cacheManager.getUsers(List.of(1L, 2L));
+
+        // Act
+        Map<Long, UserDTO> users = cacheManager.getUsers(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertThat(users).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(userClient.requests).containsExactly(List.of(1L, 2L), List.of(3L));
+    }
+
+    @Test
+    @DisplayName("不存在的用户写入负缓存，短时间内不再远程查询")
+    void shouldCacheMissingUser() {
+        // Act
+        UserDTO first = cacheManager.getUser(99L);
+        UserDTO second = cacheManager.getUser(99L);
+
+        // Assert
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        assertThat(userClient.requests).hasSize(1);
+        assertThat(cacheManager.getStats().getNegativeHitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("负缓存比正常缓存更早过期")
+    void negativeEntryShouldExpireEarlier() {
+        // Arrange
+        cacheManager.getUsers(List.of(1L, 99L));
+
+        // Act
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+        cacheManager.getUsers(List.of(1L, 99L));
+
+        // Assert
+        assertThat(userClient.requests).containsExactly(List.of(1L, 99L), List.of(99L));
+    }
+
+    @Test
+    @DisplayName("服务降级时不缓存结果，下次仍会远程查询")
+    void shouldNotCacheFallbackResponse() {
+        // Arrange
+        userClient.unavailable = true;
+
+        // Act
+        UserDTO first = cacheManager.getUser(1L);
+        userClient.unavailable = false;
+        UserDTO second = cacheManager.getUser(1L);
+
+        // Assert
+        assertThat(first).isNull();
+        assertThat(second).isNotNull();
+        UserCacheStatsDTO stats = cacheManager.getStats();
+        assertThat(stats.getLoadCount()).isEqualTo(2L);
+        assertThat(stats.getLoadFailureCount()).isEqualTo(1L);
+    }
+}
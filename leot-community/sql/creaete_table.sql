@@ -42,6 +42,8 @@ create table if not exists question_bank
     updateTime  datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
     isDelete    tinyint  default 0                 not null comment '是否删除',
     viewNum  int  default 0  not null comment '浏览量', -- 这个可以设置根据热度去 排序
+    uniqueViewNum int default 0 not null comment '独立访客数（HyperLogLog 估算）',
+    questionCount int default 0 not null comment '题目数量（冗余计数）',
     index idx_title (title)
     ) comment '题库' collate = utf8mb4_unicode_ci;
 
@@ -59,12 +61,22 @@ create table if not exists question
     updateTime datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
     isDelete   tinyint  default 0                 not null comment '是否删除',
     viewNum       int      default 0    not null comment '浏览量',
+    uniqueViewNum int      default 0    not null comment '独立访客数（HyperLogLog 估算）',
     thumbNum      int      default 0    not null comment '点赞数',
     favourNum     int      default 0    not null comment '收藏数',
+    commentNum    int      default 0    not null comment '评论数（冗余计数）',
     index idx_title (title),
-    index idx_userId (userId)
+    index idx_userId (userId),
+    -- 游标分页：(排序字段, id) 联合索引
+    index idx_createTime_id (createTime, id),
+    index idx_updateTime_id (updateTime, id),
+    index idx_viewNum_id (viewNum, id),
+    index idx_thumbNum_id (thumbNum, id),
+    index idx_favourNum_id (favourNum, id)
     ) comment '题目' collate = utf8mb4_unicode_ci;
 
+-- 已有数据库：上述新增列与游标分页索引见 migrate_data.sql
+
 -- 题库题目表（硬删除）
 create table if not exists question_bank_question
 (
@@ -77,6 +89,21 @@ create table if not exists question_bank_question
     UNIQUE (questionBankId, questionId)
     ) comment '题库题目' collate = utf8mb4_unicode_ci;
 
+-- 已有数据库：question_bank.questionCount 列及题目数量回填见 migrate_data.sql
+
+-- 题目标签关联表（硬删除，替代对 question.tags JSON 列的 LIKE 扫描）
+create table if not exists question_tag
+(
+    id         bigint auto_increment comment 'id' primary key,
+    questionId bigint                             not null comment '题目 id',
+    tagName    varchar(128)                       not null comment '标签名',
+    createTime datetime default CURRENT_TIMESTAMP not null comment '创建时间',
+    UNIQUE KEY uk_tag_question (tagName, questionId),
+    index idx_questionId (questionId)
+    ) comment '题目标签' collate = utf8mb4_unicode_ci;
+
+-- 历史数据迁移：从 question.tags 回填 question_tag 见 migrate_data.sql
+
 
 -- 5. 题目点赞表
 CREATE TABLE IF NOT EXISTS question_thumb (
@@ -104,17 +131,26 @@ CREATE TABLE IF NOT EXISTS question_comment (
     questionId BIGINT NOT NULL COMMENT '题目ID',
     userId BIGINT NOT NULL COMMENT '评论用户ID',
     parentId BIGINT DEFAULT 0 NOT NULL COMMENT '父评论ID（0表示顶级评论）',
+    rootId BIGINT DEFAULT 0 NOT NULL COMMENT '根评论ID（0表示顶级评论）',
     replyUserId BIGINT DEFAULT NULL COMMENT '被回复用户ID',
     content VARCHAR(1000) NOT NULL COMMENT '评论内容',
     thumbNum INT DEFAULT 0 NOT NULL COMMENT '点赞数',
     createTime DATETIME DEFAULT CURRENT_TIMESTAMP NOT NULL COMMENT '创建时间',
     updateTime DATETIME DEFAULT CURRENT_TIMESTAMP NOT NULL ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     isDelete TINYINT DEFAULT 0 NOT NULL COMMENT '是否删除',
-    INDEX idx_questionId (questionId),
     INDEX idx_userId (userId),
-    INDEX idx_parentId (parentId)
+    INDEX idx_parentId (parentId),
+    -- 顶级评论游标分页（最新 / 最多点赞）
+    INDEX idx_question_root_createTime (questionId, rootId, isDelete, createTime, id),
+    INDEX idx_question_root_thumbNum (questionId, rootId, isDelete, thumbNum, id),
+    -- 根评论下的回复分页与回复数统计
+    INDEX idx_root_createTime (rootId, isDelete, createTime, id)
 ) COMMENT '题目评论' COLLATE = utf8mb4_unicode_ci;
 
+-- 已有数据库：rootId 列、上述索引及 rootId 回填见 migrate_data.sql
+
+-- 已有数据库：question.commentNum 列及评论数回填见 migrate_data.sql
+
 -- 8. 评论点赞表
 CREATE TABLE IF NOT EXISTS question_comment_thumb (
     id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT 'id',
@@ -124,3 +160,31 @@ CREATE TABLE IF NOT EXISTS question_comment_thumb (
     UNIQUE KEY uk_comment_user (commentId, userId),
     INDEX idx_userId (userId)
 ) COMMENT '评论点赞' COLLATE = utf8mb4_unicode_ci;
+
+-- 9. 题目导入任务表（PDF 解析 / 批量导入异步执行，按块提交并记录断点）
+CREATE TABLE IF NOT EXISTS question_import_job (
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT 'id',
+    jobType         VARCHAR(32)                        NOT NULL COMMENT '任务类型：parse/import',
+    status          VARCHAR(32)                        NOT NULL COMMENT '状态：pending/running/succeeded/failed/cancelled',
+    userId          BIGINT                             NOT NULL COMMENT '提交用户ID',
+    questionBankId  BIGINT                             NULL COMMENT '目标题库ID（导入任务）',
+    fileName        VARCHAR(256)                       NULL COMMENT '原始文件名（解析任务）',
+    filePath        VARCHAR(512)                       NULL COMMENT 'PDF 暂存路径（解析任务）',
+    payload         LONGTEXT                           NULL COMMENT '待导入题目 JSON（导入任务）',
+    result          LONGTEXT                           NULL COMMENT '解析结果 JSON（解析任务）',
+    chunkSize       INT      DEFAULT 100               NOT NULL COMMENT '每块题目数',
+    committedChunks INT      DEFAULT 0                 NOT NULL COMMENT '已提交块数（断点）',
+    totalCount      INT      DEFAULT 0                 NOT NULL COMMENT '总数',
+    processedCount  INT      DEFAULT 0                 NOT NULL COMMENT '已处理数',
+    successCount    INT      DEFAULT 0                 NOT NULL COMMENT '成功数',
+    failCount       INT      DEFAULT 0                 NOT NULL COMMENT '失败数',
+    errors          MEDIUMTEXT                         NULL COMMENT '逐题错误 JSON 数组（最多保留前 100 条）',
+    errorMessage    VARCHAR(1024)                      NULL COMMENT '任务失败原因',
+    owner           VARCHAR(128)                       NULL COMMENT '执行实例',
+    heartbeatTime   DATETIME                           NULL COMMENT '执行实例最近心跳时间',
+    createTime      DATETIME DEFAULT CURRENT_TIMESTAMP NOT NULL COMMENT '创建时间',
+    updateTime      DATETIME DEFAULT CURRENT_TIMESTAMP NOT NULL ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    INDEX idx_userId_createTime (userId, createTime),
+    -- 扫描心跳超时的未完成任务
+    INDEX idx_status_heartbeat (status, heartbeatTime)
+) COMMENT '题目导入任务' COLLATE = utf8mb4_unicode_ci;
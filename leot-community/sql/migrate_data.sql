@@ -0,0 +1,99 @@
+-- 历史数据迁移（MySQL 8.0+）
+-- 在建表脚本（creaete_table.sql）之后、已有数据导入之后执行；各语句均可重复执行
+
+USE community_system;
+
+-- 0. 补齐表结构：建表脚本使用 CREATE TABLE IF NOT EXISTS，已有表不会新增列和索引，
+-- 这里按 information_schema 判断，只添加缺少的列和索引
+DROP PROCEDURE IF EXISTS add_column_if_absent;
+DROP PROCEDURE IF EXISTS add_index_if_absent;
+
+DELIMITER $$
+CREATE PROCEDURE add_column_if_absent(IN tableName VARCHAR(64), IN columnName VARCHAR(64),
+                                      IN definition VARCHAR(512))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+                   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = tableName AND COLUMN_NAME = columnName) THEN
+        SET @ddl = CONCAT('ALTER TABLE `', tableName, '` ADD COLUMN `', columnName, '` ', definition);
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+CREATE PROCEDURE add_index_if_absent(IN tableName VARCHAR(64), IN indexName VARCHAR(64),
+                                     IN indexColumns VARCHAR(512))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.STATISTICS
+                   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = tableName AND INDEX_NAME = indexName) THEN
+        SET @ddl = CONCAT('ALTER TABLE `', tableName, '` ADD INDEX `', indexName, '` (', indexColumns, ')');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+DELIMITER ;
+
+-- question_comment：根评论ID与游标分页索引
+CALL add_column_if_absent('question_comment', 'rootId',
+    'BIGINT DEFAULT 0 NOT NULL COMMENT ''根评论ID（0表示顶级评论）'' AFTER parentId');
+CALL add_index_if_absent('question_comment', 'idx_question_root_createTime', 'questionId, rootId, isDelete, createTime, id');
+CALL add_index_if_absent('question_comment', 'idx_question_root_thumbNum', 'questionId, rootId, isDelete, thumbNum, id');
+CALL add_index_if_absent('question_comment', 'idx_root_createTime', 'rootId, isDelete, createTime, id');
+
+-- question：独立访客数、评论数（冗余计数）
+CALL add_column_if_absent('question', 'uniqueViewNum',
+    'INT DEFAULT 0 NOT NULL COMMENT ''独立访客数（HyperLogLog 估算）'' AFTER viewNum');
+CALL add_column_if_absent('question', 'commentNum',
+    'INT DEFAULT 0 NOT NULL COMMENT ''评论数（冗余计数）'' AFTER favourNum');
+-- 游标分页：(排序字段, id) 联合索引
+CALL add_index_if_absent('question', 'idx_createTime_id', 'createTime, id');
+CALL add_index_if_absent('question', 'idx_updateTime_id', 'updateTime, id');
+CALL add_index_if_absent('question', 'idx_viewNum_id', 'viewNum, id');
+CALL add_index_if_absent('question', 'idx_thumbNum_id', 'thumbNum, id');
+CALL add_index_if_absent('question', 'idx_favourNum_id', 'favourNum, id');
+
+-- question_bank：独立访客数、题目数量（冗余计数）
+CALL add_column_if_absent('question_bank', 'uniqueViewNum',
+    'INT DEFAULT 0 NOT NULL COMMENT ''独立访客数（HyperLogLog 估算）'' AFTER viewNum');
+CALL add_column_if_absent('question_bank', 'questionCount',
+    'INT DEFAULT 0 NOT NULL COMMENT ''题目数量（冗余计数）''');
+
+-- 1. 回填评论 rootId：rootId 引入之前的回复均为 0，会被当作顶级评论列出
+-- 从顶级评论沿 parentId 向下递归，为每条回复找到所在的根评论
+DROP TEMPORARY TABLE IF EXISTS tmp_comment_root;
+CREATE TEMPORARY TABLE tmp_comment_root (
+    id BIGINT PRIMARY KEY,
+    rootId BIGINT NOT NULL
+)
+WITH RECURSIVE tree (id, rootId) AS (
+    SELECT id, id FROM question_comment WHERE parentId = 0
+    UNION ALL
+    SELECT child.id, tree.rootId FROM question_comment child JOIN tree ON child.parentId = tree.id
+)
+SELECT id, rootId FROM tree;
+
+UPDATE question_comment c
+JOIN tmp_comment_root r ON r.id = c.id
+SET c.rootId = r.rootId
+WHERE c.parentId <> 0 AND c.rootId <> r.rootId;
+
+DROP TEMPORARY TABLE tmp_comment_root;
+
+-- 2. 回填题目评论数
+UPDATE question q
+SET q.commentNum = (SELECT COUNT(*) FROM question_comment c WHERE c.questionId = q.id AND c.isDelete = 0);
+
+-- 3. 从 question.tags 回填 question_tag：标签筛选只查关联表，未回填的题目不会被任何标签命中
+INSERT IGNORE INTO question_tag (questionId, tagName)
+SELECT q.id, TRIM(jt.tagName)
+FROM question q,
+     JSON_TABLE(q.tags, '$[*]' COLUMNS (tagName VARCHAR(128) PATH '$')) jt
+WHERE q.isDelete = 0 AND JSON_VALID(q.tags) AND TRIM(jt.tagName) <> '';
+
+-- 4. 回填题库题目数量
+UPDATE question_bank b
+SET b.questionCount = (SELECT COUNT(*) FROM question_bank_question r WHERE r.questionBankId = b.id);
+
+DROP PROCEDURE add_column_if_absent;
+DROP PROCEDURE add_index_if_absent;
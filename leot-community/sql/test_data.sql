@@ -129,6 +129,13 @@ INSERT INTO question (title, content, answer, tags, userId, viewNum, thumbNum, f
 </ul>', 
 '["Redis", "数据类型"]', 1, 278, 58, 35);
 
+-- 同步题目标签索引
+INSERT IGNORE INTO question_tag (questionId, tagName)
+SELECT q.id, TRIM(jt.tagName)
+FROM question q,
+     JSON_TABLE(q.tags, '$[*]' COLUMNS (tagName VARCHAR(128) PATH '$')) jt
+WHERE q.isDelete = 0 AND JSON_VALID(q.tags) AND TRIM(jt.tagName) <> '';
+
 -- 4. 建立题库与题目的关联
 INSERT INTO question_bank_question (questionBankId, questionId, userId) VALUES
 -- Java 基础题库
@@ -140,6 +147,9 @@ INSERT INTO question_bank_question (questionBankId, questionId, userId) VALUES
 -- Redis 题库
 (4, 8, 1);
 
+UPDATE question_bank b
+SET b.questionCount = (SELECT COUNT(*) FROM question_bank_question r WHERE r.questionBankId = b.id);
+
 -- 5. 添加一些点赞和收藏数据
 INSERT INTO question_thumb (questionId, userId) VALUES
 (1, 2), (1, 3), (2, 2), (4, 2), (6, 2);
@@ -148,11 +158,15 @@ INSERT INTO question_favour (questionId, userId) VALUES
 (1, 2), (2, 2), (4, 2), (6, 3);
 
 -- 6. 添加一些评论数据
-INSERT INTO question_comment (questionId, userId, parentId, content, thumbNum) VALUES
-(1, 2, 0, '讲解得很清楚，感谢分享！', 5),
-(1, 3, 0, '面向对象是 Java 的核心，必须掌握', 3),
-(2, 2, 0, 'HashMap 面试必问，这个总结很全面', 8),
-(2, 3, 3, '确实，我面试就被问到了', 2);
+INSERT INTO question_comment (questionId, userId, parentId, rootId, content, thumbNum) VALUES
+(1, 2, 0, 0, '讲解得很清楚，感谢分享！', 5),
+(1, 3, 0, 0, '面向对象是 Java 的核心，必须掌握', 3),
+(2, 2, 0, 0, 'HashMap 面试必问，这个总结很全面', 8),
+(2, 3, 3, 3, '确实，我面试就被问到了', 2);
+
+-- 同步题目评论数
+UPDATE question q
+SET q.commentNum = (SELECT COUNT(*) FROM question_comment c WHERE c.questionId = q.id AND c.isDelete = 0);
 
 SELECT '测试数据插入完成！' AS message;
 SELECT CONCAT('用户数量: ', COUNT(*)) AS info FROM user;